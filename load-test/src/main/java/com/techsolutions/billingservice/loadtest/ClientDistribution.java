@@ -0,0 +1,48 @@
+package com.techsolutions.billingservice.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf-distributed client ids: the client of rank k receives a share proportional to 1/k^exponent of the
+ * invoices (generator) or requests (workload). Rank 1 is {@code firstClientId}, so data generated and
+ * traffic driven with the same options agree on who the large accounts are.
+ */
+final class ClientDistribution {
+
+    private final long firstClientId;
+    private final double[] cumulative;
+
+    ClientDistribution(long firstClientId, int clients, double exponent) {
+        if (clients < 1) {
+            throw new IllegalArgumentException("At least one client is required");
+        }
+        this.firstClientId = firstClientId;
+        this.cumulative = new double[clients];
+        double sum = 0;
+        for (int rank = 1; rank <= clients; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < clients; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    long nextClientId(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (index < 0) {
+            index = Math.min(-index - 1, cumulative.length - 1);
+        }
+        return firstClientId + index;
+    }
+
+    // Expected share of the traffic/invoices of the client of the given rank (1-based)
+    double share(int rank) {
+        return rank == 1 ? cumulative[0] : cumulative[rank - 1] - cumulative[rank - 2];
+    }
+
+    int clients() {
+        return cumulative.length;
+    }
+}
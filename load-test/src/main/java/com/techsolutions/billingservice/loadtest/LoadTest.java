@@ -0,0 +1,61 @@
+package com.techsolutions.billingservice.loadtest;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Capacity testing for billing-service: a synthetic data generator and a mixed-workload HTTP driver.
+ * Both take {@code --name=value} options and share the client options ({@code --clients},
+ * {@code --first-client-id}, {@code --zipf-exponent}, {@code --seed}), so the traffic hits the clients
+ * that own most of the generated invoices.
+ *
+ * <pre>
+ * cd load-test
+ * mvn -q compile exec:java -Dexec.args="generate --invoices=5000000 --clients=50000 --out=target/data"
+ * (cd target/data &amp;&amp; psql -d billingdb -f load.sql)
+ * mvn -q compile exec:java -Dexec.args="run --rps=300 --duration=5m --clients=50000 --histogram-dir=target/hgrm"
+ * </pre>
+ *
+ * generate: {@code --invoices} (1000000), {@code --days} (730), {@code --status-mix} (PENDING:35,PAID:60,CANCELLED:5),
+ * {@code --payment-method-mix} (CARD:55,TRANSFER:35,CASH:8,NONE:2), {@code --partial-payment-ratio} (0.3),
+ * {@code --first-invoice-id}, {@code --first-payment-id} (1), {@code --out} (target/data),
+ * {@code --truncate} (false: load.sql empties the billing tables first).
+ * <p>
+ * run: {@code --base-url} (http://localhost:8080), {@code --rps} (100), {@code --warmup} (10s),
+ * {@code --duration} (60s), {@code --mix} (create:20,payment:5,pay:10,list:40,total:25),
+ * {@code --max-in-flight} (1000), {@code --request-timeout} (10s), {@code --report-interval} (5s),
+ * {@code --api-key} (none, or a key listed in billing.rate-limit.api-keys: without one, requests that carry no
+ * clientId share the rate limit of the generator's address), {@code --api-key-header} (X-API-Key),
+ * {@code --histogram-dir} (.hgrm files per operation), {@code --max-error-rate} (1.0: exit status 1 above it).
+ * <p>
+ * Common: {@code --clients} (10000), {@code --first-client-id} (1), {@code --zipf-exponent} (1.1), {@code --seed} (42).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("generate") || args[0].equals("run"))) {
+            System.err.println("Usage: LoadTest generate|run [--name=value ...] (options in the LoadTest javadoc)");
+            System.exit(2);
+        }
+        Options options = new Options(args, 1);
+        if (args[0].equals("generate")) {
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(options, LocalDate.now());
+            Path out = Path.of(options.string("out", "target/data"));
+            boolean truncate = options.flag("truncate");
+            options.rejectUnknown();
+            long started = System.nanoTime();
+            SyntheticDataGenerator.Summary summary = generator.writeTo(out, truncate);
+            System.out.printf("%s%nWritten to %s in %.1fs%n", summary, out.toAbsolutePath(),
+                    (System.nanoTime() - started) / 1e9);
+        } else {
+            WorkloadRunner runner = new WorkloadRunner(options);
+            options.rejectUnknown();
+            if (!runner.run(System.out)) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.techsolutions.billingservice.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Requests of the mixed workload, named as in {@code --mix=create:20,payment:5,pay:10,list:40,total:25}.
+ */
+enum Operation {
+    // POST /api/invoices
+    CREATE,
+    // POST /api/invoices/{id}/payments, an instalment on an invoice created during the run
+    PAYMENT,
+    // PUT /api/invoices/{id}/pay, settles an invoice created during the run
+    PAY,
+    // GET /api/clients/{clientId}/invoices
+    LIST,
+    // GET /api/clients/{clientId}/total
+    TOTAL;
+
+    static Operation parse(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
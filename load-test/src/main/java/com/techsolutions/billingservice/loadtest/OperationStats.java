@@ -0,0 +1,67 @@
+package com.techsolutions.billingservice.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome counters and latency histogram of one operation. Latencies are recorded in microseconds from the
+ * intended send time, so a server that stalls is charged for the requests that queued behind the stall
+ * (no coordinated omission).
+ */
+final class OperationStats {
+
+    // One hour, 3 significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = 3_600_000_000L;
+
+    final Operation operation;
+    final LongAdder ok = new LongAdder();
+    final LongAdder throttled = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder ioErrors = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private Histogram interval;
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, latencyNanos / 1_000)));
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else if (status == 429) {
+            throttled.increment();
+        } else if (status >= 400 && status < 500) {
+            clientErrors.increment();
+        } else if (status > 0) {
+            serverErrors.increment();
+        } else {
+            ioErrors.increment();
+        }
+    }
+
+    // Called by the reporting thread only: moves what was recorded since the last call into the run total
+    Histogram drainInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    Histogram total() {
+        return total;
+    }
+
+    long completed() {
+        return total.getTotalCount();
+    }
+
+    long failed() {
+        return throttled.sum() + clientErrors.sum() + serverErrors.sum() + ioErrors.sum() + dropped.sum();
+    }
+}
@@ -0,0 +1,94 @@
+package com.techsolutions.billingservice.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code --name=value} command-line options. Every option has a default; {@link #rejectUnknown()} catches typos
+ * once all of them have been read.
+ */
+final class Options {
+
+    private final Map<String, String> values = new HashMap<>();
+    private final Set<String> read = new HashSet<>();
+
+    Options(String[] args, int from) {
+        for (int i = from; i < args.length; i++) {
+            String arg = args[i];
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String string(String name, String defaultValue) {
+        read.add(name);
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int integer(String name, int defaultValue) {
+        return Math.toIntExact(longValue(name, defaultValue));
+    }
+
+    long longValue(String name, long defaultValue) {
+        String value = string(name, null);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    double doubleValue(String name, double defaultValue) {
+        String value = string(name, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    boolean flag(String name) {
+        return Boolean.parseBoolean(string(name, "false"));
+    }
+
+    // 500ms, 30s, 5m, 1h or ISO-8601 (PT1M30S)
+    Duration duration(String name, Duration defaultValue) {
+        String value = string(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("--" + name + ": unsupported duration " + value);
+        };
+    }
+
+    // name:weight,name:weight (for example PENDING:35,PAID:60,CANCELLED:5)
+    Map<String, Integer> weights(String name, String defaultValue) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : string(name, defaultValue).split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("--" + name + ": expected name:weight, got " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    void rejectUnknown() {
+        Set<String> unknown = new HashSet<>(values.keySet());
+        unknown.removeAll(read);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + unknown);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.techsolutions.billingservice.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Writes invoices and payments as CSV files for PostgreSQL {@code COPY}, plus a {@code load.sql} script that
+ * loads them with psql. The output only depends on the options and the seed, so a capacity test can be
+ * replayed on exactly the same data.
+ * <p>
+ * Invoices follow the same rules as the service: PAID invoices have a zero remaining balance and payments that
+ * add up to the amount, PENDING ones may carry instalments, CANCELLED ones have none. Dunning reminders are
+ * not generated (the scheduler would otherwise fire for every overdue invoice at once) and revenue rollups are
+ * rebuilt by the service, see {@code load.sql}.
+ */
+final class SyntheticDataGenerator {
+
+    static final String INVOICE_COLUMNS =
+            "id,client_id,amount,remaining_balance,description,date_emission,date_paiement,status,payment_method";
+    static final String PAYMENT_COLUMNS = "id,invoice_id,amount,payment_method,paid_at";
+
+    private static final String[] DESCRIPTIONS = {
+            "Service de consultation IT", "Developpement application web", "Maintenance serveur",
+            "Formation equipe", "Licence logicielle", "Hebergement cloud", "Support technique",
+            "Audit securite", "Migration de donnees", "Abonnement mensuel"
+    };
+    private static final String[] PAYMENT_METHODS = {"CARD", "TRANSFER", "CASH"};
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // NUMERIC(10,2) upper bound, in cents
+    private static final long MAX_AMOUNT_CENTS = 9_999_999_999L;
+
+    private final long invoices;
+    private final long firstInvoiceId;
+    private final long firstPaymentId;
+    private final ClientDistribution clients;
+    private final WeightedChoice<String> statuses;
+    private final WeightedChoice<String> paymentMethods;
+    private final double partialPaymentRatio;
+    private final int days;
+    private final LocalDate today;
+    private final long seed;
+
+    SyntheticDataGenerator(Options options, LocalDate today) {
+        this.invoices = options.longValue("invoices", 1_000_000);
+        this.firstInvoiceId = options.longValue("first-invoice-id", 1);
+        this.firstPaymentId = options.longValue("first-payment-id", 1);
+        this.clients = new ClientDistribution(options.longValue("first-client-id", 1),
+                options.integer("clients", 10_000), options.doubleValue("zipf-exponent", 1.1));
+        this.statuses = new WeightedChoice<>(
+                options.weights("status-mix", "PENDING:35,PAID:60,CANCELLED:5"), SyntheticDataGenerator::status);
+        this.paymentMethods = new WeightedChoice<>(
+                options.weights("payment-method-mix", "CARD:55,TRANSFER:35,CASH:8,NONE:2"),
+                SyntheticDataGenerator::paymentMethod);
+        this.partialPaymentRatio = options.doubleValue("partial-payment-ratio", 0.3);
+        this.days = options.integer("days", 730);
+        this.today = today;
+        this.seed = options.longValue("seed", 42);
+    }
+
+    Summary writeTo(Path directory, boolean truncate) throws IOException {
+        Files.createDirectories(directory);
+        Summary summary;
+        try (BufferedWriter invoiceCsv = Files.newBufferedWriter(directory.resolve("invoices.csv"), StandardCharsets.UTF_8);
+             BufferedWriter paymentCsv = Files.newBufferedWriter(directory.resolve("payments.csv"), StandardCharsets.UTF_8)) {
+            summary = generate(invoiceCsv, paymentCsv);
+        }
+        Files.writeString(directory.resolve("load.sql"), loadScript(summary, truncate), StandardCharsets.UTF_8);
+        return summary;
+    }
+
+    Summary generate(Writer invoiceCsv, Writer paymentCsv) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        invoiceCsv.write(INVOICE_COLUMNS + "\n");
+        paymentCsv.write(PAYMENT_COLUMNS + "\n");
+
+        long paymentId = firstPaymentId;
+        long pending = 0;
+        long paid = 0;
+        long cancelled = 0;
+        StringBuilder line = new StringBuilder(160);
+        for (long id = firstInvoiceId; id < firstInvoiceId + invoices; id++) {
+            long clientId = clients.nextClientId(random);
+            long amount = nextAmountCents(random);
+            LocalDate emitted = today.minusDays(random.nextInt(days));
+            String method = paymentMethods.next(random);
+            String status = statuses.next(random);
+
+            long remaining = amount;
+            LocalDate paidOn = null;
+            int instalments = 0;
+            if (status.equals("PAID")) {
+                paid++;
+                remaining = 0;
+                paidOn = min(emitted.plusDays(random.nextInt(46)), today);
+                instalments = random.nextInt(10) < 7 ? 1 : 2 + random.nextInt(2);
+            } else if (status.equals("PENDING")) {
+                pending++;
+                if (amount >= 200 && random.nextDouble() < partialPaymentRatio) {
+                    instalments = 1 + random.nextInt(2);
+                    remaining = amount - Math.max(instalments, amount * (1 + random.nextInt(9)) / 10);
+                }
+            } else {
+                cancelled++;
+            }
+
+            // Instalments: cut the paid part at random points, the last one settles it
+            long toPay = amount - remaining;
+            LocalDate lastDay = paidOn != null ? paidOn : today;
+            LocalDateTime previous = emitted.atTime(8, 0);
+            for (int i = instalments; i > 0; i--) {
+                long part = i == 1 ? toPay : 1 + random.nextLong(toPay - i + 1);
+                toPay -= part;
+                long span = Math.max(0, lastDay.toEpochDay() - previous.toLocalDate().toEpochDay());
+                LocalDateTime paidAt = i == 1 && paidOn != null
+                        ? paidOn.atTime(8 + random.nextInt(10), random.nextInt(60), random.nextInt(60))
+                        : previous.plusDays(random.nextLong(span + 1)).plusSeconds(random.nextInt(36_000));
+                if (paidAt.toLocalDate().isAfter(lastDay)) {
+                    paidAt = lastDay.atTime(18, 0);
+                }
+                if (paidAt.isBefore(previous)) {
+                    paidAt = previous;
+                }
+                previous = paidAt;
+
+                line.setLength(0);
+                line.append(paymentId++).append(',').append(id).append(',').append(decimal(part)).append(',')
+                        .append(method != null ? method : PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)])
+                        .append(',').append(TIMESTAMP.format(paidAt)).append('\n');
+                paymentCsv.append(line);
+            }
+
+            line.setLength(0);
+            line.append(id).append(',').append(clientId).append(',').append(decimal(amount)).append(',')
+                    .append(decimal(remaining)).append(',').append(nextDescription(random, id)).append(',')
+                    .append(emitted).append(',').append(paidOn == null ? "" : paidOn.toString()).append(',')
+                    .append(status).append(',').append(method == null ? "" : method).append('\n');
+            invoiceCsv.append(line);
+        }
+        return new Summary(invoices, paymentId - firstPaymentId, pending, paid, cancelled,
+                clients.clients(), clients.share(1), seed);
+    }
+
+    private String loadScript(Summary summary, boolean truncate) {
+        StringBuilder script = new StringBuilder();
+        script.append("-- Generated by LoadTest generate: ").append(summary).append('\n');
+        script.append("-- Run from this directory (\\copy paths are relative): psql -d billingdb -f load.sql\n");
+        script.append("\\set ON_ERROR_STOP on\n");
+        script.append("BEGIN;\n");
+        if (truncate) {
+            script.append("TRUNCATE payments, invoice_reminders, revenue_daily_rollups, invoices RESTART IDENTITY;\n");
+        }
+        script.append("\\copy invoices (").append(INVOICE_COLUMNS).append(") FROM 'invoices.csv' WITH (FORMAT csv, HEADER true)\n");
+        script.append("\\copy payments (").append(PAYMENT_COLUMNS).append(") FROM 'payments.csv' WITH (FORMAT csv, HEADER true)\n");
+        script.append("SELECT setval(pg_get_serial_sequence('invoices', 'id'), (SELECT max(id) FROM invoices));\n");
+        script.append("SELECT setval(pg_get_serial_sequence('payments', 'id'), (SELECT max(id) FROM payments));\n");
+        script.append("COMMIT;\n");
+        script.append("ANALYZE invoices;\n");
+        script.append("ANALYZE payments;\n");
+        script.append("-- Revenue rollups: rebuilt at startup when revenue_daily_rollups is empty, otherwise\n");
+        script.append("-- POST /api/admin/analytics/revenue/backfill?from=").append(today.minusDays(days))
+                .append("&to=").append(today).append(" (X-Admin-Key header)\n");
+        return script.toString();
+    }
+
+    // Log-normal around 800.00, the shape of real invoice amounts (many small ones, a long tail of large ones)
+    static long nextAmountCents(RandomGenerator random) {
+        double amount = Math.exp(Math.log(800) + random.nextGaussian());
+        return Math.max(100, Math.min(MAX_AMOUNT_CENTS, Math.round(amount * 100)));
+    }
+
+    static String nextDescription(RandomGenerator random, long number) {
+        return DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)] + " #" + number;
+    }
+
+    static String decimal(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static String status(String name) {
+        return switch (name) {
+            case "PENDING", "PAID", "CANCELLED" -> name;
+            default -> throw new IllegalArgumentException("Unknown invoice status: " + name);
+        };
+    }
+
+    private static String paymentMethod(String name) {
+        return switch (name) {
+            case "CARD", "TRANSFER", "CASH" -> name;
+            case "NONE" -> null;
+            default -> throw new IllegalArgumentException("Unknown payment method: " + name);
+        };
+    }
+
+    record Summary(long invoices, long payments, long pending, long paid, long cancelled,
+                   int clients, double topClientShare, long seed) {
+
+        @Override
+        public String toString() {
+            return String.format("%d invoices (%d PENDING, %d PAID, %d CANCELLED), %d payments, %d clients "
+                            + "(top client %.1f%% of invoices), seed %d",
+                    invoices, pending, paid, cancelled, payments, clients, topClientShare * 100, seed);
+        }
+    }
+}
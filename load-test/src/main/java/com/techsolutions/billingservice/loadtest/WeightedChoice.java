@@ -0,0 +1,42 @@
+package com.techsolutions.billingservice.loadtest;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks one of a fixed set of values with integer weights (a status or operation mix).
+ */
+final class WeightedChoice<T> {
+
+    private final Object[] values;
+    private final int[] cumulativeWeights;
+
+    WeightedChoice(Map<String, Integer> weights, Function<String, T> parser) {
+        values = new Object[weights.size()];
+        cumulativeWeights = new int[weights.size()];
+        int i = 0;
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+            }
+            total += entry.getValue();
+            values[i] = parser.apply(entry.getKey());
+            cumulativeWeights[i++] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive: " + weights);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    T next(RandomGenerator random) {
+        int target = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (cumulativeWeights[i] <= target) {
+            i++;
+        }
+        return (T) values[i];
+    }
+}
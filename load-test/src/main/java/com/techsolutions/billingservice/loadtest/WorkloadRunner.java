@@ -0,0 +1,332 @@
+package com.techsolutions.billingservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop driver: requests are scheduled at a fixed rate whatever the response times, like independent
+ * clients would send them, and each latency is measured from its scheduled time. When the service falls behind,
+ * in-flight requests pile up to {@code --max-in-flight}; requests beyond it are counted as dropped rather than
+ * delayed, which would silently lower the offered load.
+ */
+final class WorkloadRunner {
+
+    private static final int MAX_OPEN_INVOICES = 100_000;
+
+    private final String baseUrl;
+    private final double rps;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration reportInterval;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+    private final String apiKeyHeader;
+    private final String apiKey;
+    private final double maxErrorRate;
+    private final String histogramDirectory;
+    private final ClientDistribution clients;
+    private final WeightedChoice<Operation> mix;
+    private final long seed;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Invoices created during the run that PAYMENT/PAY can settle: {id, remaining balance in cents, client id}
+    private final ConcurrentLinkedQueue<long[]> openInvoices = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger openInvoiceCount = new AtomicInteger();
+
+    WorkloadRunner(Options options) {
+        this.baseUrl = options.string("base-url", "http://localhost:8080") + "/api";
+        this.rps = options.doubleValue("rps", 100);
+        this.warmup = options.duration("warmup", Duration.ofSeconds(10));
+        this.duration = options.duration("duration", Duration.ofSeconds(60));
+        this.reportInterval = options.duration("report-interval", Duration.ofSeconds(5));
+        this.requestTimeout = options.duration("request-timeout", Duration.ofSeconds(10));
+        this.maxInFlight = options.integer("max-in-flight", 1_000);
+        this.apiKeyHeader = options.string("api-key-header", "X-API-Key");
+        this.apiKey = options.string("api-key", "none");
+        this.maxErrorRate = options.doubleValue("max-error-rate", 1.0);
+        this.histogramDirectory = options.string("histogram-dir", null);
+        this.clients = new ClientDistribution(options.longValue("first-client-id", 1),
+                options.integer("clients", 10_000), options.doubleValue("zipf-exponent", 1.1));
+        this.mix = new WeightedChoice<>(
+                options.weights("mix", "create:20,payment:5,pay:10,list:40,total:25"), Operation::parse);
+        this.seed = options.longValue("seed", 42);
+        if (rps <= 0) {
+            throw new IllegalArgumentException("--rps must be positive");
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * @return {@code true} when the error rate stayed within {@code --max-error-rate}
+     */
+    boolean run(PrintStream out) throws IOException, InterruptedException {
+        out.printf("Open-loop load against %s: %.1f req/s, %ds warmup + %ds measured, %d clients%n",
+                baseUrl, rps, warmup.toSeconds(), duration.toSeconds(), clients.clients());
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long start = System.nanoTime();
+        long measuredFrom = start + warmup.toNanos();
+        long end = measuredFrom + duration.toNanos();
+        double intervalNanos = 1_000_000_000.0 / rps;
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-test-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> reportInterval(out, start), reportInterval.toMillis(),
+                reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + (long) (i * intervalNanos);
+            if (scheduledAt >= end) {
+                break;
+            }
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            dispatch(i, mix.next(random), random, scheduledAt, scheduledAt >= measuredFrom);
+        }
+
+        long deadline = System.nanoTime() + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        reporter.shutdownNow();
+        reporter.awaitTermination(1, TimeUnit.SECONDS);
+        stats.values().forEach(OperationStats::drainInterval);
+        return report(out);
+    }
+
+    private void dispatch(long sequence, Operation operation, SplittableRandom random, long scheduledAt,
+                          boolean measured) {
+        HttpRequest request;
+        long[] invoice = null;
+        long clientId = clients.nextClientId(random);
+        if (operation == Operation.PAYMENT || operation == Operation.PAY) {
+            invoice = openInvoices.poll();
+            if (invoice == null) {
+                // Nothing to settle yet: create instead, so the offered load stays the same
+                operation = Operation.CREATE;
+            } else {
+                openInvoiceCount.decrementAndGet();
+                clientId = invoice[2];
+            }
+        }
+
+        OperationStats operationStats = stats.get(operation);
+        if (inFlight.get() >= maxInFlight) {
+            if (measured) {
+                operationStats.dropped.increment();
+            }
+            if (invoice != null) {
+                offerOpenInvoice(invoice);
+            }
+            return;
+        }
+
+        long instalment = 0;
+        switch (operation) {
+            case CREATE -> {
+                long amount = SyntheticDataGenerator.nextAmountCents(random);
+                request = post("/invoices", "{\"clientId\":" + clientId
+                        + ",\"amount\":" + SyntheticDataGenerator.decimal(amount)
+                        + ",\"description\":\"" + SyntheticDataGenerator.nextDescription(random, sequence) + "\""
+                        + ",\"paymentMethod\":\"TRANSFER\"}");
+            }
+            case PAYMENT -> {
+                instalment = Math.max(1, invoice[1] / 4);
+                request = post("/invoices/" + invoice[0] + "/payments", "{\"amount\":"
+                        + SyntheticDataGenerator.decimal(instalment) + ",\"paymentMethod\":\"CARD\"}");
+            }
+            case PAY -> request = builder("/invoices/" + invoice[0] + "/pay")
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case LIST -> request = builder("/clients/" + clientId + "/invoices").GET().build();
+            case TOTAL -> request = builder("/clients/" + clientId + "/total").GET().build();
+            default -> throw new IllegalStateException("Unexpected operation " + operation);
+        }
+
+        Operation sent = operation;
+        long[] settled = invoice;
+        long paid = instalment;
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    inFlight.decrementAndGet();
+                    int status = failure == null ? response.statusCode() : 0;
+                    if (measured) {
+                        operationStats.record(System.nanoTime() - scheduledAt, status);
+                        if (status < 200 || status >= 300) {
+                            String kind = failure == null
+                                    ? "HTTP " + status
+                                    : failure.getClass().getSimpleName();
+                            errors.computeIfAbsent(sent.label() + " " + kind, key -> new LongAdder()).increment();
+                        }
+                    }
+                    if (status >= 200 && status < 300) {
+                        onSuccess(sent, response.body(), settled, paid);
+                    }
+                });
+    }
+
+    private void onSuccess(Operation operation, byte[] body, long[] invoice, long instalment) {
+        if (operation == Operation.CREATE) {
+            try {
+                JsonNode created = objectMapper.readTree(body);
+                offerOpenInvoice(new long[]{created.get("id").asLong(),
+                        created.get("amount").decimalValue().movePointRight(2).longValueExact(),
+                        created.get("clientId").asLong()});
+            } catch (IOException | RuntimeException e) {
+                errors.computeIfAbsent("create unreadable response", key -> new LongAdder()).increment();
+            }
+        } else if (operation == Operation.PAYMENT && invoice[1] - instalment > 0) {
+            offerOpenInvoice(new long[]{invoice[0], invoice[1] - instalment, invoice[2]});
+        }
+    }
+
+    private void offerOpenInvoice(long[] invoice) {
+        if (openInvoiceCount.incrementAndGet() <= MAX_OPEN_INVOICES) {
+            openInvoices.offer(invoice);
+        } else {
+            openInvoiceCount.decrementAndGet();
+        }
+    }
+
+    private HttpRequest post(String path, String json) {
+        return builder(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (!apiKey.equals("none")) {
+            builder.header(apiKeyHeader, apiKey);
+        }
+        return builder;
+    }
+
+    private void reportInterval(PrintStream out, long start) {
+        StringBuilder latencies = new StringBuilder();
+        long completed = 0;
+        for (OperationStats operationStats : stats.values()) {
+            Histogram interval = operationStats.drainInterval();
+            completed += interval.getTotalCount();
+            if (interval.getTotalCount() > 0) {
+                latencies.append(String.format("  %s p50 %.1f p99 %.1f ms", operationStats.operation.label(),
+                        millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99))));
+            }
+        }
+        out.printf("[%4ds] %7.1f req/s, in-flight %4d%s%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start),
+                completed / (reportInterval.toMillis() / 1_000.0), inFlight.get(), latencies);
+    }
+
+    private boolean report(PrintStream out) throws IOException {
+        double seconds = duration.toNanos() / 1e9;
+        String header = String.format("%-8s %9s %9s %7s %7s %7s %7s %8s %9s %8s %8s %8s %8s %8s",
+                "op", "count", "ok", "4xx", "429", "5xx", "io", "dropped", "req/s",
+                "p50", "p90", "p99", "p99.9", "max");
+        out.println();
+        out.println(header + "   (latencies in ms)");
+        Histogram all = new Histogram(3_600_000_000L, 3);
+        long failed = 0;
+        long scheduled = 0;
+        long[] totals = new long[7];
+        for (OperationStats operationStats : stats.values()) {
+            Histogram histogram = operationStats.total();
+            all.add(histogram);
+            failed += operationStats.failed();
+            scheduled += operationStats.completed() + operationStats.dropped.sum();
+            long[] counts = counts(operationStats);
+            for (int i = 0; i < counts.length; i++) {
+                totals[i] += counts[i];
+            }
+            if (operationStats.completed() > 0 || operationStats.dropped.sum() > 0) {
+                out.println(row(operationStats.operation.label(), counts, histogram, seconds));
+            }
+            if (histogramDirectory != null && histogram.getTotalCount() > 0) {
+                writeHistogram(operationStats.operation.label(), histogram);
+            }
+        }
+        out.println(row("all", totals, all, seconds));
+        if (histogramDirectory != null && all.getTotalCount() > 0) {
+            writeHistogram("all", all);
+        }
+
+        if (!errors.isEmpty()) {
+            out.println();
+            out.println("Errors:");
+            errors.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> out.printf("  %-40s %d%n", entry.getKey(), entry.getValue().sum()));
+        }
+        double errorRate = scheduled == 0 ? 0 : failed / (double) scheduled;
+        out.printf("%nError rate %.3f%% (limit %.3f%%)%n", errorRate * 100, maxErrorRate * 100);
+        return errorRate <= maxErrorRate;
+    }
+
+    private static long[] counts(OperationStats stats) {
+        return new long[]{stats.completed(), stats.ok.sum(), stats.clientErrors.sum(), stats.throttled.sum(),
+                stats.serverErrors.sum(), stats.ioErrors.sum(), stats.dropped.sum()};
+    }
+
+    private static String row(String label, long[] counts, Histogram histogram, double seconds) {
+        return String.format("%-8s %9d %9d %7d %7d %7d %7d %8d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f",
+                label, counts[0], counts[1], counts[2], counts[3], counts[4], counts[5], counts[6],
+                counts[0] / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    // HdrHistogram percentile distribution (.hgrm), can be plotted with the HdrHistogram plotter
+    private void writeHistogram(String label, Histogram histogram) throws IOException {
+        Path directory = Path.of(histogramDirectory);
+        Files.createDirectories(directory);
+        try (PrintStream file = new PrintStream(Files.newOutputStream(directory.resolve(label + ".hgrm")))) {
+            histogram.outputPercentileDistribution(file, 1_000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.techsolutions.billingservice.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Synthetic data generator Tests")
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+
+    @Test
+    @DisplayName("Should produce the same files for the same seed")
+    void generate_ShouldBeDeterministic() throws IOException {
+        // Given
+        String[] args = {"--invoices=500", "--clients=50", "--seed=7"};
+
+        // When
+        String[] first = generate(args);
+        String[] second = generate(args);
+        String[] otherSeed = generate("--invoices=500", "--clients=50", "--seed=8");
+
+        // Then
+        assertArrayEquals(first, second);
+        assertNotEquals(first[0], otherSeed[0]);
+    }
+
+    @Test
+    @DisplayName("Should keep balances consistent with the generated payments")
+    void generate_ShouldMatchBalancesAndPayments() throws IOException {
+        // Given
+        String[] files = generate("--invoices=5000", "--clients=200");
+
+        // When
+        Map<Long, BigDecimal> paidByInvoice = new HashMap<>();
+        for (String payment : rows(files[1])) {
+            String[] columns = payment.split(",");
+            paidByInvoice.merge(Long.valueOf(columns[1]), new BigDecimal(columns[2]), BigDecimal::add);
+            assertTrue(new BigDecimal(columns[2]).signum() > 0, payment);
+        }
+
+        // Then
+        Map<String, Integer> statuses = new HashMap<>();
+        for (String invoice : rows(files[0])) {
+            String[] columns = invoice.split(",", -1);
+            BigDecimal amount = new BigDecimal(columns[2]);
+            BigDecimal remaining = new BigDecimal(columns[3]);
+            BigDecimal paid = paidByInvoice.getOrDefault(Long.valueOf(columns[0]), BigDecimal.ZERO);
+            String status = columns[7];
+            statuses.merge(status, 1, Integer::sum);
+
+            assertEquals(0, amount.subtract(remaining).compareTo(paid), invoice);
+            assertFalse(LocalDate.parse(columns[5]).isAfter(TODAY), invoice);
+            switch (status) {
+                case "PAID" -> {
+                    assertEquals(0, remaining.signum(), invoice);
+                    assertFalse(columns[6].isEmpty(), invoice);
+                }
+                case "PENDING" -> assertTrue(remaining.signum() > 0, invoice);
+                case "CANCELLED" -> assertEquals(0, paid.signum(), invoice);
+                default -> fail("Unexpected status " + status);
+            }
+        }
+        // Default mix is PENDING:35, PAID:60, CANCELLED:5
+        assertEquals(3000, statuses.get("PAID"), 150);
+        assertEquals(1750, statuses.get("PENDING"), 150);
+        assertEquals(250, statuses.get("CANCELLED"), 60);
+    }
+
+    @Test
+    @DisplayName("Should skew clients according to the Zipf exponent")
+    void clientDistribution_ShouldFavourTopRanks() {
+        // Given
+        ClientDistribution clients = new ClientDistribution(1000, 1000, 1.1);
+        SplittableRandom random = new SplittableRandom(1);
+        long[] counts = new long[1000];
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            counts[(int) (clients.nextClientId(random) - 1000)]++;
+        }
+
+        // Then
+        assertEquals(clients.share(1) * 200_000, counts[0], 2_000);
+        assertTrue(counts[0] > 10 * counts[99]);
+        assertTrue(Arrays.stream(counts).filter(count -> count == 0).count() < 100);
+    }
+
+    private static String[] generate(String... args) throws IOException {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(new Options(args, 0), TODAY);
+        StringWriter invoices = new StringWriter();
+        StringWriter payments = new StringWriter();
+        generator.generate(invoices, payments);
+        return new String[]{invoices.toString(), payments.toString()};
+    }
+
+    private static List<String> rows(String csv) {
+        List<String> lines = csv.lines().toList();
+        return lines.subList(1, lines.size());
+    }
+}
@@ -0,0 +1,52 @@
+#!/usr/bin/env sh
+# Compares startup time and resident memory of the three build flavours:
+#   jar     - plain Spring Boot fat jar (mvn package)
+#   aot-cds - Spring AOT + class data sharing archive (mvn -P aot-cds package)
+#   native  - GraalVM native image (mvn -P native native:compile, GraalVM JDK required)
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (build the flavours first; missing ones are skipped)
+# Startup time is the "Started BillingServiceApplication in X seconds" figure reported by Spring Boot,
+# RSS is sampled once /actuator/health answers UP.
+
+set -eu
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$TARGET/billing-service-0.0.1-SNAPSHOT.jar"
+APP_DIR="$TARGET/application"
+NATIVE="$TARGET/billing-service"
+
+measure() {
+    name="$1"
+    shift
+    total_time=0
+    total_rss=0
+    for run in $(seq 1 "$RUNS"); do
+        log="$(mktemp)"
+        "$@" --server.port="$PORT" --billing.dunning.enabled=false > "$log" 2>&1 &
+        pid=$!
+        until curl -fs "http://localhost:$PORT/actuator/health" > /dev/null 2>&1; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$name failed to start, see $log" >&2
+                return 1
+            fi
+            sleep 0.05
+        done
+        started="$(sed -n 's/.*Started BillingServiceApplication in \([0-9.]*\) seconds.*/\1/p' "$log")"
+        rss="$(ps -o rss= -p "$pid" | tr -d ' ')"
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+        rm -f "$log"
+        total_time="$(awk "BEGIN { print $total_time + $started }")"
+        total_rss="$((total_rss + rss))"
+    done
+    printf '%-8s startup %6.3f s   RSS %6d MB   (%d runs)\n' "$name" \
+        "$(awk "BEGIN { print $total_time / $RUNS }")" "$((total_rss / RUNS / 1024))" "$RUNS"
+}
+
+[ -f "$JAR" ] && measure jar java -jar "$JAR"
+[ -f "$APP_DIR/application.jsa" ] && (cd "$APP_DIR" && measure aot-cds java -XX:SharedArchiveFile=application.jsa \
+    -Dspring.aot.enabled=true -jar billing-service-0.0.1-SNAPSHOT.jar)
+[ -x "$NATIVE" ] && measure native "$NATIVE"
+exit 0
@@ -1,9 +1,12 @@
 package com.techsolutions.billingservice;
 
+import com.techsolutions.billingservice.config.BillingRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(BillingRuntimeHints.class)
 public class BillingServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,93 @@
+package com.techsolutions.billingservice.audit;
+
+import com.techsolutions.billingservice.enums.AuditEventType;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Binary layout of an entry payload (big-endian):
+ * <pre>
+ * long sequence | long recordedAt (epoch millis) | byte type | long invoiceId | long clientId
+ * | long paymentId (MIN_VALUE = none) | byte status (-1 = none) | byte paymentMethod (-1 = none)
+ * | decimal amount | decimal remainingBalance        decimal = short length (-1 = null) + ASCII plain string
+ * </pre>
+ */
+final class AuditCodec {
+
+    static final int MAX_PAYLOAD_SIZE = 1024;
+
+    private static final long NO_PAYMENT = Long.MIN_VALUE;
+
+    private AuditCodec() {
+    }
+
+    static void encode(long sequence, long recordedAt, AuditEvent event, ByteBuffer out) {
+        out.putLong(sequence);
+        out.putLong(recordedAt);
+        out.put((byte) event.type().ordinal());
+        out.putLong(event.invoiceId());
+        out.putLong(event.clientId());
+        out.putLong(event.paymentId() == null ? NO_PAYMENT : event.paymentId());
+        out.put(event.status() == null ? -1 : (byte) event.status().ordinal());
+        out.put(event.paymentMethod() == null ? -1 : (byte) event.paymentMethod().ordinal());
+        putDecimal(event.amount(), out);
+        putDecimal(event.remainingBalance(), out);
+    }
+
+    static AuditRecord decode(ByteBuffer payload, byte[] hash) {
+        long sequence = payload.getLong();
+        Instant recordedAt = Instant.ofEpochMilli(payload.getLong());
+        AuditEventType type = AuditEventType.values()[payload.get()];
+        long invoiceId = payload.getLong();
+        long clientId = payload.getLong();
+        long paymentId = payload.getLong();
+        byte status = payload.get();
+        byte paymentMethod = payload.get();
+        AuditEvent event = AuditEvent.builder()
+                .type(type)
+                .invoiceId(invoiceId)
+                .clientId(clientId)
+                .paymentId(paymentId == NO_PAYMENT ? null : paymentId)
+                .status(status < 0 ? null : InvoiceStatus.values()[status])
+                .paymentMethod(paymentMethod < 0 ? null : PaymentMethod.values()[paymentMethod])
+                .amount(getDecimal(payload))
+                .remainingBalance(getDecimal(payload))
+                .build();
+        return new AuditRecord(sequence, recordedAt, event, hash);
+    }
+
+    static long sequenceOf(ByteBuffer payload) {
+        return payload.getLong(payload.position());
+    }
+
+    static long invoiceIdOf(ByteBuffer payload) {
+        return payload.getLong(payload.position() + 17);
+    }
+
+    private static void putDecimal(BigDecimal value, ByteBuffer out) {
+        if (value == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        String text = value.toPlainString();
+        out.putShort((short) text.length());
+        for (int i = 0; i < text.length(); i++) {
+            out.put((byte) text.charAt(i));
+        }
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer in) {
+        short length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] text = new byte[length];
+        in.get(text);
+        return new BigDecimal(new String(text, StandardCharsets.US_ASCII));
+    }
+}
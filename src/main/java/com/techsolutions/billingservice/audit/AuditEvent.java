@@ -0,0 +1,24 @@
+package com.techsolutions.billingservice.audit;
+
+import com.techsolutions.billingservice.enums.AuditEventType;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * Invoice mutation as written to the journal. For a payment, amount is the payment amount and status and
+ * remainingBalance describe the invoice right after it.
+ */
+@Builder
+public record AuditEvent(
+        AuditEventType type,
+        long invoiceId,
+        long clientId,
+        Long paymentId,
+        BigDecimal amount,
+        BigDecimal remainingBalance,
+        InvoiceStatus status,
+        PaymentMethod paymentMethod) {
+}
@@ -0,0 +1,660 @@
+package com.techsolutions.billingservice.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, tamper-evident journal of invoice mutations.
+ *
+ * <p>Entries are written into fixed-size memory-mapped segments ({@code audit-000000.seg}, ...). Each segment
+ * starts with a header holding the hash of the last entry of the previous segment, and each entry
+ * ({@code int length | payload | sha256}) is hashed over the previous entry's hash followed by its own payload,
+ * so editing, removing or reordering any entry breaks the chain from that point on.
+ *
+ * <p>Appends only copy bytes into the mapping. A background thread forces the dirty range to disk every
+ * {@code flushInterval}, one msync for all the entries appended meanwhile (group commit). Callers that need
+ * durability can wait for it with {@link #awaitDurable}.
+ *
+ * <p>A single process may open a directory for writing (lock file). {@link #scan} reads a directory without
+ * locking, e.g. from {@link AuditJournalTool} while the application is running.
+ *
+ * <p>Per-invoice lookups go through an index: the segment being written is indexed in memory (invoice id and
+ * offset of each entry, bounded by the segment size), and each sealed segment gets an {@code audit-NNNNNN.idx}
+ * file sorted by invoice id when the journal rotates or closes. Index files are only an accelerator, rebuilt
+ * when missing, and every entry read back is checked against the hash stored before it. Opening therefore only
+ * reads the tail segment, unless the whole chain is to be verified.
+ */
+@Slf4j
+public class AuditJournal implements Closeable {
+
+    static final int MAGIC = 0x41554431; // "AUD1"
+    static final int INDEX_MAGIC = 0x41554958; // "AUIX"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int HASH_SIZE = 32;
+    private static final int PREV_HASH_OFFSET = 16;
+    private static final int ENTRY_OVERHEAD = 4 + HASH_SIZE;
+    private static final int INDEX_HEADER_SIZE = 8;
+    private static final int INDEX_ENTRY_SIZE = 12;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private final List<Path> segments = new CopyOnWriteArrayList<>();
+
+    private final MessageDigest digest = sha256();
+    private final ByteBuffer scratch = ByteBuffer.allocate(AuditCodec.MAX_PAYLOAD_SIZE);
+    private final byte[] lastHash = new byte[HASH_SIZE];
+    private MappedByteBuffer current;
+    private int writeOffset;
+    private int flushedOffset;
+    private long lastSequence;
+
+    // Index of the segment being written, in append order
+    private long[] tailInvoiceIds = new long[1024];
+    private int[] tailOffsets = new int[1024];
+    private int tailEntries;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private volatile long durableSequence;
+    private volatile boolean closed;
+    private final Thread flusher;
+
+    private AuditJournal(Path directory, int segmentSize, Duration flushInterval, boolean verify) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve("journal.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = tryLock(lockChannel);
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Audit journal " + directory + " is already open for writing");
+        }
+        try {
+            recover(verify);
+        } catch (IOException | RuntimeException e) {
+            lock.release();
+            lockChannel.close();
+            throw e;
+        }
+        this.durableSequence = lastSequence;
+        this.flusher = new Thread(this::flushLoop, "audit-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens (or creates) the journal in a directory. Only the tail segment is read to find where to append.
+     *
+     * @param verify recompute the hash chain of every segment first; an invalid chain then refuses to open
+     */
+    public static AuditJournal open(Path directory, int segmentSize, Duration flushInterval, boolean verify)
+            throws IOException {
+        if (segmentSize < HEADER_SIZE + ENTRY_OVERHEAD + AuditCodec.MAX_PAYLOAD_SIZE) {
+            throw new IllegalArgumentException("Audit segment size too small: " + segmentSize);
+        }
+        return new AuditJournal(directory, segmentSize, flushInterval, verify);
+    }
+
+    /**
+     * Appends an event and returns it as recorded. Does not wait for the disk; see {@link #awaitDurable}.
+     */
+    public synchronized AuditRecord append(AuditEvent event) {
+        if (closed) {
+            throw new IllegalStateException("Audit journal is closed");
+        }
+        long sequence = lastSequence + 1;
+        long recordedAt = System.currentTimeMillis();
+        scratch.clear();
+        AuditCodec.encode(sequence, recordedAt, event, scratch);
+        int length = scratch.position();
+
+        if (writeOffset + ENTRY_OVERHEAD + length > current.capacity()) {
+            rotate(sequence);
+        }
+
+        byte[] hash = hash(digest, lastHash, ByteBuffer.wrap(scratch.array(), 0, length));
+
+        // Payload and hash first, length last: a torn entry reads as end-of-segment or fails its hash
+        int offset = writeOffset;
+        current.put(offset + 4, scratch.array(), 0, length);
+        current.put(offset + 4 + length, hash, 0, HASH_SIZE);
+        current.putInt(offset, length);
+        writeOffset = offset + ENTRY_OVERHEAD + length;
+        indexTail(event.invoiceId(), offset);
+
+        System.arraycopy(hash, 0, lastHash, 0, HASH_SIZE);
+        lastSequence = sequence;
+        return new AuditRecord(sequence, Instant.ofEpochMilli(recordedAt), event, hash);
+    }
+
+    /**
+     * Blocks until the entry with this sequence number has been forced to disk, triggering a flush right away.
+     *
+     * @return false if the timeout elapsed first
+     */
+    public boolean awaitDurable(long sequence, Duration timeout) throws InterruptedException {
+        if (durableSequence >= sequence) {
+            return true;
+        }
+        long remaining = timeout.toNanos();
+        flushLock.lock();
+        try {
+            flushRequested.signal();
+            while (durableSequence < sequence) {
+                if (remaining <= 0 || closed) {
+                    return durableSequence >= sequence;
+                }
+                remaining = flushed.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Entries of an invoice in sequence order, through the segment indexes.
+     *
+     * @throws IllegalStateException if an entry does not match the hash stored before it
+     */
+    public List<AuditRecord> history(long invoiceId) throws IOException {
+        List<Path> sealed;
+        ByteBuffer tail;
+        Path tailSegment;
+        List<Integer> offsets = new ArrayList<>();
+        synchronized (this) {
+            sealed = List.copyOf(segments.subList(0, segments.size() - 1));
+            tailSegment = segments.get(segments.size() - 1);
+            tail = current.duplicate();
+            for (int i = 0; i < tailEntries; i++) {
+                if (tailInvoiceIds[i] == invoiceId) {
+                    offsets.add(tailOffsets[i]);
+                }
+            }
+        }
+        List<AuditRecord> history = new ArrayList<>();
+        for (Path segment : sealed) {
+            readSegment(segment, invoiceId, history);
+        }
+        for (int offset : offsets) {
+            history.add(readEntry(tail, offset, tailSegment));
+        }
+        return history;
+    }
+
+    /**
+     * Same lookup on a directory written by another process, without locking. Segments without an index file
+     * (the tail of a running writer) are walked entry by entry.
+     */
+    public static List<AuditRecord> history(Path directory, long invoiceId) throws IOException {
+        List<AuditRecord> history = new ArrayList<>();
+        for (Path segment : segmentFiles(directory)) {
+            readSegment(segment, invoiceId, history);
+        }
+        return history;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flushLock.lock();
+        try {
+            flushRequested.signal();
+        } finally {
+            flushLock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        // Sealed until reopened: readers of the directory no longer need to walk the tail
+        synchronized (this) {
+            writeIndex(segments.get(segments.size() - 1), tailInvoiceIds, tailOffsets, tailEntries);
+        }
+        lock.release();
+        lockChannel.close();
+    }
+
+    /**
+     * Reads every segment of a directory in order, verifying the hash chain when asked, and hands each valid
+     * entry to the visitor. Stops at the first invalid entry.
+     */
+    public static ScanResult scan(Path directory, boolean verify, Consumer<AuditRecord> visitor) throws IOException {
+        return scan(segmentFiles(directory), 0, verify,
+                (segment, offset, payload, hash) -> visitor.accept(AuditCodec.decode(payload, hash)));
+    }
+
+    // From a later segment the chain is taken from that segment's header (sequence and previous hash)
+    private static ScanResult scan(List<Path> files, int firstSegment, boolean verify, EntryVisitor visitor)
+            throws IOException {
+        MessageDigest digest = sha256();
+        byte[] previous = new byte[HASH_SIZE];
+        long lastSequence = 0;
+        long entries = 0;
+        int tailOffset = HEADER_SIZE;
+
+        for (int segment = firstSegment; segment < files.size(); segment++) {
+            boolean lastSegment = segment == files.size() - 1;
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(files.get(segment), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (segment == firstSegment && segment > 0 && buffer.limit() >= HEADER_SIZE) {
+                lastSequence = buffer.getLong(8) - 1;
+                buffer.get(PREV_HASH_OFFSET, previous);
+            }
+            String problem = checkHeader(buffer, lastSequence + 1, previous);
+            if (problem != null) {
+                return ScanResult.invalid(files, lastSequence, previous, entries, segment, HEADER_SIZE,
+                        files.get(segment).getFileName() + ": " + problem, false);
+            }
+
+            int offset = HEADER_SIZE;
+            while (offset + 4 <= buffer.limit()) {
+                int length = buffer.getInt(offset);
+                if (length == 0) {
+                    break;
+                }
+                int end = offset + 4 + length + HASH_SIZE;
+                if (length < 0 || length > AuditCodec.MAX_PAYLOAD_SIZE || end > buffer.limit()) {
+                    return ScanResult.invalid(files, lastSequence, previous, entries, segment, offset,
+                            "invalid entry length at offset " + offset, false);
+                }
+                ByteBuffer payload = buffer.slice(offset + 4, length);
+                byte[] hash = new byte[HASH_SIZE];
+                buffer.get(offset + 4 + length, hash);
+                if (verify && !Arrays.equals(hash(digest, previous, payload.duplicate()), hash)) {
+                    // Un hash faux sur la derniere entree du dernier segment = ecriture interrompue (crash)
+                    boolean torn = lastSegment && (end + 4 > buffer.limit() || buffer.getInt(end) == 0);
+                    return ScanResult.invalid(files, lastSequence, previous, entries, segment, offset,
+                            "hash mismatch at sequence " + (lastSequence + 1), torn);
+                }
+                long sequence = AuditCodec.sequenceOf(payload);
+                if (sequence != lastSequence + 1) {
+                    return ScanResult.invalid(files, lastSequence, previous, entries, segment, offset,
+                            "expected sequence " + (lastSequence + 1) + " but found " + sequence, false);
+                }
+                visitor.visit(segment, offset, payload.duplicate(), hash);
+                previous = hash;
+                lastSequence = sequence;
+                entries++;
+                offset = end;
+            }
+            tailOffset = offset;
+        }
+        return new ScanResult(files.size(), lastSequence, previous, entries, files.size() - 1, tailOffset, null, false);
+    }
+
+    public record ScanResult(int segments, long lastSequence, byte[] lastHash, long entries,
+                             int stopSegment, int stopOffset, String problem, boolean tornTail) {
+
+        static ScanResult invalid(List<Path> files, long lastSequence, byte[] lastHash, long entries,
+                                  int segment, int offset, String problem, boolean tornTail) {
+            return new ScanResult(files.size(), lastSequence, lastHash, entries, segment, offset, problem, tornTail);
+        }
+
+        public boolean valid() {
+            return problem == null;
+        }
+    }
+
+    // The tail segment is always checked (its hashes tell a torn last entry); earlier ones only when verifying
+    private void recover(boolean verify) throws IOException {
+        List<Path> files = segmentFiles(directory);
+        int tailSegment = files.size() - 1;
+        ScanResult result = scan(files, verify ? 0 : Math.max(0, tailSegment), true, (segment, offset, payload, hash) -> {
+            if (segment == tailSegment) {
+                indexTail(AuditCodec.invoiceIdOf(payload), offset);
+            }
+        });
+        segments.addAll(files);
+
+        if (!result.valid() && !result.tornTail()) {
+            throw new IllegalStateException("Audit journal " + directory + " failed verification: "
+                    + result.problem());
+        }
+        if (segments.isEmpty()) {
+            lastSequence = 0;
+            createSegment(0, 1);
+            return;
+        }
+
+        lastSequence = result.lastSequence();
+        System.arraycopy(result.lastHash(), 0, lastHash, 0, HASH_SIZE);
+        int tail = segments.size() - 1;
+        // Index du segment en cours : il va changer. Ceux d'une rotation interrompue sont reconstruits
+        Files.deleteIfExists(indexFile(segments.get(tail)));
+        for (Path segment : segments.subList(0, tail)) {
+            if (!Files.exists(indexFile(segment))) {
+                rebuildIndex(segment);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(segments.get(tail),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Taille du fichier, pas la taille configuree : elle a pu changer depuis la creation du segment
+            current = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        writeOffset = result.stopOffset();
+        if (result.tornTail()) {
+            log.warn("Audit journal: discarding incomplete entry after sequence {} ({})",
+                    lastSequence, result.problem());
+            int end = Math.min(current.capacity(), writeOffset + ENTRY_OVERHEAD + AuditCodec.MAX_PAYLOAD_SIZE);
+            current.put(writeOffset, new byte[end - writeOffset]);
+            current.force();
+        }
+        flushedOffset = writeOffset;
+        log.info("Audit journal opened: {} segment(s), last sequence {}{}",
+                segments.size(), lastSequence, verify ? ", hash chain verified" : "");
+    }
+
+    private void rotate(long nextSequence) {
+        current.force();
+        writeIndex(segments.get(segments.size() - 1), tailInvoiceIds, tailOffsets, tailEntries);
+        createSegment(segments.size(), nextSequence);
+    }
+
+    private void indexTail(long invoiceId, int offset) {
+        if (tailEntries == tailOffsets.length) {
+            tailInvoiceIds = Arrays.copyOf(tailInvoiceIds, tailEntries * 2);
+            tailOffsets = Arrays.copyOf(tailOffsets, tailEntries * 2);
+        }
+        tailInvoiceIds[tailEntries] = invoiceId;
+        tailOffsets[tailEntries] = offset;
+        tailEntries++;
+    }
+
+    private static void rebuildIndex(Path segment) throws IOException {
+        List<long[]> entries = new ArrayList<>();
+        walk(map(segment), (invoiceId, offset) -> entries.add(new long[]{invoiceId, offset}));
+        long[] invoiceIds = new long[entries.size()];
+        int[] offsets = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            invoiceIds[i] = entries.get(i)[0];
+            offsets[i] = (int) entries.get(i)[1];
+        }
+        writeIndex(segment, invoiceIds, offsets, entries.size());
+    }
+
+    // A failed index write only costs lookups a walk of the segment; it is rebuilt at the next start
+    private static void writeIndex(Path segment, long[] invoiceIds, int[] offsets, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        // Tri stable : a identifiant egal, les entrees restent dans l'ordre des sequences
+        Arrays.sort(order, Comparator.comparingLong(i -> invoiceIds[i]));
+        ByteBuffer content = ByteBuffer.allocate(INDEX_HEADER_SIZE + count * INDEX_ENTRY_SIZE);
+        content.putInt(INDEX_MAGIC).putInt(count);
+        for (int i : order) {
+            content.putLong(invoiceIds[i]).putInt(offsets[i]);
+        }
+        content.flip();
+        Path index = indexFile(segment);
+        Path partial = index.resolveSibling(index.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            log.warn("Audit journal: could not write the index of {}: {}", segment.getFileName(), e.getMessage());
+            return;
+        }
+        try {
+            Files.move(partial, index, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Audit journal: could not write the index of {}: {}", segment.getFileName(), e.getMessage());
+        }
+    }
+
+    private static void readSegment(Path segment, long invoiceId, List<AuditRecord> history) throws IOException {
+        ByteBuffer data = map(segment);
+        Path indexPath = indexFile(segment);
+        ByteBuffer index = Files.exists(indexPath) ? map(indexPath) : null;
+        if (index == null || index.limit() < INDEX_HEADER_SIZE || index.getInt(0) != INDEX_MAGIC
+                || index.limit() != INDEX_HEADER_SIZE + index.getInt(4) * INDEX_ENTRY_SIZE) {
+            walk(data, (id, offset) -> {
+                if (id == invoiceId) {
+                    history.add(readEntry(data, offset, segment));
+                }
+            });
+            return;
+        }
+        // Premiere position dont l'identifiant est >= invoiceId
+        int low = 0;
+        int high = index.getInt(4);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (index.getLong(INDEX_HEADER_SIZE + middle * INDEX_ENTRY_SIZE) < invoiceId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < index.getInt(4); i++) {
+            int position = INDEX_HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+            if (index.getLong(position) != invoiceId) {
+                break;
+            }
+            history.add(readEntry(data, index.getInt(position + 8), segment));
+        }
+    }
+
+    // The previous hash sits right before the entry, or in the segment header for the first one
+    private static AuditRecord readEntry(ByteBuffer data, int offset, Path segment) {
+        int length = data.getInt(offset);
+        ByteBuffer payload = data.slice(offset + 4, length);
+        byte[] hash = new byte[HASH_SIZE];
+        data.get(offset + 4 + length, hash);
+        byte[] previous = new byte[HASH_SIZE];
+        data.get(offset == HEADER_SIZE ? PREV_HASH_OFFSET : offset - HASH_SIZE, previous);
+        if (!Arrays.equals(hash(sha256(), previous, payload.duplicate()), hash)) {
+            throw new IllegalStateException("Audit journal " + segment + ": entry at offset " + offset
+                    + " does not match its hash");
+        }
+        return AuditCodec.decode(payload, hash);
+    }
+
+    // Walks the entries of a segment without checking the chain, up to the first free or invalid slot
+    private static void walk(ByteBuffer data, EntryLocator locator) {
+        int offset = HEADER_SIZE;
+        while (offset + 4 <= data.limit()) {
+            int length = data.getInt(offset);
+            int end = offset + 4 + length + HASH_SIZE;
+            if (length <= 0 || length > AuditCodec.MAX_PAYLOAD_SIZE || end > data.limit()) {
+                return;
+            }
+            locator.accept(AuditCodec.invoiceIdOf(data.slice(offset + 4, length)), offset);
+            offset = end;
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static Path indexFile(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - ".seg".length()) + ".idx");
+    }
+
+    @FunctionalInterface
+    private interface EntryLocator {
+        void accept(long invoiceId, int offset);
+    }
+
+    @FunctionalInterface
+    private interface EntryVisitor {
+        void visit(int segment, int offset, ByteBuffer payload, byte[] hash);
+    }
+
+    private void createSegment(int number, long firstSequence) {
+        Path path = directory.resolve(String.format("audit-%06d.seg", number));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, firstSequence);
+            buffer.put(PREV_HASH_OFFSET, lastHash, 0, HASH_SIZE);
+            buffer.force(0, HEADER_SIZE);
+            current = buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.add(path);
+        writeOffset = HEADER_SIZE;
+        flushedOffset = HEADER_SIZE;
+        tailEntries = 0;
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            flushLock.lock();
+            try {
+                flushRequested.awaitNanos(flushIntervalNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                flushLock.unlock();
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Audit journal flush failed", e);
+            }
+        }
+    }
+
+    private void flush() {
+        MappedByteBuffer buffer;
+        int from;
+        int to;
+        long sequence;
+        synchronized (this) {
+            buffer = current;
+            from = flushedOffset;
+            to = writeOffset;
+            sequence = lastSequence;
+            flushedOffset = to;
+        }
+        if (sequence <= durableSequence) {
+            return;
+        }
+        // Hors du verrou d'ecriture : les appends continuent pendant le msync
+        if (to > from) {
+            buffer.force(from, to - from);
+        }
+        flushLock.lock();
+        try {
+            durableSequence = sequence;
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static String checkHeader(ByteBuffer buffer, long expectedFirstSequence, byte[] previousHash) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            return "not an audit segment";
+        }
+        if (buffer.getInt(4) != VERSION) {
+            return "unsupported version " + buffer.getInt(4);
+        }
+        if (buffer.getLong(8) != expectedFirstSequence) {
+            return "expected first sequence " + expectedFirstSequence + " but found " + buffer.getLong(8);
+        }
+        byte[] headerHash = new byte[HASH_SIZE];
+        buffer.get(PREV_HASH_OFFSET, headerHash);
+        return Arrays.equals(headerHash, previousHash) ? null : "previous segment hash does not match";
+    }
+
+    // Same JVM: tryLock throws instead of returning null
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().matches("audit-\\d{6}\\.seg"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static byte[] hash(MessageDigest digest, byte[] previous, ByteBuffer payload) {
+        digest.update(previous);
+        digest.update(payload);
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.techsolutions.billingservice.audit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line reader for the audit journal of one instance (a subdirectory of billing.audit.directory). Read-only,
+ * safe to run while the service is writing.
+ *
+ * <pre>
+ * java -cp billing-service.jar -Dloader.main=com.techsolutions.billingservice.audit.AuditJournalTool \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher verify /var/lib/billing/audit/&lt;instance&gt;
+ * ... dump /var/lib/billing/audit/&lt;instance&gt; [invoiceId]
+ * </pre>
+ *
+ * {@code verify} exits with status 1 when the hash chain is broken.
+ */
+public final class AuditJournalTool {
+
+    private AuditJournalTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !(args[0].equals("verify") || args[0].equals("dump"))) {
+            System.err.println("Usage: AuditJournalTool verify <directory> | dump <directory> [invoiceId]");
+            System.exit(2);
+        }
+        Path directory = Path.of(args[1]);
+        Long invoiceId = args.length > 2 ? Long.valueOf(args[2]) : null;
+
+        AuditJournal.ScanResult result = AuditJournal.scan(directory, true, record -> {
+            if (args[0].equals("dump") && (invoiceId == null || record.event().invoiceId() == invoiceId)) {
+                System.out.println(format(record));
+            }
+        });
+
+        System.err.printf("%d entries in %d segment(s), last sequence %d%n",
+                result.entries(), result.segments(), result.lastSequence());
+        if (result.valid()) {
+            System.err.println("Hash chain OK");
+        } else if (result.tornTail()) {
+            System.err.println("Hash chain OK, incomplete last entry (being written or interrupted): "
+                    + result.problem());
+        } else {
+            System.err.println("VERIFICATION FAILED: " + result.problem());
+            System.exit(1);
+        }
+    }
+
+    private static String format(AuditRecord record) {
+        AuditEvent event = record.event();
+        return String.join("\t",
+                String.valueOf(record.sequence()),
+                record.recordedAt().toString(),
+                event.type().name(),
+                "invoice=" + event.invoiceId(),
+                "client=" + event.clientId(),
+                "payment=" + (event.paymentId() == null ? "-" : event.paymentId()),
+                "amount=" + event.amount(),
+                "remaining=" + event.remainingBalance(),
+                "status=" + event.status(),
+                "method=" + event.paymentMethod(),
+                record.hashHex());
+    }
+}
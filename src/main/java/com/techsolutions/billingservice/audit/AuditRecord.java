@@ -0,0 +1,15 @@
+package com.techsolutions.billingservice.audit;
+
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Journal entry as read back: the event, its position in the chain and its SHA-256 (over the previous entry's
+ * hash followed by this entry's payload).
+ */
+public record AuditRecord(long sequence, Instant recordedAt, AuditEvent event, byte[] hash) {
+
+    public String hashHex() {
+        return HexFormat.of().formatHex(hash);
+    }
+}
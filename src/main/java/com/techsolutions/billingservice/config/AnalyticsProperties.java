@@ -0,0 +1,28 @@
+package com.techsolutions.billingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "billing.analytics")
+public class AnalyticsProperties {
+
+    // Rows per (day, payment method, status) bucket, spreads write contention on the current day
+    private int stripes = 8;
+
+    // Rebuild the rollups from invoices and payments at startup when a shard has none yet
+    private boolean backfillOnStartup = true;
+
+    // Widest range accepted by GET /api/analytics/revenue and by the backfill
+    private int maxRangeDays = 3660;
+
+    // How often the empty buckets of today and tomorrow are created ahead of the write path
+    private Duration bucketRefresh = Duration.ofHours(1);
+
+    // Keys accepted in X-Admin-Key by POST /api/admin/analytics/revenue/backfill; empty disables the endpoint
+    private Set<String> adminKeys = new HashSet<>();
+}
@@ -0,0 +1,114 @@
+package com.techsolutions.billingservice.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Spring AOT evaluates the {@code @ConditionalOnProperty} toggles once, at build time: with
+ * {@code -Dspring.aot.enabled=true} (and in a native image) the bean set is fixed and a different runtime value
+ * would be silently ignored. The values seen by the AOT build are recorded in {@link #RESOURCE}, and startup fails
+ * when the runtime environment disagrees, asking for a rebuild with the deploy-time values (see the Dockerfiles).
+ */
+public class AotBuildToggles implements BeanFactoryInitializationAotProcessor, EnvironmentPostProcessor, Ordered {
+
+    static final String RESOURCE = "META-INF/billing/aot-toggles.properties";
+
+    // Property -> value applied when missing (matchIfMissing); null when only the presence of the property matters
+    static final Map<String, String> TOGGLES = toggles();
+
+    private static Map<String, String> toggles() {
+        Map<String, String> toggles = new LinkedHashMap<>();
+        toggles.put("billing.sharding.enabled", "false");
+        toggles.put("billing.grpc.enabled", "true");
+        toggles.put("billing.dunning.enabled", "true");
+        toggles.put("billing.dunning.webhook-url", null);
+        toggles.put("billing.json.fast-path-enabled", "true");
+        toggles.put("billing.analytics.backfill-on-startup", "true");
+        return toggles;
+    }
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Properties buildTime = snapshot(beanFactory.getBean(Environment.class));
+        return (generationContext, code) -> {
+            StringWriter content = new StringWriter();
+            try {
+                buildTime.store(content, "Toggles evaluated by the AOT build");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            generationContext.getGeneratedFiles().addResourceFile(RESOURCE, content.toString());
+            generationContext.getRuntimeHints().resources().registerPattern(RESOURCE);
+        };
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        try (InputStream in = AotBuildToggles.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                return;
+            }
+            Properties buildTime = new Properties();
+            buildTime.load(in);
+            List<String> mismatches = mismatches(buildTime, environment);
+            if (!mismatches.isEmpty()) {
+                throw new IllegalStateException("These properties were fixed by the AOT build and cannot change at runtime: "
+                        + String.join(", ", mismatches) + ". Rebuild the image with the deploy-time values"
+                        + " (docker build --build-arg) or start without -Dspring.aot.enabled=true");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // After the config data processor, so application.properties and profiles are visible
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    static Properties snapshot(Environment environment) {
+        Properties values = new Properties();
+        TOGGLES.forEach((name, defaultValue) -> values.setProperty(name, effectiveValue(environment, name, defaultValue)));
+        return values;
+    }
+
+    static List<String> mismatches(Properties buildTime, Environment environment) {
+        List<String> mismatches = new ArrayList<>();
+        TOGGLES.forEach((name, defaultValue) -> {
+            String built = buildTime.getProperty(name);
+            String current = effectiveValue(environment, name, defaultValue);
+            if (built != null && !built.equalsIgnoreCase(current)) {
+                mismatches.add(name + " (build: " + built + ", runtime: " + current + ")");
+            }
+        });
+        return mismatches;
+    }
+
+    private static String effectiveValue(Environment environment, String name, String defaultValue) {
+        if (defaultValue == null) {
+            return environment.containsProperty(name) ? "set" : "unset";
+        }
+        return environment.getProperty(name, defaultValue).trim();
+    }
+}
@@ -0,0 +1,22 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.audit.AuditJournal;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    @Bean(destroyMethod = "close")
+    public AuditJournal auditJournal(AuditProperties properties) throws IOException {
+        return AuditJournal.open(Path.of(properties.getDirectory()).resolve(properties.getInstance()),
+                Math.toIntExact(properties.getSegmentSize().toBytes()),
+                properties.getFlushInterval(),
+                properties.isVerifyOnStartup());
+    }
+}
@@ -0,0 +1,29 @@
+package com.techsolutions.billingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "billing.audit")
+public class AuditProperties {
+
+    // Volume shared by the replicas in production: each one writes its own journal in a subdirectory
+    private String directory = "data/audit";
+
+    // Name of this instance's journal; two running instances cannot share one (the journal is locked)
+    private String instance = "local";
+
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // Group commit: entries appended during this interval are forced to disk together
+    private Duration flushInterval = Duration.ofMillis(10);
+
+    // How long a commit waits for its entries to reach the disk before rolling back
+    private Duration commitTimeout = Duration.ofSeconds(1);
+
+    // Recompute the whole hash chain at startup and refuse to start on a broken chain (otherwise tail segment only)
+    private boolean verifyOnStartup = false;
+}
@@ -0,0 +1,100 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.InvoiceLine;
+import com.techsolutions.billingservice.entities.InvoiceReminder;
+import com.techsolutions.billingservice.entities.Payment;
+import com.techsolutions.billingservice.entities.RevenueDailyRollup;
+import com.techsolutions.billingservice.enums.AuditEventType;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.enums.RevenueGrouping;
+import com.techsolutions.billingservice.exception.GlobalExceptionHandler;
+import com.techsolutions.billingservice.grpc.v1.InvoiceServiceProto;
+import com.techsolutions.billingservice.notification.ReminderNotification;
+import com.techsolutions.billingservice.resources.AuditEntryResponse;
+import com.techsolutions.billingservice.resources.InvoiceLineRequest;
+import com.techsolutions.billingservice.resources.InvoiceLineResponse;
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.PaymentResponse;
+import com.techsolutions.billingservice.resources.ShardAssignmentResponse;
+import com.techsolutions.billingservice.resources.ShardMoveResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reflection and resource hints for the AOT and native-image builds. Controller signatures are inferred by
+ * Spring AOT, but types serialized outside of them (webhook payloads, error bodies) and the shard schema script
+ * loaded at runtime must be declared here. Lombok builders are plain generated code and need no hints.
+ *
+ * <p>Generated protobuf messages and builders are accessed reflectively by their field accessor tables; they are
+ * listed from the file descriptor so that a new message cannot be forgotten. grpc-netty-shaded ships the netty
+ * configuration, except for the JCTools queue fields read through Unsafe offsets.
+ */
+public class BillingRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> JSON_TYPES = List.of(
+            InvoiceRequest.class,
+            InvoiceResponse.class,
+            InvoiceLineRequest.class,
+            InvoiceLineResponse.class,
+            PaymentRequest.class,
+            PaymentResponse.class,
+            TotalAmountResponse.class,
+            ShardAssignmentResponse.class,
+            ShardMoveResponse.class,
+            AuditEntryResponse.class,
+            ReminderNotification.class,
+            GlobalExceptionHandler.ErrorResponse.class);
+
+    static final List<Class<?>> ENTITY_TYPES = List.of(
+            Invoice.class,
+            InvoiceLine.class,
+            Payment.class,
+            InvoiceReminder.class,
+            RevenueDailyRollup.class,
+            AuditEventType.class,
+            InvoiceStatus.class,
+            PaymentMethod.class,
+            RevenueGrouping.class);
+
+    static final Map<String, String> GRPC_NETTY_FIELDS = Map.of(
+            "MpscArrayQueueProducerIndexField", "producerIndex",
+            "MpscArrayQueueConsumerIndexField", "consumerIndex",
+            "MpscArrayQueueProducerLimitField", "producerLimit",
+            "BaseMpscLinkedArrayQueueProducerFields", "producerIndex",
+            "BaseMpscLinkedArrayQueueConsumerFields", "consumerIndex",
+            "BaseMpscLinkedArrayQueueColdProducerFields", "producerLimit");
+
+    private static final String JCTOOLS_QUEUES = "io.grpc.netty.shaded.io.netty.util.internal.shaded.org.jctools.queues.";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES.toArray(Class[]::new));
+        ENTITY_TYPES.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        hints.resources().registerPattern("db/shard-schema.sql");
+        registerProtobufHints(hints);
+        GRPC_NETTY_FIELDS.forEach((type, field) ->
+                hints.reflection().registerType(TypeReference.of(JCTOOLS_QUEUES + type), hint -> hint.withField(field)));
+    }
+
+    private static void registerProtobufHints(RuntimeHints hints) {
+        String javaPackage = InvoiceServiceProto.getDescriptor().getOptions().getJavaPackage() + ".";
+        InvoiceServiceProto.getDescriptor().getMessageTypes().forEach(message -> {
+            hints.reflection().registerType(TypeReference.of(javaPackage + message.getName()), MemberCategory.values());
+            hints.reflection().registerType(TypeReference.of(javaPackage + message.getName() + "$Builder"),
+                    MemberCategory.values());
+        });
+        InvoiceServiceProto.getDescriptor().getEnumTypes().forEach(type ->
+                hints.reflection().registerType(TypeReference.of(javaPackage + type.getName()), MemberCategory.values()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.techsolutions.billingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "billing.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    // How long a caller waits on a query started by another request before giving up with a 503
+    private Duration maxWait = Duration.ofSeconds(5);
+}
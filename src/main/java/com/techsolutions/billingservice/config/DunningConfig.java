@@ -0,0 +1,39 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.notification.LoggingReminderSender;
+import com.techsolutions.billingservice.notification.ReminderSender;
+import com.techsolutions.billingservice.notification.WebhookReminderSender;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(DunningProperties.class)
+public class DunningConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "billing.dunning", name = "webhook-url")
+    public ReminderSender webhookReminderSender(RestClient.Builder restClientBuilder, DunningProperties properties) {
+        // Bounded so that a hung webhook cannot outlive the claim timeout of its batch
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+                .withConnectTimeout(properties.getWebhookConnectTimeout())
+                .withReadTimeout(properties.getWebhookReadTimeout());
+        return new WebhookReminderSender(restClientBuilder
+                .baseUrl(properties.getWebhookUrl())
+                .requestFactory(ClientHttpRequestFactories.get(settings))
+                .build());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ReminderSender.class)
+    public ReminderSender loggingReminderSender() {
+        return new LoggingReminderSender();
+    }
+}
@@ -0,0 +1,41 @@
+package com.techsolutions.billingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "billing.dunning")
+public class DunningProperties {
+
+    // Enables the periodic tick; reminders are still scheduled and cancelled when disabled
+    private boolean enabled = true;
+
+    // Escalation offsets from dateEmission, one reminder per offset
+    private List<Duration> offsets = List.of(Duration.ofDays(7), Duration.ofDays(14), Duration.ofDays(30));
+
+    private Duration tickInterval = Duration.ofMinutes(1);
+
+    private int batchSize = 100;
+
+    private int maxAttempts = 5;
+
+    // Delay before the first retry, doubled on each further failure
+    private Duration retryBackoff = Duration.ofMinutes(1);
+
+    // Claimed reminders are hidden from other ticks for this long while their batch is sent; must exceed the
+    // webhook timeout, a batch whose outcome was not recorded (crash) is sent again after it
+    private Duration claimTimeout = Duration.ofMinutes(5);
+
+    // Backfills reminders for PENDING invoices that have none at startup
+    private boolean backfillOnStartup = true;
+
+    // When set, reminders are POSTed to this URL instead of being logged
+    private String webhookUrl;
+
+    private Duration webhookConnectTimeout = Duration.ofSeconds(5);
+
+    private Duration webhookReadTimeout = Duration.ofSeconds(30);
+}
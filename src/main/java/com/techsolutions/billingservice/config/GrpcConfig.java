@@ -0,0 +1,42 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.grpc.AdmissionInterceptor;
+import com.techsolutions.billingservice.grpc.GrpcServerLifecycle;
+import com.techsolutions.billingservice.grpc.InvoiceGrpcService;
+import com.techsolutions.billingservice.grpc.InvoiceProtoMapper;
+import com.techsolutions.billingservice.ratelimit.AdmissionControl;
+import com.techsolutions.billingservice.service.InvoiceService;
+import io.grpc.ServerInterceptors;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(GrpcProperties.class)
+@ConditionalOnProperty(prefix = "billing.grpc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcConfig {
+
+    // Goes through the @Primary InvoiceService so gRPC calls get the same shard routing and coalescing as REST
+    @Bean
+    public InvoiceGrpcService invoiceGrpcService(InvoiceService invoiceService,
+                                                 Validator validator,
+                                                 GrpcProperties properties) {
+        return new InvoiceGrpcService(invoiceService, new InvoiceProtoMapper(), validator,
+                properties.getMaxBulkSize(), properties.getListPageSize());
+    }
+
+    // Same AdmissionControl bean as the REST interceptor: one global concurrency limit for both transports
+    @Bean
+    public GrpcServerLifecycle grpcServerLifecycle(InvoiceGrpcService invoiceGrpcService,
+                                                   AdmissionControl admissionControl,
+                                                   GrpcProperties properties) {
+        if (!admissionControl.isEnabled()) {
+            return new GrpcServerLifecycle(invoiceGrpcService.bindService(), properties);
+        }
+        return new GrpcServerLifecycle(
+                ServerInterceptors.intercept(invoiceGrpcService, new AdmissionInterceptor(admissionControl)),
+                properties);
+    }
+}
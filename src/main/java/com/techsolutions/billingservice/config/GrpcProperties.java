@@ -0,0 +1,35 @@
+package com.techsolutions.billingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "billing.grpc")
+public class GrpcProperties {
+
+    private boolean enabled = true;
+
+    // 0 picks a free port (tests, benchmarks)
+    private int port = 9090;
+
+    private DataSize maxInboundMessageSize = DataSize.ofMegabytes(4);
+
+    // In-flight calls get this long to finish when the application stops
+    private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+
+    // Upper bound on the number of invoices accepted by one BulkCreateInvoices stream
+    private int maxBulkSize = 1000;
+
+    // Invoices read from the database per round trip by ListClientInvoices
+    private int listPageSize = 100;
+
+    // Threads running the service methods; calls beyond the queue get RESOURCE_EXHAUSTED instead of piling up
+    private int executorThreads = 16;
+
+    private int executorQueueCapacity = 1000;
+
+    private int maxConcurrentCallsPerConnection = 100;
+}
@@ -0,0 +1,30 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.service.InvoiceService;
+import com.techsolutions.billingservice.service.impl.CoalescingInvoiceService;
+import com.techsolutions.billingservice.service.impl.InvoiceServiceImpl;
+import com.techsolutions.billingservice.service.impl.ShardRoutingInvoiceService;
+import com.techsolutions.billingservice.sharding.ShardRouter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class InvoiceServiceConfig {
+
+    // Decorators sit outside the transactional proxy: the shard must be bound before a connection is taken,
+    // and callers waiting on a coalesced read must not hold one
+    @Bean
+    @Primary
+    public InvoiceService invoiceService(InvoiceServiceImpl invoiceServiceImpl,
+                                         ShardRouter shardRouter,
+                                         CoalescingProperties coalescingProperties) {
+        InvoiceService service = new ShardRoutingInvoiceService(invoiceServiceImpl, shardRouter);
+        if (coalescingProperties.isEnabled()) {
+            service = new CoalescingInvoiceService(service, coalescingProperties.getMaxWait());
+        }
+        return service;
+    }
+}
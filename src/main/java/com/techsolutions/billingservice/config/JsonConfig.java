@@ -0,0 +1,20 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.json.InvoiceJsonHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "billing.json", name = "fast-path-enabled", havingValue = "true", matchIfMissing = true)
+public class JsonConfig implements WebMvcConfigurer {
+
+    // Ahead of the Jackson converter so invoice responses never reach the ObjectMapper
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new InvoiceJsonHttpMessageConverter());
+    }
+}
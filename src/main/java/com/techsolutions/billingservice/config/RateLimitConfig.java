@@ -0,0 +1,53 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.ratelimit.AdmissionControl;
+import com.techsolutions.billingservice.ratelimit.ConcurrencyLimiter;
+import com.techsolutions.billingservice.ratelimit.RateLimitInterceptor;
+import com.techsolutions.billingservice.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimitProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter() {
+        return new TokenBucketRateLimiter(properties.getMaxTrackedKeys());
+    }
+
+    // Shared by REST and gRPC so that the global concurrency limit covers both transports
+    @Bean
+    public AdmissionControl admissionControl() {
+        return new AdmissionControl(
+                properties,
+                tokenBucketRateLimiter(),
+                new ConcurrencyLimiter(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Scheduled(fixedDelayString = "${billing.rate-limit.sweep-interval:PT10S}")
+    public void evictIdleBuckets() {
+        tokenBucketRateLimiter().evictIdle();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        registry.addInterceptor(new RateLimitInterceptor(admissionControl())).addPathPatterns("/api/**");
+    }
+}
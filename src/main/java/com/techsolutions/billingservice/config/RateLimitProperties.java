@@ -0,0 +1,102 @@
+package com.techsolutions.billingservice.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "billing.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Header carrying the caller's API key
+    private String apiKeyHeader = "X-API-Key";
+
+    // Known API keys: only these get a bucket of their own, any other value is limited per remote address
+    private Set<String> apiKeys = new HashSet<>();
+
+    // Upper bound on tracked buckets; beyond it new keys share one bucket until the next sweep
+    @Positive
+    private int maxTrackedKeys = 100_000;
+
+    // Idle buckets are dropped by a background sweep, never on the request thread
+    @NotNull
+    private Duration sweepInterval = Duration.ofSeconds(10);
+
+    // In-flight requests across all endpoints, REST and gRPC together; must stay below the Hikari pool size
+    @Positive
+    private int maxConcurrent = 8;
+
+    // Streaming gRPC calls, counted apart from maxConcurrent so that long streams cannot starve unary calls;
+    // maxConcurrent + maxConcurrentStreams must stay below the Hikari pool size
+    @Positive
+    private int maxConcurrentStreams = 2;
+
+    // gRPC peers in these networks (CIDR) are other services: keyed by serviceHeader rather than by address, so
+    // services behind one pod IP get a bucket each, and limited by 'internal' (only its rate is used)
+    private List<String> internalNetworks = new ArrayList<>();
+
+    private String serviceHeader = "X-Service-Name";
+
+    @Valid
+    private Limit internal = new Limit(500, 1000, 6);
+
+    @Valid
+    private Limit defaults = new Limit();
+
+    // Per-endpoint overrides keyed by Controller#method (gRPC: service/method), unset fields come from defaults
+    private Map<String, @Valid LimitOverride> endpoints = new HashMap<>();
+
+    public Limit limitFor(String endpoint) {
+        LimitOverride override = endpoints.get(endpoint);
+        return override == null ? defaults : override.applyTo(defaults);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        // Au plus un jeton toutes les 1000 s : l'intervalle en nanosecondes et la tolerance ne debordent pas
+        @DecimalMin("0.001")
+        private double permitsPerSecond = 50;
+        @Positive
+        private int burst = 100;
+        // Per-endpoint share of the global limit, so that one slow endpoint cannot take every permit
+        @Positive
+        private int maxConcurrent = 6;
+    }
+
+    @Data
+    public static class LimitOverride {
+        @DecimalMin("0.001")
+        private Double permitsPerSecond;
+        @Positive
+        private Integer burst;
+        @Positive
+        private Integer maxConcurrent;
+
+        Limit applyTo(Limit defaults) {
+            Limit limit = new Limit();
+            limit.setPermitsPerSecond(permitsPerSecond != null ? permitsPerSecond : defaults.getPermitsPerSecond());
+            limit.setBurst(burst != null ? burst : defaults.getBurst());
+            limit.setMaxConcurrent(maxConcurrent != null ? maxConcurrent : defaults.getMaxConcurrent());
+            return limit;
+        }
+    }
+}
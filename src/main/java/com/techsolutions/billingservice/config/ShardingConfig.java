@@ -0,0 +1,128 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.sharding.ShardDataSources;
+import com.techsolutions.billingservice.sharding.ShardIds;
+import com.techsolutions.billingservice.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "billing.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public ShardDataSources singleShardDataSources(DataSource dataSource) {
+        return new ShardDataSources(List.of(dataSource), false);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "billing.sharding", name = "enabled", havingValue = "true")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.isEmpty() || shards.size() > ShardIds.MAX_SHARDS) {
+            throw new IllegalStateException("billing.sharding.shards must define between 1 and "
+                    + ShardIds.MAX_SHARDS + " shards");
+        }
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            DataSource dataSource = createShard(shard, shards.get(shard));
+            new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql")).execute(dataSource);
+            dataSources.add(dataSource);
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            seedIdentities(shard, dataSources);
+        }
+        return new ShardDataSources(dataSources, true);
+    }
+
+    // Lazy proxy: the physical connection is only fetched on the first statement, once the shard is bound
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "billing.sharding", name = "enabled", havingValue = "true")
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardDataSources.count(); shard++) {
+            targets.put(shard, shardDataSources.get(shard));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shardDataSources.get(0));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private DataSource createShard(int shard, ShardingProperties.Shard config) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(config.getUrl())
+                .username(config.getUsername())
+                .password(config.getPassword())
+                .build();
+        dataSource.setPoolName("billing-shard-" + shard);
+        dataSource.setMaximumPoolSize(config.getMaximumPoolSize());
+        return dataSource;
+    }
+
+    /**
+     * Moves each identity into the shard's id range. The identity never goes backwards: ids of the range that were
+     * moved to other shards by the rebalancer keep their value there and must not be allocated again, so the seed
+     * is the highest id of the range found on any shard, and ids that no longer exist anywhere (deleted reminders,
+     * rolled back inserts) stay behind the current value of the identity.
+     */
+    private void seedIdentities(int shard, List<DataSource> dataSources) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSources.get(shard));
+        long first = ShardIds.firstId(shard);
+        long last = ShardIds.firstId(shard + 1) - 1;
+        for (String table : ShardIds.SHARDED_TABLES) {
+            long seed = first;
+            for (DataSource dataSource : dataSources) {
+                Long maxId = new JdbcTemplate(dataSource).queryForObject(
+                        "select coalesce(max(id), 0) from " + table + " where id between ? and ?", Long.class, first, last);
+                if (maxId != null && maxId >= seed) {
+                    seed = maxId + 1;
+                }
+            }
+            if (nextIdentity(jdbcTemplate, table) < seed) {
+                jdbcTemplate.execute("alter table " + table + " alter column id restart with " + seed);
+            }
+        }
+    }
+
+    private long nextIdentity(JdbcTemplate jdbcTemplate, String table) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        Long next;
+        if ("H2".equals(product)) {
+            next = jdbcTemplate.queryForObject("select identity_base from information_schema.columns"
+                    + " where table_schema = current_schema and table_name = upper(?) and column_name = 'ID'",
+                    Long.class, table);
+        } else if ("PostgreSQL".equals(product)) {
+            String sequence = jdbcTemplate.queryForObject("select pg_get_serial_sequence(?, 'id')", String.class, table);
+            next = jdbcTemplate.queryForObject(
+                    "select case when is_called then last_value + 1 else last_value end from " + sequence, Long.class);
+        } else {
+            throw new IllegalStateException("Sharding supports H2 and PostgreSQL only, found " + product);
+        }
+        if (next == null) {
+            throw new IllegalStateException("No identity found on " + table + ".id");
+        }
+        return next;
+    }
+}
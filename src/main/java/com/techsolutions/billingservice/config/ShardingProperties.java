@@ -0,0 +1,42 @@
+package com.techsolutions.billingservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "billing.sharding")
+public class ShardingProperties {
+
+    // When disabled the regular spring.datasource is used as the only shard (shard 0)
+    private boolean enabled = false;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    // Points per shard on the consistent-hash ring
+    private int virtualNodes = 128;
+
+    // Static client -> shard pins, take precedence over the ring (moves done by the rebalancer are stored in the database)
+    private Map<Long, Integer> clients = new HashMap<>();
+
+    // How often each instance reloads the client directory written by the rebalancer
+    private Duration directoryRefresh = Duration.ofSeconds(30);
+
+    // Keys accepted in X-Admin-Key by POST /api/admin/shards/clients/{clientId}/move; empty disables the endpoint
+    private Set<String> adminKeys = new HashSet<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
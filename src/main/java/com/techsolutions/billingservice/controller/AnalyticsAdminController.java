@@ -0,0 +1,41 @@
+package com.techsolutions.billingservice.controller;
+
+import com.techsolutions.billingservice.config.AnalyticsProperties;
+import com.techsolutions.billingservice.resources.RevenueBackfillResponse;
+import com.techsolutions.billingservice.service.RevenueAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics Administration", description = "Maintenance of the revenue rollups")
+public class AnalyticsAdminController {
+
+    private final RevenueAnalyticsService revenueAnalyticsService;
+    private final AnalyticsProperties analyticsProperties;
+
+    @PostMapping("/revenue/backfill")
+    @Operation(summary = "Rebuild the revenue buckets of a date range from invoices and payments")
+    public ResponseEntity<RevenueBackfillResponse> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = "X-Admin-Key", required = false) String adminKey) {
+        // Operateurs uniquement : sans cle configuree l'endpoint est ferme
+        if (adminKey == null || !analyticsProperties.getAdminKeys().contains(adminKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(RevenueBackfillResponse.builder()
+                .from(from)
+                .to(to)
+                .buckets(revenueAnalyticsService.backfill(from, to))
+                .build());
+    }
+}
@@ -0,0 +1,31 @@
+package com.techsolutions.billingservice.controller;
+
+import com.techsolutions.billingservice.enums.RevenueGrouping;
+import com.techsolutions.billingservice.resources.RevenueReportResponse;
+import com.techsolutions.billingservice.service.RevenueAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Revenue Analytics", description = "Billed vs. collected revenue from pre-aggregated daily buckets")
+public class AnalyticsController {
+
+    private final RevenueAnalyticsService revenueAnalyticsService;
+
+    @GetMapping("/revenue")
+    @Operation(summary = "Billed and collected revenue by period, payment method and status")
+    public ResponseEntity<RevenueReportResponse> getRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") RevenueGrouping groupBy) {
+        return ResponseEntity.ok(revenueAnalyticsService.getRevenue(from, to, groupBy));
+    }
+}
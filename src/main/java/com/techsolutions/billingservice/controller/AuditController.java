@@ -0,0 +1,30 @@
+package com.techsolutions.billingservice.controller;
+
+import com.techsolutions.billingservice.resources.AuditEntryResponse;
+import com.techsolutions.billingservice.service.AuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Audit", description = "Tamper-evident history of invoice mutations")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @GetMapping("/invoices/{id}/audit")
+    @Operation(summary = "Get the audit trail of an invoice, from the journals of all instances")
+    public ResponseEntity<List<AuditEntryResponse>> getAuditTrail(@PathVariable Long id) {
+        // 404 pour une facture inconnue, liste vide pour une facture anterieure a l'audit
+        return ResponseEntity.ok(auditService.getHistory(id));
+    }
+}
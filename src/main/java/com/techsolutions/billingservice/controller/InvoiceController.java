@@ -2,6 +2,8 @@ package com.techsolutions.billingservice.controller;
 
 import com.techsolutions.billingservice.resources.InvoiceRequest;
 import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.PaymentResponse;
 import com.techsolutions.billingservice.resources.TotalAmountResponse;
 import com.techsolutions.billingservice.service.InvoiceService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -36,7 +38,12 @@ public class InvoiceController {
 
     @GetMapping("/clients/{clientId}/invoices")
     @Operation(summary = "List all invoices for a specific client")
-    public ResponseEntity<List<InvoiceResponse>> getInvoicesByClient(@PathVariable Long clientId) {
+    public ResponseEntity<List<InvoiceResponse>> getInvoicesByClient(
+            @PathVariable Long clientId,
+            @RequestParam(defaultValue = "false") boolean includePayments) {
+        if (includePayments) {
+            return ResponseEntity.ok(invoiceService.getInvoicesWithPaymentsByClient(clientId));
+        }
         return ResponseEntity.ok(invoiceService.getInvoicesByClient(clientId));
     }
 
@@ -46,6 +53,19 @@ public class InvoiceController {
         return ResponseEntity.ok(invoiceService.payInvoice(id));
     }
 
+    @PostMapping("/invoices/{id}/payments")
+    @Operation(summary = "Record a (partial) payment against an invoice")
+    public ResponseEntity<InvoiceResponse> addPayment(@PathVariable Long id,
+                                                      @Valid @RequestBody PaymentRequest paymentRequestDTO) {
+        return new ResponseEntity<>(invoiceService.addPayment(id, paymentRequestDTO), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/invoices/{id}/payments")
+    @Operation(summary = "List payments recorded for an invoice")
+    public ResponseEntity<List<PaymentResponse>> getPayments(@PathVariable Long id) {
+        return ResponseEntity.ok(invoiceService.getPayments(id));
+    }
+
     @GetMapping("/clients/{clientId}/total")
     @Operation(summary = "Calculate total amount billed to a client")
     public ResponseEntity<TotalAmountResponse> getTotalAmountByClient(@PathVariable Long clientId) {
@@ -0,0 +1,45 @@
+package com.techsolutions.billingservice.controller;
+
+import com.techsolutions.billingservice.config.ShardingProperties;
+import com.techsolutions.billingservice.resources.ShardAssignmentResponse;
+import com.techsolutions.billingservice.resources.ShardMoveResponse;
+import com.techsolutions.billingservice.sharding.ShardRebalancer;
+import com.techsolutions.billingservice.sharding.ShardRouter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+@RequiredArgsConstructor
+@Tag(name = "Shard Administration", description = "Client placement and online rebalancing")
+public class ShardAdminController {
+
+    private final ShardRouter shardRouter;
+    private final ShardRebalancer shardRebalancer;
+    private final ShardingProperties shardingProperties;
+
+    @GetMapping("/clients/{clientId}")
+    @Operation(summary = "Get the shard currently owning a client")
+    public ResponseEntity<ShardAssignmentResponse> getAssignment(@PathVariable Long clientId) {
+        return ResponseEntity.ok(ShardAssignmentResponse.builder()
+                .clientId(clientId)
+                .shard(shardRouter.shardForClient(clientId))
+                .shardCount(shardRouter.shardCount())
+                .build());
+    }
+
+    @PostMapping("/clients/{clientId}/move")
+    @Operation(summary = "Move a client and its invoices to another shard (run again to sweep late writes)")
+    public ResponseEntity<ShardMoveResponse> moveClient(@PathVariable Long clientId, @RequestParam int targetShard,
+                                                        @RequestHeader(value = "X-Admin-Key", required = false) String adminKey) {
+        // Operateurs uniquement : sans cle configuree l'endpoint est ferme
+        if (adminKey == null || !shardingProperties.getAdminKeys().contains(adminKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(shardRebalancer.moveClient(clientId, targetShard));
+    }
+}
@@ -5,12 +5,17 @@ import com.techsolutions.billingservice.enums.PaymentMethod;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "invoices")
@@ -33,6 +38,10 @@ public class Invoice {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal amount;
 
+    // Denormalise : mis a jour a chaque paiement pour que les listes et totaux n'aient pas a sommer les paiements
+    @Column(precision = 10, scale = 2)
+    private BigDecimal remainingBalance;
+
     @NotBlank(message = "Description is required")
     @Size(max = 500, message = "Description must not exceed 500 characters")
     @Column(nullable = false, length = 500)
@@ -51,4 +60,37 @@ public class Invoice {
     @Column(length = 20)
     private PaymentMethod paymentMethod;
 
+    // Renseignes uniquement pour les factures detaillees en lignes (amount = total TTC des lignes)
+    @Column(precision = 10, scale = 2)
+    private BigDecimal discountAmount;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal taxAmount;
+
+    // Inserees par lots JDBC (hibernate.jdbc.batch_size) ; lues par lots de 50 factures ou par fetch join (getInvoice)
+    @ElementCollection
+    @CollectionTable(name = "invoice_lines", joinColumns = @JoinColumn(name = "invoice_id"))
+    @OrderColumn(name = "line_number")
+    @BatchSize(size = 50)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    private List<InvoiceLine> lines = new ArrayList<>();
+
+    @OneToMany(mappedBy = "invoice")
+    @OrderBy("paidAt")
+    @BatchSize(size = 50)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    private List<Payment> payments = new ArrayList<>();
+
+    // Rows created before remainingBalance existed have it null
+    public BigDecimal outstandingBalance() {
+        if (remainingBalance != null) {
+            return remainingBalance;
+        }
+        return status == InvoiceStatus.PAID ? BigDecimal.ZERO : amount;
+    }
+
 }
@@ -0,0 +1,45 @@
+package com.techsolutions.billingservice.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Ligne de facture : valeur immuable de la facture, sans identifiant propre (cle = invoice_id + line_number)
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceLine {
+
+    @Column(nullable = false, length = 255)
+    private String description;
+
+    @Column(nullable = false, precision = 12, scale = 3)
+    private BigDecimal quantity;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+
+    // Pourcentages (19.60 = 19,6 %)
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal discountRate;
+
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal taxRate;
+
+    // Montants calcules par le TaxEngine a la creation, stockes pour ne pas recalculer a la lecture
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountAmount;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal taxAmount;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal lineTotal;
+}
@@ -0,0 +1,42 @@
+package com.techsolutions.billingservice.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Next dunning action for a PENDING invoice. Rows are ordered by {@code nextActionAt} so that each tick only
+ * reads the due range of the index instead of scanning the invoices table.
+ */
+@Entity
+@Table(name = "invoice_reminders", indexes = {
+        @Index(name = "idx_invoice_reminders_next_action_at", columnList = "next_action_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long invoiceId;
+
+    @Column(nullable = false)
+    private LocalDateTime nextActionAt;
+
+    // Index into the configured reminder offsets
+    @Column(nullable = false)
+    private int stage;
+
+    // Failed delivery attempts for the current stage
+    @Column(nullable = false)
+    private int attempts;
+}
@@ -0,0 +1,61 @@
+package com.techsolutions.billingservice.entities;
+
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated revenue for one day, payment method and invoice status. Billed figures are bucketed by
+ * dateEmission, collected figures by payment date; both follow the invoice's current status, so a settled
+ * invoice moves its amounts from the PENDING to the PAID bucket. Values are deltas summed at read time:
+ * each key is split over a few stripes so concurrent transactions do not all queue on the same row.
+ */
+@Entity
+@Table(name = "revenue_daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_daily_rollups_bucket",
+                columnNames = {"bucketDate", "paymentMethod", "status", "stripe"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueDailyRollup {
+
+    // Stored instead of NULL so the unique key also covers invoices without payment method
+    public static final String NO_PAYMENT_METHOD = "NONE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false, length = 20)
+    private String paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private InvoiceStatus status;
+
+    @Column(nullable = false)
+    private int stripe;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal billedAmount;
+
+    @Column(nullable = false)
+    private long billedCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal collectedAmount;
+
+    @Column(nullable = false)
+    private long collectedCount;
+}
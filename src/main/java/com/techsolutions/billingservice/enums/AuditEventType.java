@@ -0,0 +1,6 @@
+package com.techsolutions.billingservice.enums;
+
+// Stored by ordinal in the audit journal: only append new constants
+public enum AuditEventType {
+    INVOICE_CREATED, PAYMENT_RECORDED, ROLLED_BACK
+}
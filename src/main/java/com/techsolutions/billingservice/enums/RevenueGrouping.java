@@ -0,0 +1,5 @@
+package com.techsolutions.billingservice.enums;
+
+public enum RevenueGrouping {
+    DAY, WEEK, MONTH
+}
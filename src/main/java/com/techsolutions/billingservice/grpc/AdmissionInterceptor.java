@@ -0,0 +1,139 @@
+package com.techsolutions.billingservice.grpc;
+
+import com.techsolutions.billingservice.exception.RateLimitExceededException;
+import com.techsolutions.billingservice.exception.ServiceOverloadedException;
+import com.techsolutions.billingservice.ratelimit.AdmissionControl;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * gRPC counterpart of the REST RateLimitInterceptor, keyed on the full method name: an empty bucket closes the
+ * call with RESOURCE_EXHAUSTED (429) and a retry-after trailer, a concurrency limit with UNAVAILABLE (503). The
+ * permits are held until the call is closed or cancelled, so a slow streaming reader counts as in flight; streams
+ * take their global permit from the streams pool (billing.rate-limit.max-concurrent-streams).
+ *
+ * <p>Peers on billing.rate-limit.internal-networks are other services: they are keyed by the service header
+ * (X-Service-Name) and limited by billing.rate-limit.internal, so services behind one pod IP get a bucket each.
+ */
+public class AdmissionInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> RETRY_AFTER = Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final AdmissionControl admissionControl;
+    private final Metadata.Key<String> apiKeyHeader;
+    private final Metadata.Key<String> serviceHeader;
+
+    public AdmissionInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+        this.apiKeyHeader = Metadata.Key.of(admissionControl.apiKeyHeader(), Metadata.ASCII_STRING_MARSHALLER);
+        this.serviceHeader = Metadata.Key.of(admissionControl.serviceHeader(), Metadata.ASCII_STRING_MARSHALLER);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String endpoint = call.getMethodDescriptor().getFullMethodName();
+        boolean stream = call.getMethodDescriptor().getType() != MethodDescriptor.MethodType.UNARY;
+        try {
+            checkRate(endpoint, call, headers);
+            if (stream) {
+                admissionControl.acquireStream(endpoint);
+            } else {
+                admissionControl.acquire(endpoint);
+            }
+        } catch (RateLimitExceededException e) {
+            Metadata trailers = new Metadata();
+            trailers.put(RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage()), trailers);
+            return new ServerCall.Listener<>() {
+            };
+        } catch (ServiceOverloadedException e) {
+            Metadata trailers = new Metadata();
+            trailers.put(RETRY_AFTER, "1");
+            call.close(Status.UNAVAILABLE.withDescription(e.getMessage()), trailers);
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        // close() and onCancel() can both happen for the same call: the permits are released once
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (stream) {
+                admissionControl.releaseStream(endpoint);
+            } else {
+                admissionControl.release(endpoint);
+            }
+        };
+        ServerCall<ReqT, RespT> releasingCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            // Released before the status is sent: a client that sees the call complete can start the next one
+            @Override
+            public void close(Status status, Metadata trailers) {
+                release.run();
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(releasingCall, headers);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    release.run();
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    release.run();
+                }
+            }
+        };
+    }
+
+    // A known API key first, then the service name of an internal peer, otherwise the remote host (the port
+    // changes with every connection)
+    private void checkRate(String endpoint, ServerCall<?, ?> call, Metadata headers) {
+        String apiKey = headers.get(apiKeyHeader);
+        if (admissionControl.isKnownApiKey(apiKey)) {
+            admissionControl.checkRate(endpoint, "key:" + apiKey);
+            return;
+        }
+        SocketAddress remote = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+        if (!(remote instanceof InetSocketAddress address)) {
+            admissionControl.checkRate(endpoint, "ip:" + remote);
+            return;
+        }
+        if (admissionControl.isInternal(address.getAddress())) {
+            String service = headers.get(serviceHeader);
+            admissionControl.checkInternalRate(endpoint,
+                    service != null ? "service:" + service : "ip:" + address.getHostString());
+            return;
+        }
+        admissionControl.checkRate(endpoint, "ip:" + address.getHostString());
+    }
+}
@@ -0,0 +1,87 @@
+package com.techsolutions.billingservice.grpc;
+
+import com.techsolutions.billingservice.config.GrpcProperties;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server next to the servlet container: started once the context is refreshed and stopped,
+ * with a grace period for in-flight calls, before the InvoiceService beans are destroyed. Service methods run
+ * on a fixed pool with a bounded queue rather than grpc-java's default unbounded cached pool; calls that do not fit
+ * in the queue get RESOURCE_EXHAUSTED (see {@link SheddingExecutor}).
+ */
+@Slf4j
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final ServerServiceDefinition service;
+    private final GrpcProperties properties;
+    private volatile Server server;
+    private volatile ThreadPoolExecutor executor;
+
+    public GrpcServerLifecycle(ServerServiceDefinition service, GrpcProperties properties) {
+        this.service = service;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        executor = new ThreadPoolExecutor(properties.getExecutorThreads(), properties.getExecutorThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getExecutorQueueCapacity()),
+                new CustomizableThreadFactory("grpc-"));
+        try {
+            server = NettyServerBuilder.forPort(properties.getPort())
+                    .addService(ServerInterceptors.intercept(service, new SheddingInterceptor()))
+                    .executor(new SheddingExecutor(executor))
+                    .maxConcurrentCallsPerConnection(properties.getMaxConcurrentCallsPerConnection())
+                    .maxInboundMessageSize(Math.toIntExact(properties.getMaxInboundMessageSize().toBytes()))
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Could not start the gRPC server on port " + properties.getPort(), e);
+        }
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(properties.getShutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.shutdownNow();
+        }
+        // Le serveur est arrete : plus aucune tache ne peut etre soumise
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // Bound port, useful when billing.grpc.port=0
+    public int getPort() {
+        Server running = server;
+        return running == null ? -1 : running.getPort();
+    }
+}
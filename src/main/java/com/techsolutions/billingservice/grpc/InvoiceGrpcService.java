@@ -0,0 +1,263 @@
+package com.techsolutions.billingservice.grpc;
+
+import com.techsolutions.billingservice.exception.InvalidInvoiceOperationException;
+import com.techsolutions.billingservice.exception.InvoiceNotFoundException;
+import com.techsolutions.billingservice.exception.RateLimitExceededException;
+import com.techsolutions.billingservice.exception.ServiceOverloadedException;
+import com.techsolutions.billingservice.grpc.v1.AddPaymentRequest;
+import com.techsolutions.billingservice.grpc.v1.BulkCreateError;
+import com.techsolutions.billingservice.grpc.v1.BulkCreateInvoicesResponse;
+import com.techsolutions.billingservice.grpc.v1.ClientTotal;
+import com.techsolutions.billingservice.grpc.v1.CreateInvoiceRequest;
+import com.techsolutions.billingservice.grpc.v1.GetClientTotalRequest;
+import com.techsolutions.billingservice.grpc.v1.GetInvoiceRequest;
+import com.techsolutions.billingservice.grpc.v1.Invoice;
+import com.techsolutions.billingservice.grpc.v1.InvoiceServiceGrpc;
+import com.techsolutions.billingservice.grpc.v1.ListClientInvoicesRequest;
+import com.techsolutions.billingservice.grpc.v1.ListPaymentsRequest;
+import com.techsolutions.billingservice.grpc.v1.ListPaymentsResponse;
+import com.techsolutions.billingservice.grpc.v1.PayInvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.service.InvoiceService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC transport for {@link InvoiceService}. Validation and error semantics follow the REST controller:
+ * invalid input is INVALID_ARGUMENT (400), unknown invoice NOT_FOUND (404), an operation refused by the
+ * invoice state FAILED_PRECONDITION (400), a rate limit RESOURCE_EXHAUSTED (429) and an overload or a coalesced
+ * read that timed out UNAVAILABLE (503).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InvoiceGrpcService extends InvoiceServiceGrpc.InvoiceServiceImplBase {
+
+    private final InvoiceService invoiceService;
+    private final InvoiceProtoMapper mapper;
+    private final Validator validator;
+    private final int maxBulkSize;
+    private final int listPageSize;
+
+    @Override
+    public void createInvoice(CreateInvoiceRequest request, StreamObserver<Invoice> responseObserver) {
+        unary(responseObserver, () -> mapper.toProto(invoiceService.createInvoice(validInvoiceRequest(request))));
+    }
+
+    @Override
+    public void getInvoice(GetInvoiceRequest request, StreamObserver<Invoice> responseObserver) {
+        unary(responseObserver, () -> mapper.toProto(invoiceService.getInvoice(request.getId())));
+    }
+
+    @Override
+    public void listClientInvoices(ListClientInvoicesRequest request, StreamObserver<Invoice> responseObserver) {
+        new ClientInvoicesStream(request, (ServerCallStreamObserver<Invoice>) responseObserver).start();
+    }
+
+    @Override
+    public void payInvoice(PayInvoiceRequest request, StreamObserver<Invoice> responseObserver) {
+        unary(responseObserver, () -> mapper.toProto(invoiceService.payInvoice(request.getId())));
+    }
+
+    @Override
+    public void addPayment(AddPaymentRequest request, StreamObserver<Invoice> responseObserver) {
+        unary(responseObserver, () -> {
+            PaymentRequest payment = validate(mapper.toPaymentRequest(request));
+            return mapper.toProto(invoiceService.addPayment(request.getInvoiceId(), payment));
+        });
+    }
+
+    @Override
+    public void listPayments(ListPaymentsRequest request, StreamObserver<ListPaymentsResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            ListPaymentsResponse.Builder response = ListPaymentsResponse.newBuilder();
+            invoiceService.getPayments(request.getInvoiceId())
+                    .forEach(payment -> response.addPayments(mapper.toProto(payment)));
+            return response.build();
+        });
+    }
+
+    @Override
+    public void getClientTotal(GetClientTotalRequest request, StreamObserver<ClientTotal> responseObserver) {
+        unary(responseObserver, () -> mapper.toProto(invoiceService.getTotalAmountByClient(request.getClientId())));
+    }
+
+    @Override
+    public StreamObserver<CreateInvoiceRequest> bulkCreateInvoices(
+            StreamObserver<BulkCreateInvoicesResponse> responseObserver) {
+        return new BulkCreateObserver(responseObserver);
+    }
+
+    private InvoiceRequest validInvoiceRequest(CreateInvoiceRequest request) {
+        return validate(mapper.toInvoiceRequest(request));
+    }
+
+    private <T> T validate(T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String description = violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", "));
+            throw Status.INVALID_ARGUMENT.withDescription(description).asRuntimeException();
+        }
+        return request;
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    static StatusRuntimeException toStatus(RuntimeException e) {
+        if (e instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        if (e instanceof InvoiceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof InvalidInvoiceOperationException) {
+            return Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof RateLimitExceededException) {
+            return Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof ServiceOverloadedException) {
+            return Status.UNAVAILABLE.withDescription(e.getMessage()).asRuntimeException();
+        }
+        log.error("gRPC call failed", e);
+        return Status.INTERNAL.withDescription("An unexpected error occurred").asRuntimeException();
+    }
+
+    // Pages are only read from the database while the transport can take messages: a slow reader holds at most
+    // one page of invoices in memory, whatever the size of the client's history. Callbacks of a call are serialized.
+    private class ClientInvoicesStream {
+
+        private final long clientId;
+        private final boolean includePayments;
+        private final ServerCallStreamObserver<Invoice> call;
+        private Iterator<InvoiceResponse> page = Collections.emptyIterator();
+        private long lastId;
+        private boolean lastPage;
+        private boolean closed;
+
+        ClientInvoicesStream(ListClientInvoicesRequest request, ServerCallStreamObserver<Invoice> call) {
+            this.clientId = request.getClientId();
+            this.includePayments = request.getIncludePayments();
+            this.call = call;
+        }
+
+        void start() {
+            call.setOnCancelHandler(() -> closed = true);
+            call.setOnReadyHandler(this::drain);
+            drain();
+        }
+
+        private void drain() {
+            while (!closed && call.isReady()) {
+                if (page.hasNext()) {
+                    InvoiceResponse invoice = page.next();
+                    lastId = invoice.id();
+                    call.onNext(mapper.toProto(invoice));
+                } else if (lastPage) {
+                    closed = true;
+                    call.onCompleted();
+                } else {
+                    nextPage();
+                }
+            }
+        }
+
+        private void nextPage() {
+            List<InvoiceResponse> invoices;
+            try {
+                invoices = invoiceService.getInvoicesByClientAfter(clientId, lastId, listPageSize, includePayments);
+            } catch (RuntimeException e) {
+                closed = true;
+                call.onError(toStatus(e));
+                return;
+            }
+            lastPage = invoices.size() < listPageSize;
+            page = invoices.iterator();
+        }
+    }
+
+    // Messages are delivered one at a time and the next one is only requested once onNext returns,
+    // so a fast client cannot queue more than one invoice ahead of the database
+    private class BulkCreateObserver implements StreamObserver<CreateInvoiceRequest> {
+
+        private final StreamObserver<BulkCreateInvoicesResponse> responseObserver;
+        private final BulkCreateInvoicesResponse.Builder response = BulkCreateInvoicesResponse.newBuilder();
+        private int index;
+        private boolean closed;
+
+        BulkCreateObserver(StreamObserver<BulkCreateInvoicesResponse> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public void onNext(CreateInvoiceRequest request) {
+            if (closed) {
+                return;
+            }
+            if (index >= maxBulkSize) {
+                closed = true;
+                responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                        .withDescription("Bulk create is limited to " + maxBulkSize + " invoices per call")
+                        .asRuntimeException());
+                return;
+            }
+            try {
+                response.addInvoices(mapper.toProto(invoiceService.createInvoice(validInvoiceRequest(request))));
+                response.setCreatedCount(response.getCreatedCount() + 1);
+            } catch (RuntimeException e) {
+                Status status = toStatus(e).getStatus();
+                response.addErrors(BulkCreateError.newBuilder()
+                        .setIndex(index)
+                        .setCode(status.getCode().name())
+                        .setMessage(status.getDescription() == null ? "" : status.getDescription()));
+                response.setFailedCount(response.getFailedCount() + 1);
+            }
+            index++;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // Client cancelled: invoices created so far stay committed, as they would with individual calls
+            closed = true;
+            log.debug("Bulk create aborted by the client after {} invoices", index, t);
+        }
+
+        @Override
+        public void onCompleted() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+    }
+}
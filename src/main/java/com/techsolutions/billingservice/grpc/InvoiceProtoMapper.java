@@ -0,0 +1,187 @@
+package com.techsolutions.billingservice.grpc;
+
+import com.techsolutions.billingservice.grpc.v1.AddPaymentRequest;
+import com.techsolutions.billingservice.grpc.v1.ClientTotal;
+import com.techsolutions.billingservice.grpc.v1.CreateInvoiceRequest;
+import com.techsolutions.billingservice.grpc.v1.Invoice;
+import com.techsolutions.billingservice.grpc.v1.InvoiceLine;
+import com.techsolutions.billingservice.grpc.v1.InvoiceLineInput;
+import com.techsolutions.billingservice.grpc.v1.Payment;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.resources.InvoiceLineRequest;
+import com.techsolutions.billingservice.resources.InvoiceLineResponse;
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.PaymentResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import io.grpc.Status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts between the protobuf messages of {@code invoice_service.proto} and the REST resources, so that both
+ * transports go through the same {@code InvoiceService} methods and bean validation rules.
+ * Absent proto3 scalars (0, "", UNSPECIFIED) become {@code null} and are reported by validation like a missing JSON field.
+ */
+public class InvoiceProtoMapper {
+
+    public InvoiceRequest toInvoiceRequest(CreateInvoiceRequest request) {
+        return InvoiceRequest.builder()
+                .clientId(request.getClientId() == 0 ? null : request.getClientId())
+                .amount(toDecimal("amount", request.getAmount()))
+                .description(request.getDescription().isEmpty() ? null : request.getDescription())
+                .paymentMethod(toPaymentMethod(request.getPaymentMethod()))
+                .lines(toLineRequests(request.getLinesList()))
+                .build();
+    }
+
+    public PaymentRequest toPaymentRequest(AddPaymentRequest request) {
+        return PaymentRequest.builder()
+                .amount(toDecimal("amount", request.getAmount()))
+                .paymentMethod(toPaymentMethod(request.getPaymentMethod()))
+                .build();
+    }
+
+    public Invoice toProto(InvoiceResponse invoice) {
+        Invoice.Builder builder = Invoice.newBuilder()
+                .setId(invoice.id())
+                .setClientId(invoice.clientId())
+                .setAmount(invoice.amount().toPlainString())
+                .setStatus(toProto(invoice.status()))
+                .setPaymentMethod(toProto(invoice.paymentMethod()));
+        if (invoice.remainingBalance() != null) {
+            builder.setRemainingBalance(invoice.remainingBalance().toPlainString());
+        }
+        if (invoice.description() != null) {
+            builder.setDescription(invoice.description());
+        }
+        if (invoice.dateEmission() != null) {
+            builder.setDateEmission(invoice.dateEmission().toString());
+        }
+        if (invoice.datePaiement() != null) {
+            builder.setDatePaiement(invoice.datePaiement().toString());
+        }
+        if (invoice.discountAmount() != null) {
+            builder.setDiscountAmount(invoice.discountAmount().toPlainString());
+        }
+        if (invoice.taxAmount() != null) {
+            builder.setTaxAmount(invoice.taxAmount().toPlainString());
+        }
+        if (invoice.lines() != null) {
+            invoice.lines().forEach(line -> builder.addLines(toProto(line)));
+        }
+        if (invoice.payments() != null) {
+            invoice.payments().forEach(payment -> builder.addPayments(toProto(payment)));
+        }
+        return builder.build();
+    }
+
+    public InvoiceLine toProto(InvoiceLineResponse line) {
+        return InvoiceLine.newBuilder()
+                .setLineNumber(line.lineNumber())
+                .setDescription(line.description())
+                .setQuantity(line.quantity().toPlainString())
+                .setUnitPrice(line.unitPrice().toPlainString())
+                .setDiscountRate(line.discountRate().toPlainString())
+                .setTaxRate(line.taxRate().toPlainString())
+                .setDiscountAmount(line.discountAmount().toPlainString())
+                .setTaxAmount(line.taxAmount().toPlainString())
+                .setLineTotal(line.lineTotal().toPlainString())
+                .build();
+    }
+
+    public Payment toProto(PaymentResponse payment) {
+        Payment.Builder builder = Payment.newBuilder()
+                .setId(payment.id())
+                .setInvoiceId(payment.invoiceId())
+                .setAmount(payment.amount().toPlainString())
+                .setPaymentMethod(toProto(payment.paymentMethod()));
+        if (payment.paidAt() != null) {
+            builder.setPaidAt(payment.paidAt().toString());
+        }
+        return builder.build();
+    }
+
+    public ClientTotal toProto(TotalAmountResponse total) {
+        ClientTotal.Builder builder = ClientTotal.newBuilder()
+                .setClientId(total.clientId())
+                .setTotalAmount(total.totalAmount().toPlainString());
+        if (total.outstandingAmount() != null) {
+            builder.setOutstandingAmount(total.outstandingAmount().toPlainString());
+        }
+        if (total.invoiceCount() != null) {
+            builder.setInvoiceCount(total.invoiceCount());
+        }
+        return builder.build();
+    }
+
+    private static List<InvoiceLineRequest> toLineRequests(List<InvoiceLineInput> lines) {
+        if (lines.isEmpty()) {
+            return null;
+        }
+        List<InvoiceLineRequest> requests = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            InvoiceLineInput line = lines.get(i);
+            String field = "lines[" + i + "].";
+            requests.add(InvoiceLineRequest.builder()
+                    .description(line.getDescription().isEmpty() ? null : line.getDescription())
+                    .quantity(toDecimal(field + "quantity", line.getQuantity()))
+                    .unitPrice(toDecimal(field + "unitPrice", line.getUnitPrice()))
+                    .discountRate(toDecimal(field + "discountRate", line.getDiscountRate()))
+                    .taxRate(toDecimal(field + "taxRate", line.getTaxRate()))
+                    .build());
+        }
+        return requests;
+    }
+
+    private static BigDecimal toDecimal(String field, String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription(field + ": not a decimal number: " + value)
+                    .asRuntimeException();
+        }
+    }
+
+    private static PaymentMethod toPaymentMethod(com.techsolutions.billingservice.grpc.v1.PaymentMethod method) {
+        return switch (method) {
+            case PAYMENT_METHOD_UNSPECIFIED -> null;
+            case PAYMENT_METHOD_CARD -> PaymentMethod.CARD;
+            case PAYMENT_METHOD_TRANSFER -> PaymentMethod.TRANSFER;
+            case PAYMENT_METHOD_CASH -> PaymentMethod.CASH;
+            case UNRECOGNIZED -> throw Status.INVALID_ARGUMENT
+                    .withDescription("paymentMethod: unknown value")
+                    .asRuntimeException();
+        };
+    }
+
+    private static com.techsolutions.billingservice.grpc.v1.PaymentMethod toProto(PaymentMethod method) {
+        if (method == null) {
+            return com.techsolutions.billingservice.grpc.v1.PaymentMethod.PAYMENT_METHOD_UNSPECIFIED;
+        }
+        return switch (method) {
+            case CARD -> com.techsolutions.billingservice.grpc.v1.PaymentMethod.PAYMENT_METHOD_CARD;
+            case TRANSFER -> com.techsolutions.billingservice.grpc.v1.PaymentMethod.PAYMENT_METHOD_TRANSFER;
+            case CASH -> com.techsolutions.billingservice.grpc.v1.PaymentMethod.PAYMENT_METHOD_CASH;
+        };
+    }
+
+    private static com.techsolutions.billingservice.grpc.v1.InvoiceStatus toProto(InvoiceStatus status) {
+        if (status == null) {
+            return com.techsolutions.billingservice.grpc.v1.InvoiceStatus.INVOICE_STATUS_UNSPECIFIED;
+        }
+        return switch (status) {
+            case PENDING -> com.techsolutions.billingservice.grpc.v1.InvoiceStatus.INVOICE_STATUS_PENDING;
+            case PAID -> com.techsolutions.billingservice.grpc.v1.InvoiceStatus.INVOICE_STATUS_PAID;
+            case CANCELLED -> com.techsolutions.billingservice.grpc.v1.InvoiceStatus.INVOICE_STATUS_CANCELLED;
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.techsolutions.billingservice.grpc;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor of the gRPC server that never lets a RejectedExecutionException reach the transport, where grpc-java
+ * would reset the stream as INTERNAL. Work the bounded pool cannot queue runs on the calling thread instead,
+ * flagged so that {@link SheddingInterceptor} answers RESOURCE_EXHAUSTED rather than running the service.
+ */
+public class SheddingExecutor implements Executor {
+
+    private static final ThreadLocal<Boolean> SHEDDING = new ThreadLocal<>();
+
+    private final Executor delegate;
+
+    public SheddingExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            delegate.execute(task);
+        } catch (RejectedExecutionException e) {
+            SHEDDING.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                SHEDDING.remove();
+            }
+        }
+    }
+
+    static boolean isShedding() {
+        return SHEDDING.get() != null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.techsolutions.billingservice.grpc;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+/**
+ * Answers RESOURCE_EXHAUSTED for the callbacks {@link SheddingExecutor} could not queue. They run on the transport
+ * thread, so nothing may block there: a new call is closed before any other interceptor or the service sees it,
+ * and a running call is closed instead of being handed its next message, half-close or ready signal. Completion
+ * and cancellation are still delivered, so that the admission permits and the service's resources are released.
+ * Must be the outermost interceptor.
+ */
+public class SheddingInterceptor implements ServerInterceptor {
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (SheddingExecutor.isShedding()) {
+            shed(call);
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+
+            private boolean shed;
+
+            @Override
+            public void onMessage(ReqT message) {
+                if (admitted()) {
+                    super.onMessage(message);
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                if (admitted()) {
+                    super.onHalfClose();
+                }
+            }
+
+            @Override
+            public void onReady() {
+                if (admitted()) {
+                    super.onReady();
+                }
+            }
+
+            // Callbacks of a call are serialized: no lock needed
+            private boolean admitted() {
+                if (!shed && SheddingExecutor.isShedding()) {
+                    shed = true;
+                    shed(call);
+                }
+                return !shed;
+            }
+        };
+    }
+
+    private static void shed(ServerCall<?, ?> call) {
+        Metadata trailers = new Metadata();
+        trailers.put(AdmissionInterceptor.RETRY_AFTER, "1");
+        try {
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Server busy, retry later"), trailers);
+        } catch (IllegalStateException e) {
+            // Deja ferme par le service : rien a rejeter
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.techsolutions.billingservice.json;
+
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes InvoiceResponse, List&lt;InvoiceResponse&gt; and TotalAmountResponse with {@link InvoiceJsonWriter}
+ * instead of Jackson. Write-only: request bodies are still read by the Jackson converter.
+ */
+public class InvoiceJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public InvoiceJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == InvoiceResponse.class || clazz == TotalAmountResponse.class;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return parameterized.getRawType() == List.class
+                    && parameterized.getActualTypeArguments()[0] == InvoiceResponse.class;
+        }
+        return supports(type instanceof Class<?> raw ? raw : clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        JsonBuffer buffer = InvoiceJsonWriter.acquireBuffer();
+        try {
+            InvoiceJsonWriter.write(value, buffer);
+            outputMessage.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(outputMessage.getBody());
+        } finally {
+            InvoiceJsonWriter.releaseBuffer(buffer);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("InvoiceJsonHttpMessageConverter is write-only");
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("InvoiceJsonHttpMessageConverter is write-only");
+    }
+}
@@ -0,0 +1,233 @@
+package com.techsolutions.billingservice.json;
+
+import com.techsolutions.billingservice.resources.InvoiceLineResponse;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Hand-written serializer for the invoice read DTOs. Field names are pre-encoded once and values are written
+ * directly as UTF-8 bytes, in record component order, so the output is byte-identical to the default ObjectMapper.
+ * Any new component on these records must be added here as well (InvoiceJsonWriterTest will fail otherwise).
+ */
+public final class InvoiceJsonWriter {
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    // Buffers grown by a very large response are not kept on the thread
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<JsonBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> new JsonBuffer(INITIAL_BUFFER_SIZE));
+
+    private static final byte[] INVOICE_ID = ascii("{\"id\":");
+    private static final byte[] INVOICE_CLIENT_ID = ascii(",\"clientId\":");
+    private static final byte[] INVOICE_AMOUNT = ascii(",\"amount\":");
+    private static final byte[] INVOICE_REMAINING_BALANCE = ascii(",\"remainingBalance\":");
+    private static final byte[] INVOICE_DESCRIPTION = ascii(",\"description\":");
+    private static final byte[] INVOICE_DATE_EMISSION = ascii(",\"dateEmission\":");
+    private static final byte[] INVOICE_DATE_PAIEMENT = ascii(",\"datePaiement\":");
+    private static final byte[] INVOICE_STATUS = ascii(",\"status\":");
+    private static final byte[] INVOICE_PAYMENT_METHOD = ascii(",\"paymentMethod\":");
+    private static final byte[] INVOICE_DISCOUNT_AMOUNT = ascii(",\"discountAmount\":");
+    private static final byte[] INVOICE_TAX_AMOUNT = ascii(",\"taxAmount\":");
+    private static final byte[] INVOICE_LINES = ascii(",\"lines\":");
+    private static final byte[] INVOICE_PAYMENTS = ascii(",\"payments\":");
+
+    private static final byte[] LINE_NUMBER = ascii("{\"lineNumber\":");
+    private static final byte[] LINE_DESCRIPTION = ascii(",\"description\":");
+    private static final byte[] LINE_QUANTITY = ascii(",\"quantity\":");
+    private static final byte[] LINE_UNIT_PRICE = ascii(",\"unitPrice\":");
+    private static final byte[] LINE_DISCOUNT_RATE = ascii(",\"discountRate\":");
+    private static final byte[] LINE_TAX_RATE = ascii(",\"taxRate\":");
+    private static final byte[] LINE_DISCOUNT_AMOUNT = ascii(",\"discountAmount\":");
+    private static final byte[] LINE_TAX_AMOUNT = ascii(",\"taxAmount\":");
+    private static final byte[] LINE_TOTAL = ascii(",\"lineTotal\":");
+
+    private static final byte[] PAYMENT_ID = ascii("{\"id\":");
+    private static final byte[] PAYMENT_INVOICE_ID = ascii(",\"invoiceId\":");
+    private static final byte[] PAYMENT_AMOUNT = ascii(",\"amount\":");
+    private static final byte[] PAYMENT_METHOD = ascii(",\"paymentMethod\":");
+    private static final byte[] PAYMENT_PAID_AT = ascii(",\"paidAt\":");
+
+    private static final byte[] TOTAL_CLIENT_ID = ascii("{\"clientId\":");
+    private static final byte[] TOTAL_AMOUNT = ascii(",\"totalAmount\":");
+    private static final byte[] TOTAL_OUTSTANDING_AMOUNT = ascii(",\"outstandingAmount\":");
+    private static final byte[] TOTAL_INVOICE_COUNT = ascii(",\"invoiceCount\":");
+
+    private InvoiceJsonWriter() {
+    }
+
+    /**
+     * Returns the calling thread's buffer, emptied. Request threads are pooled by the servlet container,
+     * so this behaves like a buffer pool without any synchronization.
+     */
+    static JsonBuffer acquireBuffer() {
+        JsonBuffer buffer = BUFFERS.get();
+        buffer.reset();
+        return buffer;
+    }
+
+    static void releaseBuffer(JsonBuffer buffer) {
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            BUFFERS.remove();
+        }
+    }
+
+    public static byte[] toBytes(Object value) {
+        JsonBuffer buffer = acquireBuffer();
+        try {
+            write(value, buffer);
+            return buffer.toByteArray();
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    static void write(Object value, JsonBuffer out) {
+        if (value instanceof InvoiceResponse invoice) {
+            writeInvoice(invoice, out);
+        } else if (value instanceof TotalAmountResponse total) {
+            writeTotal(total, out);
+        } else if (value instanceof List<?> invoices) {
+            writeInvoices(invoices, out);
+        } else {
+            throw new IllegalArgumentException("Unsupported type: " + (value == null ? null : value.getClass()));
+        }
+    }
+
+    private static void writeInvoices(List<?> invoices, JsonBuffer out) {
+        out.writeByte('[');
+        for (int i = 0; i < invoices.size(); i++) {
+            if (i > 0) {
+                out.writeByte(',');
+            }
+            Object invoice = invoices.get(i);
+            if (invoice == null) {
+                out.writeNull();
+            } else {
+                writeInvoice((InvoiceResponse) invoice, out);
+            }
+        }
+        out.writeByte(']');
+    }
+
+    private static void writeInvoice(InvoiceResponse invoice, JsonBuffer out) {
+        out.writeBytes(INVOICE_ID);
+        out.writeNullableLong(invoice.id());
+        out.writeBytes(INVOICE_CLIENT_ID);
+        out.writeNullableLong(invoice.clientId());
+        out.writeBytes(INVOICE_AMOUNT);
+        out.writeNumber(invoice.amount());
+        out.writeBytes(INVOICE_REMAINING_BALANCE);
+        out.writeNumber(invoice.remainingBalance());
+        out.writeBytes(INVOICE_DESCRIPTION);
+        out.writeString(invoice.description());
+        out.writeBytes(INVOICE_DATE_EMISSION);
+        out.writeDate(invoice.dateEmission());
+        out.writeBytes(INVOICE_DATE_PAIEMENT);
+        out.writeDate(invoice.datePaiement());
+        out.writeBytes(INVOICE_STATUS);
+        out.writeEnum(invoice.status());
+        out.writeBytes(INVOICE_PAYMENT_METHOD);
+        out.writeEnum(invoice.paymentMethod());
+        // discountAmount, taxAmount, lines and payments are @JsonInclude(NON_NULL)
+        if (invoice.discountAmount() != null) {
+            out.writeBytes(INVOICE_DISCOUNT_AMOUNT);
+            out.writeNumber(invoice.discountAmount());
+        }
+        if (invoice.taxAmount() != null) {
+            out.writeBytes(INVOICE_TAX_AMOUNT);
+            out.writeNumber(invoice.taxAmount());
+        }
+        List<InvoiceLineResponse> lines = invoice.lines();
+        if (lines != null) {
+            out.writeBytes(INVOICE_LINES);
+            out.writeByte('[');
+            for (int i = 0; i < lines.size(); i++) {
+                if (i > 0) {
+                    out.writeByte(',');
+                }
+                InvoiceLineResponse line = lines.get(i);
+                if (line == null) {
+                    out.writeNull();
+                } else {
+                    writeLine(line, out);
+                }
+            }
+            out.writeByte(']');
+        }
+        List<PaymentResponse> payments = invoice.payments();
+        if (payments != null) {
+            out.writeBytes(INVOICE_PAYMENTS);
+            out.writeByte('[');
+            for (int i = 0; i < payments.size(); i++) {
+                if (i > 0) {
+                    out.writeByte(',');
+                }
+                PaymentResponse payment = payments.get(i);
+                if (payment == null) {
+                    out.writeNull();
+                } else {
+                    writePayment(payment, out);
+                }
+            }
+            out.writeByte(']');
+        }
+        out.writeByte('}');
+    }
+
+    private static void writeLine(InvoiceLineResponse line, JsonBuffer out) {
+        out.writeBytes(LINE_NUMBER);
+        out.writeNullableInteger(line.lineNumber());
+        out.writeBytes(LINE_DESCRIPTION);
+        out.writeString(line.description());
+        out.writeBytes(LINE_QUANTITY);
+        out.writeNumber(line.quantity());
+        out.writeBytes(LINE_UNIT_PRICE);
+        out.writeNumber(line.unitPrice());
+        out.writeBytes(LINE_DISCOUNT_RATE);
+        out.writeNumber(line.discountRate());
+        out.writeBytes(LINE_TAX_RATE);
+        out.writeNumber(line.taxRate());
+        out.writeBytes(LINE_DISCOUNT_AMOUNT);
+        out.writeNumber(line.discountAmount());
+        out.writeBytes(LINE_TAX_AMOUNT);
+        out.writeNumber(line.taxAmount());
+        out.writeBytes(LINE_TOTAL);
+        out.writeNumber(line.lineTotal());
+        out.writeByte('}');
+    }
+
+    private static void writePayment(PaymentResponse payment, JsonBuffer out) {
+        out.writeBytes(PAYMENT_ID);
+        out.writeNullableLong(payment.id());
+        out.writeBytes(PAYMENT_INVOICE_ID);
+        out.writeNullableLong(payment.invoiceId());
+        out.writeBytes(PAYMENT_AMOUNT);
+        out.writeNumber(payment.amount());
+        out.writeBytes(PAYMENT_METHOD);
+        out.writeEnum(payment.paymentMethod());
+        out.writeBytes(PAYMENT_PAID_AT);
+        out.writeDateTime(payment.paidAt());
+        out.writeByte('}');
+    }
+
+    private static void writeTotal(TotalAmountResponse total, JsonBuffer out) {
+        out.writeBytes(TOTAL_CLIENT_ID);
+        out.writeNullableLong(total.clientId());
+        out.writeBytes(TOTAL_AMOUNT);
+        out.writeNumber(total.totalAmount());
+        out.writeBytes(TOTAL_OUTSTANDING_AMOUNT);
+        out.writeNumber(total.outstandingAmount());
+        out.writeBytes(TOTAL_INVOICE_COUNT);
+        out.writeNullableInteger(total.invoiceCount());
+        out.writeByte('}');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,269 @@
+package com.techsolutions.billingservice.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with the few JSON primitives needed by {@link InvoiceJsonWriter}. Output matches what
+ * Jackson's UTF8JsonGenerator produces with Spring Boot's default ObjectMapper (ISO dates, BigDecimal#toString,
+ * Jackson's escaping rules).
+ */
+final class JsonBuffer {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    // Short escapes used by Jackson for control characters, 0 means \\u00XX
+    private static final byte[] SHORT_ESCAPES = new byte[32];
+
+    static {
+        SHORT_ESCAPES['\b'] = 'b';
+        SHORT_ESCAPES['\t'] = 't';
+        SHORT_ESCAPES['\n'] = 'n';
+        SHORT_ESCAPES['\f'] = 'f';
+        SHORT_ESCAPES['\r'] = 'r';
+    }
+
+    private byte[] bytes;
+    private int size;
+
+    JsonBuffer(int initialCapacity) {
+        bytes = new byte[initialCapacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return bytes.length;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    void writeByte(int b) {
+        ensure(1);
+        bytes[size++] = (byte) b;
+    }
+
+    void writeBytes(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, bytes, size, b.length);
+        size += b.length;
+    }
+
+    void writeNull() {
+        writeBytes(NULL);
+    }
+
+    // Boxed record components: null is written as null, never unboxed
+    void writeNullableLong(Long value) {
+        if (value == null) {
+            writeNull();
+        } else {
+            writeLong(value.longValue());
+        }
+    }
+
+    void writeNullableInteger(Integer value) {
+        if (value == null) {
+            writeNull();
+        } else {
+            writeLong(value.longValue());
+        }
+    }
+
+    void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            bytes[size++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte tmp = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = tmp;
+        }
+    }
+
+    // BigDecimal caches its toString(), so this does not allocate for values that were already printed
+    void writeNumber(Object number) {
+        if (number == null) {
+            writeNull();
+        } else {
+            writeAscii(number.toString());
+        }
+    }
+
+    void writeEnum(Enum<?> value) {
+        if (value == null) {
+            writeNull();
+        } else {
+            writeByte('"');
+            writeAscii(value.name());
+            writeByte('"');
+        }
+    }
+
+    void writeDate(LocalDate date) {
+        if (date == null) {
+            writeNull();
+            return;
+        }
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            writeQuotedAscii(DateTimeFormatter.ISO_LOCAL_DATE.format(date));
+            return;
+        }
+        writeByte('"');
+        writeDigits(date.getYear(), 4);
+        writeByte('-');
+        writeDigits(date.getMonthValue(), 2);
+        writeByte('-');
+        writeDigits(date.getDayOfMonth(), 2);
+        writeByte('"');
+    }
+
+    // Same output as DateTimeFormatter.ISO_LOCAL_DATE_TIME: seconds always, fraction without trailing zeros
+    void writeDateTime(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            writeNull();
+            return;
+        }
+        if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            writeQuotedAscii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+            return;
+        }
+        writeByte('"');
+        writeDigits(dateTime.getYear(), 4);
+        writeByte('-');
+        writeDigits(dateTime.getMonthValue(), 2);
+        writeByte('-');
+        writeDigits(dateTime.getDayOfMonth(), 2);
+        writeByte('T');
+        writeDigits(dateTime.getHour(), 2);
+        writeByte(':');
+        writeDigits(dateTime.getMinute(), 2);
+        writeByte(':');
+        writeDigits(dateTime.getSecond(), 2);
+        int nano = dateTime.getNano();
+        if (nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            writeByte('.');
+            writeDigits(nano, digits);
+        }
+        writeByte('"');
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        ensure(value.length() + 2);
+        bytes[size++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                writeAsciiChar(c);
+            } else if (c < 0x800) {
+                ensure(2);
+                bytes[size++] = (byte) (0xC0 | (c >> 6));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // UTF8JsonGenerator escapes each surrogate instead of emitting a 4-byte sequence
+                ensure(6);
+                bytes[size++] = '\\';
+                bytes[size++] = 'u';
+                bytes[size++] = HEX[c >> 12];
+                bytes[size++] = HEX[(c >> 8) & 0xF];
+                bytes[size++] = HEX[(c >> 4) & 0xF];
+                bytes[size++] = HEX[c & 0xF];
+            } else {
+                ensure(3);
+                bytes[size++] = (byte) (0xE0 | (c >> 12));
+                bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeAsciiChar(char c) {
+        if (c >= 0x20 && c != '"' && c != '\\') {
+            ensure(1);
+            bytes[size++] = (byte) c;
+            return;
+        }
+        ensure(6);
+        bytes[size++] = '\\';
+        if (c == '"' || c == '\\') {
+            bytes[size++] = (byte) c;
+        } else if (SHORT_ESCAPES[c] != 0) {
+            bytes[size++] = SHORT_ESCAPES[c];
+        } else {
+            bytes[size++] = 'u';
+            bytes[size++] = '0';
+            bytes[size++] = '0';
+            bytes[size++] = HEX[c >> 4];
+            bytes[size++] = HEX[c & 0xF];
+        }
+    }
+
+    private void writeQuotedAscii(String value) {
+        writeByte('"');
+        writeAscii(value);
+        writeByte('"');
+    }
+
+    private void writeAscii(String value) {
+        int length = value.length();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            bytes[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeDigits(int value, int width) {
+        ensure(width);
+        for (int i = size + width - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        size += width;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.techsolutions.billingservice.mapper;
 
+import com.techsolutions.billingservice.entities.InvoiceLine;
+import com.techsolutions.billingservice.entities.Payment;
 import com.techsolutions.billingservice.resources.InvoiceRequest;
 import com.techsolutions.billingservice.resources.InvoiceResponse;
 import com.techsolutions.billingservice.entities.Invoice;
 import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.resources.InvoiceLineResponse;
+import com.techsolutions.billingservice.resources.PaymentResponse;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
 
 @Component
 public class InvoiceMapper {
@@ -15,6 +21,7 @@ public class InvoiceMapper {
         return Invoice.builder()
                 .clientId(dto.clientId())
                 .amount(dto.amount())
+                .remainingBalance(dto.amount())
                 .description(dto.description())
                 .paymentMethod(dto.paymentMethod())
                 .dateEmission(LocalDate.now())
@@ -23,15 +30,62 @@ public class InvoiceMapper {
     }
 
     public InvoiceResponse toDTO(Invoice invoice) {
+        return toBuilder(invoice).build();
+    }
+
+    public InvoiceResponse toDTOWithPayments(Invoice invoice) {
+        return toBuilder(invoice)
+                .payments(invoice.getPayments().stream().map(this::toPaymentDTO).toList())
+                .build();
+    }
+
+    public PaymentResponse toPaymentDTO(Payment payment) {
+        return PaymentResponse.builder()
+                .id(payment.getId())
+                .invoiceId(payment.getInvoice().getId())
+                .amount(payment.getAmount())
+                .paymentMethod(payment.getPaymentMethod())
+                .paidAt(payment.getPaidAt())
+                .build();
+    }
+
+    private InvoiceResponse.InvoiceResponseBuilder toBuilder(Invoice invoice) {
         return InvoiceResponse.builder()
                 .id(invoice.getId())
                 .clientId(invoice.getClientId())
                 .amount(invoice.getAmount())
+                .remainingBalance(invoice.outstandingBalance())
                 .description(invoice.getDescription())
                 .dateEmission(invoice.getDateEmission())
                 .datePaiement(invoice.getDatePaiement())
                 .status(invoice.getStatus())
                 .paymentMethod(invoice.getPaymentMethod())
+                .discountAmount(invoice.getDiscountAmount())
+                .taxAmount(invoice.getTaxAmount())
+                .lines(toLineDTOs(invoice.getLines()));
+    }
+
+    // null pour une facture sans lignes : la reponse garde alors sa forme d'origine
+    private List<InvoiceLineResponse> toLineDTOs(List<InvoiceLine> lines) {
+        if (lines.isEmpty()) {
+            return null;
+        }
+        return IntStream.range(0, lines.size())
+                .mapToObj(i -> toLineDTO(i + 1, lines.get(i)))
+                .toList();
+    }
+
+    private InvoiceLineResponse toLineDTO(int lineNumber, InvoiceLine line) {
+        return InvoiceLineResponse.builder()
+                .lineNumber(lineNumber)
+                .description(line.getDescription())
+                .quantity(line.getQuantity())
+                .unitPrice(line.getUnitPrice())
+                .discountRate(line.getDiscountRate())
+                .taxRate(line.getTaxRate())
+                .discountAmount(line.getDiscountAmount())
+                .taxAmount(line.getTaxAmount())
+                .lineTotal(line.getLineTotal())
                 .build();
     }
 }
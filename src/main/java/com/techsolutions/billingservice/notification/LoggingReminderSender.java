@@ -0,0 +1,16 @@
+package com.techsolutions.billingservice.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+// Stand-in for the email channel until a real provider is wired in
+@Slf4j
+public class LoggingReminderSender implements ReminderSender {
+
+    @Override
+    public void send(List<ReminderNotification> notifications) {
+        notifications.forEach(n -> log.info("Reminder #{} for invoice {} (client {}, amount {}, issued {})",
+                n.stage() + 1, n.invoiceId(), n.clientId(), n.amount(), n.dateEmission()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.techsolutions.billingservice.notification;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record ReminderNotification(
+        Long invoiceId,
+        Long clientId,
+        BigDecimal amount,
+        LocalDate dateEmission,
+        int stage) {
+}
@@ -0,0 +1,11 @@
+package com.techsolutions.billingservice.notification;
+
+import java.util.List;
+
+/**
+ * Delivery channel for dunning reminders. A batch either succeeds as a whole or throws, in which case every
+ * reminder in it is retried with backoff.
+ */
+public interface ReminderSender {
+    void send(List<ReminderNotification> notifications);
+}
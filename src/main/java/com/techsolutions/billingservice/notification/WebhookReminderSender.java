@@ -0,0 +1,22 @@
+package com.techsolutions.billingservice.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class WebhookReminderSender implements ReminderSender {
+
+    private final RestClient restClient;
+
+    @Override
+    public void send(List<ReminderNotification> notifications) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(notifications)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
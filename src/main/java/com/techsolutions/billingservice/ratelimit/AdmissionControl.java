@@ -0,0 +1,149 @@
+package com.techsolutions.billingservice.ratelimit;
+
+import com.techsolutions.billingservice.config.RateLimitProperties;
+import com.techsolutions.billingservice.exception.RateLimitExceededException;
+import com.techsolutions.billingservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control shared by the REST interceptor and the gRPC server: a per-client token bucket, then a
+ * per-endpoint and a global concurrency limit. The global limit is what keeps the database connection pool from
+ * being exhausted, whatever the mix of endpoints and transports. gRPC streams take their global permit from a
+ * separate pool, so that a few long streams cannot hold every permit while they wait on their peers.
+ */
+public class AdmissionControl {
+
+    static final String GLOBAL = "*";
+    static final String STREAMS = "*streams";
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final MeterRegistry meterRegistry;
+    private final InternalNetworks internalNetworks;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final Set<String> gaugedEndpoints = ConcurrentHashMap.newKeySet();
+
+    public AdmissionControl(RateLimitProperties properties,
+                            TokenBucketRateLimiter rateLimiter,
+                            ConcurrencyLimiter concurrencyLimiter,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.meterRegistry = meterRegistry;
+        this.internalNetworks = new InternalNetworks(properties.getInternalNetworks());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Takes a token from the caller's bucket for this endpoint.
+     *
+     * @throws RateLimitExceededException when the bucket is empty
+     */
+    public void checkRate(String endpoint, String clientKey) {
+        checkRate(endpoint, clientKey, properties.limitFor(endpoint));
+    }
+
+    /**
+     * Same as {@link #checkRate} for a caller on an internal network, with the internal limit.
+     */
+    public void checkInternalRate(String endpoint, String clientKey) {
+        checkRate(endpoint, "internal:" + clientKey, properties.getInternal());
+    }
+
+    private void checkRate(String endpoint, String clientKey, RateLimitProperties.Limit limit) {
+        long waitNanos = rateLimiter.tryAcquire(endpoint + "|" + clientKey, limit);
+        if (waitNanos > 0) {
+            rejected(endpoint, "rate_limited").increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new RateLimitExceededException("Rate limit exceeded for " + endpoint, retryAfter);
+        }
+    }
+
+    /**
+     * Takes an endpoint permit and a global permit; every successful call must be paired with {@link #release}.
+     *
+     * @throws ServiceOverloadedException when either limit is reached
+     */
+    public void acquire(String endpoint) {
+        acquire(endpoint, GLOBAL, properties.getMaxConcurrent());
+    }
+
+    /**
+     * Same as {@link #acquire} for a streaming call, whose global permit comes from the streams pool; to be
+     * paired with {@link #releaseStream}.
+     */
+    public void acquireStream(String endpoint) {
+        acquire(endpoint, STREAMS, properties.getMaxConcurrentStreams());
+    }
+
+    private void acquire(String endpoint, String pool, int poolSize) {
+        int maxConcurrent = properties.limitFor(endpoint).getMaxConcurrent();
+        if (gaugedEndpoints.add(endpoint)) {
+            registerInFlightGauge(endpoint, maxConcurrent);
+        }
+        if (!concurrencyLimiter.tryAcquire(endpoint, maxConcurrent)) {
+            rejected(endpoint, "overloaded").increment();
+            throw new ServiceOverloadedException("Too many concurrent requests for " + endpoint);
+        }
+        if (!concurrencyLimiter.tryAcquire(pool, poolSize)) {
+            concurrencyLimiter.release(endpoint);
+            rejected(endpoint, pool.equals(GLOBAL) ? "overloaded_global" : "overloaded_streams").increment();
+            throw new ServiceOverloadedException(pool.equals(GLOBAL) ? "Too many concurrent requests"
+                    : "Too many concurrent streams");
+        }
+    }
+
+    public void release(String endpoint) {
+        concurrencyLimiter.release(GLOBAL);
+        concurrencyLimiter.release(endpoint);
+    }
+
+    public void releaseStream(String endpoint) {
+        concurrencyLimiter.release(STREAMS);
+        concurrencyLimiter.release(endpoint);
+    }
+
+    // Only configured keys are trusted: a caller inventing a new key per request must not get a fresh bucket
+    public boolean isKnownApiKey(String apiKey) {
+        return apiKey != null && properties.getApiKeys().contains(apiKey);
+    }
+
+    public String apiKeyHeader() {
+        return properties.getApiKeyHeader();
+    }
+
+    public boolean isInternal(InetAddress address) {
+        return internalNetworks.contains(address);
+    }
+
+    public String serviceHeader() {
+        return properties.getServiceHeader();
+    }
+
+    private Counter rejected(String endpoint, String reason) {
+        return rejections.computeIfAbsent(endpoint + "|" + reason, k -> Counter.builder("billing.requests.rejected")
+                .description("Requests rejected by admission control")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry));
+    }
+
+    private void registerInFlightGauge(String endpoint, int maxConcurrent) {
+        Gauge.builder("billing.requests.in_flight", concurrencyLimiter, l -> l.inFlight(endpoint, maxConcurrent))
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+}
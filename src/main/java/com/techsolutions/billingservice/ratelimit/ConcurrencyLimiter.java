@@ -0,0 +1,32 @@
+package com.techsolutions.billingservice.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps in-flight requests per endpoint. Acquisition never blocks: once the limit is reached the request is
+ * shed immediately instead of queueing on the connection pool.
+ */
+public class ConcurrencyLimiter {
+
+    private final ConcurrentHashMap<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public boolean tryAcquire(String endpoint, int maxConcurrent) {
+        return semaphore(endpoint, maxConcurrent).tryAcquire();
+    }
+
+    public void release(String endpoint) {
+        Semaphore semaphore = permits.get(endpoint);
+        if (semaphore != null) {
+            semaphore.release();
+        }
+    }
+
+    public int inFlight(String endpoint, int maxConcurrent) {
+        return maxConcurrent - semaphore(endpoint, maxConcurrent).availablePermits();
+    }
+
+    private Semaphore semaphore(String endpoint, int maxConcurrent) {
+        return permits.computeIfAbsent(endpoint, e -> new Semaphore(maxConcurrent));
+    }
+}
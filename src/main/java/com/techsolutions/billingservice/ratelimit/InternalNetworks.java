@@ -0,0 +1,71 @@
+package com.techsolutions.billingservice.ratelimit;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * CIDR blocks (10.0.0.0/8, fd00::/8, or a single address) whose peers are trusted to name themselves. Only
+ * literal addresses are accepted, so parsing never does a DNS lookup.
+ */
+public class InternalNetworks {
+
+    private final List<Block> blocks;
+
+    public InternalNetworks(List<String> cidrs) {
+        this.blocks = cidrs.stream().map(String::trim).filter(cidr -> !cidr.isEmpty()).map(Block::parse).toList();
+    }
+
+    public boolean contains(InetAddress address) {
+        if (address == null) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        for (Block block : blocks) {
+            if (block.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Block(byte[] network, int prefixLength) {
+
+        static Block parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            String host = slash < 0 ? cidr : cidr.substring(0, slash);
+            if (!host.matches("[0-9a-fA-F.:]+")) {
+                throw new IllegalArgumentException("Not a literal address: " + cidr);
+            }
+            byte[] network;
+            try {
+                network = InetAddress.getByName(host).getAddress();
+            } catch (UnknownHostException e) {
+                throw new IllegalArgumentException("Invalid network: " + cidr, e);
+            }
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length: " + cidr);
+            }
+            return new Block(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
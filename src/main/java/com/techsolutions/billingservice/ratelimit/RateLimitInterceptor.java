@@ -0,0 +1,66 @@
+package com.techsolutions.billingservice.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Admission control in front of the controllers: a per-client token bucket (429) followed by the per-endpoint and
+ * global concurrency limits (503), so that a single caller cannot exhaust the database connection pool.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String ACQUIRED_ENDPOINT = RateLimitInterceptor.class.getName() + ".endpoint";
+
+    private final AdmissionControl admissionControl;
+
+    public RateLimitInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        String endpoint = endpoint(handlerMethod);
+        admissionControl.checkRate(endpoint, clientKey(request));
+        admissionControl.acquire(endpoint);
+        request.setAttribute(ACQUIRED_ENDPOINT, endpoint);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object endpoint = request.getAttribute(ACQUIRED_ENDPOINT);
+        if (endpoint != null) {
+            request.removeAttribute(ACQUIRED_ENDPOINT);
+            admissionControl.release((String) endpoint);
+        }
+    }
+
+    // Controller#method: same-named handlers in different controllers must not share a bucket
+    static String endpoint(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+    }
+
+    // The path clientId first, then a known API key, otherwise the remote address
+    @SuppressWarnings("unchecked")
+    private String clientKey(HttpServletRequest request) {
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String clientId = pathVariables != null ? pathVariables.get("clientId") : null;
+        if (clientId != null) {
+            return "client:" + clientId;
+        }
+        String apiKey = request.getHeader(admissionControl.apiKeyHeader());
+        if (admissionControl.isKnownApiKey(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,66 @@
+package com.techsolutions.billingservice.ratelimit;
+
+import com.techsolutions.billingservice.config.RateLimitProperties;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket expressed as a GCRA (generic cell rate algorithm): each key only stores the
+ * "theoretical arrival time" of the next request, updated with a single CAS. The map itself is striped
+ * by ConcurrentHashMap, so concurrent clients never contend on a shared lock. Idle buckets are dropped by
+ * {@link #evictIdle}, called from a scheduled sweep: once the table is full, unknown keys share a single overflow
+ * bucket until the next sweep instead of scanning the map on the request thread.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+    private final int maxTrackedKeys;
+
+    public TokenBucketRateLimiter(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the number of nanoseconds until one becomes available
+     */
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        return tryAcquire(key, limit, System.nanoTime());
+    }
+
+    long tryAcquire(String key, RateLimitProperties.Limit limit, long now) {
+        long interval = (long) (1_000_000_000L / limit.getPermitsPerSecond());
+        long tolerance = interval * Math.max(1, limit.getBurst());
+
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = buckets.size() < maxTrackedKeys ? buckets.computeIfAbsent(key, k -> new AtomicLong(now)) : overflow;
+        }
+
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    int trackedKeys() {
+        return buckets.size();
+    }
+
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    // A bucket whose theoretical arrival time is in the past is full again and can be dropped safely
+    void evictIdle(long now) {
+        buckets.values().removeIf(tat -> tat.get() <= now);
+    }
+}
@@ -0,0 +1,30 @@
+package com.techsolutions.billingservice.repository;
+
+import com.techsolutions.billingservice.entities.InvoiceReminder;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InvoiceReminderRepository extends JpaRepository<InvoiceReminder, Long> {
+
+    // Range scan sur l'index next_action_at ; SKIP LOCKED pour que plusieurs instances se partagent le travail
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select r from InvoiceReminder r where r.nextActionAt <= :now order by r.nextActionAt")
+    List<InvoiceReminder> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from InvoiceReminder r where r.invoiceId = :invoiceId")
+    int deleteByInvoiceId(@Param("invoiceId") Long invoiceId);
+}
@@ -1,13 +1,38 @@
 package com.techsolutions.billingservice.repository;
 
 import com.techsolutions.billingservice.entities.Invoice;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     // Méthode pour trouver les factures d'un client spécifique
     List<Invoice> findByClientId(Long clientId);
+
+    // Pagination par cle (id) : le cout d'une page ne depend pas de sa position
+    List<Invoice> findByClientIdAndIdGreaterThanOrderById(Long clientId, Long afterId, Pageable pageable);
+
+    // Une seule requete (fetch join) pour la facture et ses lignes
+    @Override
+    @EntityGraph(attributePaths = "lines")
+    Optional<Invoice> findById(Long id);
+
+    // Verrou pessimiste : deux paiements concurrents ne doivent pas lire le meme solde restant
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Invoice i where i.id = :id")
+    Optional<Invoice> findByIdForUpdate(@Param("id") Long id);
+
+    // Factures PENDING sans relance planifiee (anterieures au dunning)
+    @Query("select i from Invoice i where i.status = com.techsolutions.billingservice.enums.InvoiceStatus.PENDING"
+            + " and not exists (select r.id from InvoiceReminder r where r.invoiceId = i.id) order by i.id")
+    List<Invoice> findPendingWithoutReminder(Pageable pageable);
 }
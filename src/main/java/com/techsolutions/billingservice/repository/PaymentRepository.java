@@ -0,0 +1,12 @@
+package com.techsolutions.billingservice.repository;
+
+import com.techsolutions.billingservice.entities.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    List<Payment> findByInvoiceIdOrderByPaidAt(Long invoiceId);
+}
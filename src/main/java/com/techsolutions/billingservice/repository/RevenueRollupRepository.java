@@ -0,0 +1,108 @@
+package com.techsolutions.billingservice.repository;
+
+import com.techsolutions.billingservice.entities.RevenueDailyRollup;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueDailyRollup, Long> {
+
+    // Increment atomique en base : pas de lecture prealable, le verrou de ligne ne dure que le temps de la transaction
+    @Modifying
+    @Query("update RevenueDailyRollup r set r.billedAmount = r.billedAmount + :billedAmount, "
+            + "r.billedCount = r.billedCount + :billedCount, "
+            + "r.collectedAmount = r.collectedAmount + :collectedAmount, "
+            + "r.collectedCount = r.collectedCount + :collectedCount "
+            + "where r.bucketDate = :bucketDate and r.paymentMethod = :paymentMethod "
+            + "and r.status = :status and r.stripe = :stripe")
+    int increment(@Param("bucketDate") LocalDate bucketDate,
+                  @Param("paymentMethod") String paymentMethod,
+                  @Param("status") InvoiceStatus status,
+                  @Param("stripe") int stripe,
+                  @Param("billedAmount") BigDecimal billedAmount,
+                  @Param("billedCount") long billedCount,
+                  @Param("collectedAmount") BigDecimal collectedAmount,
+                  @Param("collectedCount") long collectedCount);
+
+    // Ligne vide creee sur la connexion de l'appelant (pas de seconde connexion du pool)
+    @Modifying
+    @Query(value = "insert into revenue_daily_rollups (bucket_date, payment_method, status, stripe, "
+            + "billed_amount, billed_count, collected_amount, collected_count) "
+            + "select :bucketDate, :paymentMethod, :status, :stripe, 0, 0, 0, 0 where not exists ("
+            + "  select 1 from revenue_daily_rollups where bucket_date = :bucketDate "
+            + "  and payment_method = :paymentMethod and status = :status and stripe = :stripe)",
+            nativeQuery = true)
+    int insertIfMissing(@Param("bucketDate") LocalDate bucketDate,
+                        @Param("paymentMethod") String paymentMethod,
+                        @Param("status") String status,
+                        @Param("stripe") int stripe);
+
+    @Query("select count(r) > 0 from RevenueDailyRollup r where r.billedCount <> 0 or r.collectedCount <> 0")
+    boolean hasActivity();
+
+    @Query("select r.bucketDate as bucketDate, r.paymentMethod as paymentMethod, r.status as status, "
+            + "sum(r.billedAmount) as billedAmount, sum(r.billedCount) as billedCount, "
+            + "sum(r.collectedAmount) as collectedAmount, sum(r.collectedCount) as collectedCount "
+            + "from RevenueDailyRollup r where r.bucketDate between :from and :to "
+            + "group by r.bucketDate, r.paymentMethod, r.status")
+    List<DailyRevenue> findDailyRevenue(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("delete from RevenueDailyRollup r where r.bucketDate between :from and :to")
+    int deleteByBucketDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Recalcul complet d'une periode depuis invoices et payments (stripe 0). Les factures PAID sans paiement
+    // (anterieures aux paiements partiels) sont encaissees a date_paiement pour leur montant total
+    @Modifying
+    @Query(value = "insert into revenue_daily_rollups (bucket_date, payment_method, status, stripe, "
+            + "billed_amount, billed_count, collected_amount, collected_count) "
+            + "select bucket_date, payment_method, status, 0, sum(billed_amount), sum(billed_count), "
+            + "sum(collected_amount), sum(collected_count) from ("
+            + "  select i.date_emission as bucket_date, coalesce(i.payment_method, 'NONE') as payment_method, "
+            + "  i.status as status, i.amount as billed_amount, 1 as billed_count, "
+            + "  0 as collected_amount, 0 as collected_count "
+            + "  from invoices i where i.date_emission between :from and :to "
+            + "  union all "
+            + "  select cast(p.paid_at as date), coalesce(p.payment_method, 'NONE'), i.status, 0, 0, p.amount, 1 "
+            + "  from payments p join invoices i on i.id = p.invoice_id "
+            + "  where p.paid_at >= :fromTime and p.paid_at < :toTime "
+            + "  union all "
+            + "  select i.date_paiement, coalesce(i.payment_method, 'NONE'), i.status, 0, 0, i.amount, 1 "
+            + "  from invoices i where i.status = 'PAID' and i.date_paiement between :from and :to "
+            + "  and not exists (select 1 from payments p where p.invoice_id = i.id)"
+            + ") t group by bucket_date, payment_method, status",
+            nativeQuery = true)
+    int insertFromInvoices(@Param("from") LocalDate from,
+                           @Param("to") LocalDate to,
+                           @Param("fromTime") LocalDateTime fromTime,
+                           @Param("toTime") LocalDateTime toTime);
+
+    @Query(value = "select min(d) from (select min(date_emission) as d from invoices "
+            + "union all select cast(min(paid_at) as date) from payments) t", nativeQuery = true)
+    LocalDate findFirstActivityDate();
+
+    interface DailyRevenue {
+        LocalDate getBucketDate();
+
+        String getPaymentMethod();
+
+        InvoiceStatus getStatus();
+
+        BigDecimal getBilledAmount();
+
+        Long getBilledCount();
+
+        BigDecimal getCollectedAmount();
+
+        Long getCollectedCount();
+    }
+}
@@ -0,0 +1,25 @@
+package com.techsolutions.billingservice.resources;
+
+import com.techsolutions.billingservice.enums.AuditEventType;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Builder
+public record AuditEntryResponse(
+        String journal,
+        Long sequence,
+        Instant recordedAt,
+        AuditEventType type,
+        Long invoiceId,
+        Long clientId,
+        Long paymentId,
+        BigDecimal amount,
+        BigDecimal remainingBalance,
+        InvoiceStatus status,
+        PaymentMethod paymentMethod,
+        String hash) {
+}
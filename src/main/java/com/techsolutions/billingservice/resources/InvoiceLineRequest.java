@@ -0,0 +1,39 @@
+package com.techsolutions.billingservice.resources;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record InvoiceLineRequest(
+        @NotBlank(message = "Line description is required")
+        @Size(max = 255, message = "Line description must not exceed 255 characters")
+        String description,
+
+        @NotNull(message = "Quantity is required")
+        @DecimalMin(value = "0.001", message = "Quantity must be greater than 0")
+        @Digits(integer = 9, fraction = 3, message = "Quantity must have at most 3 decimals")
+        BigDecimal quantity,
+
+        @NotNull(message = "Unit price is required")
+        @DecimalMin(value = "0.00", message = "Unit price must not be negative")
+        @Digits(integer = 8, fraction = 2, message = "Unit price must have at most 2 decimals")
+        BigDecimal unitPrice,
+
+        // Percentage, 0 when absent
+        @DecimalMin(value = "0.00", message = "Discount rate must not be negative")
+        @DecimalMax(value = "100.00", message = "Discount rate must not exceed 100")
+        @Digits(integer = 3, fraction = 2, message = "Discount rate must have at most 2 decimals")
+        BigDecimal discountRate,
+
+        // Percentage, 0 when absent
+        @DecimalMin(value = "0.00", message = "Tax rate must not be negative")
+        @Digits(integer = 3, fraction = 2, message = "Tax rate must be below 1000 with at most 2 decimals")
+        BigDecimal taxRate) {
+}
@@ -0,0 +1,18 @@
+package com.techsolutions.billingservice.resources;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record InvoiceLineResponse(
+        Integer lineNumber,
+        String description,
+        BigDecimal quantity,
+        BigDecimal unitPrice,
+        BigDecimal discountRate,
+        BigDecimal taxRate,
+        BigDecimal discountAmount,
+        BigDecimal taxAmount,
+        BigDecimal lineTotal) {
+}
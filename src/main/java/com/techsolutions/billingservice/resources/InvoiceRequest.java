@@ -1,6 +1,9 @@
 package com.techsolutions.billingservice.resources;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.techsolutions.billingservice.enums.PaymentMethod;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,13 +11,14 @@ import jakarta.validation.constraints.Size;
 import lombok.Builder;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Builder
 public record InvoiceRequest(
         @NotNull(message = "Client ID is required")
         Long clientId,
 
-        @NotNull(message = "Amount is required")
+        // Computed from the lines when they are given (must then match them if also sent)
         @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
         BigDecimal amount,
 
@@ -22,5 +26,19 @@ public record InvoiceRequest(
         @Size(max = 500, message = "Description must not exceed 500 characters")
         String description,
 
-        PaymentMethod paymentMethod) {
+        PaymentMethod paymentMethod,
+
+        @Valid
+        @Size(max = 500, message = "An invoice must not exceed 500 lines")
+        List<InvoiceLineRequest> lines) {
+
+    @JsonIgnore
+    @AssertTrue(message = "Amount is required when no lines are given")
+    public boolean isAmountPresent() {
+        return amount != null || hasLines();
+    }
+
+    public boolean hasLines() {
+        return lines != null && !lines.isEmpty();
+    }
 }
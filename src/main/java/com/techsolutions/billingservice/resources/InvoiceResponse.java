@@ -1,20 +1,33 @@
 package com.techsolutions.billingservice.resources;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.techsolutions.billingservice.enums.InvoiceStatus;
 import com.techsolutions.billingservice.enums.PaymentMethod;
 import lombok.Builder;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 @Builder
 public record InvoiceResponse(
         Long id,
         Long clientId,
         BigDecimal amount,
+        BigDecimal remainingBalance,
         String description,
         LocalDate dateEmission,
         LocalDate datePaiement,
         InvoiceStatus status,
-        PaymentMethod paymentMethod) {
+        PaymentMethod paymentMethod,
+        // Only populated for invoices itemised in lines
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        BigDecimal discountAmount,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        BigDecimal taxAmount,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<InvoiceLineResponse> lines,
+        // Only populated when payments are explicitly requested
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<PaymentResponse> payments) {
 }
@@ -0,0 +1,20 @@
+package com.techsolutions.billingservice.resources;
+
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record PaymentRequest(
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+        @Digits(integer = 8, fraction = 2, message = "Amount must have at most 2 decimals")
+        BigDecimal amount,
+
+        @NotNull(message = "Payment method is required")
+        PaymentMethod paymentMethod) {
+}
@@ -0,0 +1,16 @@
+package com.techsolutions.billingservice.resources;
+
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+public record PaymentResponse(
+        Long id,
+        Long invoiceId,
+        BigDecimal amount,
+        PaymentMethod paymentMethod,
+        LocalDateTime paidAt) {
+}
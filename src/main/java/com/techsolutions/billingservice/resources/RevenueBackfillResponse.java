@@ -0,0 +1,12 @@
+package com.techsolutions.billingservice.resources;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+@Builder
+public record RevenueBackfillResponse(
+        LocalDate from,
+        LocalDate to,
+        Integer buckets) {
+}
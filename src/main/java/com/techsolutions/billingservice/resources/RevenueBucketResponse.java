@@ -0,0 +1,19 @@
+package com.techsolutions.billingservice.resources;
+
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record RevenueBucketResponse(
+        LocalDate periodStart,
+        PaymentMethod paymentMethod,
+        InvoiceStatus status,
+        BigDecimal billedAmount,
+        Long billedCount,
+        BigDecimal collectedAmount,
+        Long collectedCount) {
+}
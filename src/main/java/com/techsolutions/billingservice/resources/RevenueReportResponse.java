@@ -0,0 +1,20 @@
+package com.techsolutions.billingservice.resources;
+
+import com.techsolutions.billingservice.enums.RevenueGrouping;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record RevenueReportResponse(
+        LocalDate from,
+        LocalDate to,
+        RevenueGrouping groupBy,
+        BigDecimal billedAmount,
+        Long billedCount,
+        BigDecimal collectedAmount,
+        Long collectedCount,
+        List<RevenueBucketResponse> buckets) {
+}
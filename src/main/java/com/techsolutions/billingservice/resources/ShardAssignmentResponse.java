@@ -0,0 +1,10 @@
+package com.techsolutions.billingservice.resources;
+
+import lombok.Builder;
+
+@Builder
+public record ShardAssignmentResponse(
+        Long clientId,
+        Integer shard,
+        Integer shardCount) {
+}
@@ -0,0 +1,11 @@
+package com.techsolutions.billingservice.resources;
+
+import lombok.Builder;
+
+@Builder
+public record ShardMoveResponse(
+        Long clientId,
+        Integer sourceShard,
+        Integer targetShard,
+        Integer movedInvoices) {
+}
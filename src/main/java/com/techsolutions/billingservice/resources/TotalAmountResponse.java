@@ -7,6 +7,7 @@ import java.math.BigDecimal;
 public record TotalAmountResponse(
         Long clientId,
         BigDecimal totalAmount,
+        BigDecimal outstandingAmount,
         Integer invoiceCount
 ) {
 }
@@ -0,0 +1,29 @@
+package com.techsolutions.billingservice.service;
+
+import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.Payment;
+import com.techsolutions.billingservice.resources.AuditEntryResponse;
+
+import java.util.List;
+
+public interface AuditService {
+
+    /**
+     * Journals the creation when the surrounding transaction, which must exist, commits: the commit waits for the
+     * entry to be on disk, and a rollback after the append is journaled as well.
+     */
+    void recordInvoiceCreated(Invoice invoice);
+
+    /**
+     * Journals a payment and the resulting invoice balance and status when the surrounding transaction commits.
+     */
+    void recordPayment(Invoice invoice, Payment payment);
+
+    /**
+     * History of an invoice read from the journals of every instance, in recording order. Each entry is checked
+     * against the hash chain of its journal.
+     *
+     * @throws com.techsolutions.billingservice.exception.InvoiceNotFoundException for an unknown invoice
+     */
+    List<AuditEntryResponse> getHistory(Long invoiceId);
+}
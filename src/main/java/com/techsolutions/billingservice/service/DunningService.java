@@ -0,0 +1,23 @@
+package com.techsolutions.billingservice.service;
+
+import com.techsolutions.billingservice.entities.Invoice;
+
+public interface DunningService {
+    void scheduleReminders(Invoice invoice);
+
+    void cancelReminders(Long invoiceId);
+
+    /**
+     * Dispatches at most one batch of due reminders.
+     *
+     * @return the number of reminders processed, 0 when nothing is due
+     */
+    int processDueReminders();
+
+    /**
+     * Schedules reminders for at most one batch of PENDING invoices that have none (created before dunning existed).
+     *
+     * @return the number of reminders created, 0 when every PENDING invoice has one
+     */
+    int backfillReminders();
+}
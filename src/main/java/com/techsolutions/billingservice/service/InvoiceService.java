@@ -2,6 +2,8 @@ package com.techsolutions.billingservice.service;
 
 import com.techsolutions.billingservice.resources.InvoiceRequest;
 import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.PaymentResponse;
 import com.techsolutions.billingservice.resources.TotalAmountResponse;
 
 import java.util.List;
@@ -13,7 +15,18 @@ public interface InvoiceService {
 
     List<InvoiceResponse> getInvoicesByClient(Long clientId);
 
+    List<InvoiceResponse> getInvoicesWithPaymentsByClient(Long clientId);
+
+    /**
+     * One page of a client's invoices in id order, starting after {@code afterId} (0 for the first page).
+     */
+    List<InvoiceResponse> getInvoicesByClientAfter(Long clientId, long afterId, int limit, boolean includePayments);
+
     InvoiceResponse payInvoice(Long id);
 
+    InvoiceResponse addPayment(Long invoiceId, PaymentRequest paymentRequestDTO);
+
+    List<PaymentResponse> getPayments(Long invoiceId);
+
     TotalAmountResponse getTotalAmountByClient(Long clientId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.techsolutions.billingservice.service;
+
+import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.Payment;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.RevenueGrouping;
+import com.techsolutions.billingservice.resources.RevenueReportResponse;
+
+import java.time.LocalDate;
+
+public interface RevenueAnalyticsService {
+
+    /**
+     * Adds a new invoice to the billed figures. Must run in the transaction that creates it, on its shard.
+     */
+    void recordInvoiceCreated(Invoice invoice);
+
+    /**
+     * Adds a payment to the collected figures and, when it changed the invoice status, moves the invoice and its
+     * earlier payments to the new status bucket. Must run in the transaction that saved the payment.
+     */
+    void recordPayment(Invoice invoice, Payment payment, InvoiceStatus previousStatus);
+
+    /**
+     * Reads the rollups of every shard; cost depends on the number of days, not on the number of invoices.
+     */
+    RevenueReportResponse getRevenue(LocalDate from, LocalDate to, RevenueGrouping groupBy);
+
+    /**
+     * Recomputes the rollups of a date range on every shard from the invoices and payments tables. The range is
+     * bounded like reports, and live rollup updates of the shard wait while it is rebuilt.
+     *
+     * @return the number of buckets written
+     */
+    int backfill(LocalDate from, LocalDate to);
+
+    /**
+     * Backfills the history of every shard that has no rollups yet (first deployment of the feature).
+     *
+     * @return the number of buckets written
+     */
+    int backfillMissing();
+
+    /**
+     * Creates the empty buckets of a day on every shard, so that the write path of that day only runs updates.
+     *
+     * @return the number of buckets created
+     */
+    int prepareBuckets(LocalDate day);
+}
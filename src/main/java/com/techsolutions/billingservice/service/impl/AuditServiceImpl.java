@@ -0,0 +1,181 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.audit.AuditEvent;
+import com.techsolutions.billingservice.audit.AuditJournal;
+import com.techsolutions.billingservice.audit.AuditRecord;
+import com.techsolutions.billingservice.config.AuditProperties;
+import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.Payment;
+import com.techsolutions.billingservice.enums.AuditEventType;
+import com.techsolutions.billingservice.exception.InvoiceNotFoundException;
+import com.techsolutions.billingservice.repository.InvoiceRepository;
+import com.techsolutions.billingservice.resources.AuditEntryResponse;
+import com.techsolutions.billingservice.service.AuditService;
+import com.techsolutions.billingservice.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Journals invoice mutations at commit time, without any database write: the entry is appended and forced to
+ * disk just before the transaction commits, so a committed mutation is always journaled, and a failed append
+ * rolls the mutation back. A transaction that still rolls back afterwards (the database commit itself failing)
+ * gets a {@link AuditEventType#ROLLED_BACK} entry cancelling the first one.
+ *
+ * <p>Every instance writes its own journal under the shared audit directory; the history of an invoice merges
+ * all of them, since any instance may have served its mutations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditServiceImpl implements AuditService {
+
+    private final AuditJournal auditJournal;
+    private final AuditProperties properties;
+    private final InvoiceRepository invoiceRepository;
+    private final ShardRouter shardRouter;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInvoiceCreated(Invoice invoice) {
+        journalOnCommit(AuditEvent.builder()
+                .type(AuditEventType.INVOICE_CREATED)
+                .invoiceId(invoice.getId())
+                .clientId(invoice.getClientId())
+                .amount(invoice.getAmount())
+                .remainingBalance(invoice.outstandingBalance())
+                .status(invoice.getStatus())
+                .paymentMethod(invoice.getPaymentMethod())
+                .build());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(Invoice invoice, Payment payment) {
+        journalOnCommit(AuditEvent.builder()
+                .type(AuditEventType.PAYMENT_RECORDED)
+                .invoiceId(invoice.getId())
+                .clientId(invoice.getClientId())
+                .paymentId(payment.getId())
+                .amount(payment.getAmount())
+                .remainingBalance(invoice.outstandingBalance())
+                .status(invoice.getStatus())
+                .paymentMethod(payment.getPaymentMethod())
+                .build());
+    }
+
+    @Override
+    public List<AuditEntryResponse> getHistory(Long invoiceId) {
+        List<AuditEntryResponse> history = new ArrayList<>();
+        try {
+            add(history, properties.getInstance(), auditJournal.history(invoiceId));
+            for (Path journal : otherJournals()) {
+                add(history, journal.getFileName().toString(), AuditJournal.history(journal, invoiceId));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (history.isEmpty() && !shardRouter.onInvoice(invoiceId, () -> invoiceRepository.existsById(invoiceId))) {
+            throw new InvoiceNotFoundException("Invoice not found with id: " + invoiceId);
+        }
+        history.sort(Comparator.comparing(AuditEntryResponse::recordedAt)
+                .thenComparing(AuditEntryResponse::journal)
+                .thenComparing(AuditEntryResponse::sequence));
+        return history;
+    }
+
+    // L'evenement est fige maintenant : l'entite peut encore changer avant le commit
+    private void journalOnCommit(AuditEvent event) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private AuditRecord record;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                record = auditJournal.append(event);
+                awaitDurable(record);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (record == null || status == STATUS_COMMITTED) {
+                    return;
+                }
+                if (status == STATUS_UNKNOWN) {
+                    log.error("Audit entry {} ({} of invoice {}): transaction outcome unknown",
+                            record.sequence(), event.type(), event.invoiceId());
+                    return;
+                }
+                try {
+                    auditJournal.append(AuditEvent.builder()
+                            .type(AuditEventType.ROLLED_BACK)
+                            .invoiceId(event.invoiceId())
+                            .clientId(event.clientId())
+                            .paymentId(event.paymentId())
+                            .build());
+                } catch (RuntimeException e) {
+                    log.error("Failed to journal the rollback of audit entry {}", record.sequence(), e);
+                }
+            }
+        });
+    }
+
+    // Throwing here rolls the business transaction back: nothing commits without its entry on disk
+    private void awaitDurable(AuditRecord record) {
+        try {
+            if (!auditJournal.awaitDurable(record.sequence(), properties.getCommitTimeout())) {
+                throw new IllegalStateException("Audit entry " + record.sequence() + " not durable after "
+                        + properties.getCommitTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while journaling audit entry " + record.sequence(), e);
+        }
+    }
+
+    // Read-only: their owners may be running and appending
+    private List<Path> otherJournals() throws IOException {
+        Path root = auditJournal.directory().getParent();
+        try (Stream<Path> journals = Files.list(root)) {
+            return journals.filter(Files::isDirectory)
+                    .filter(journal -> !journal.getFileName().toString().equals(properties.getInstance()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void add(List<AuditEntryResponse> history, String journal, List<AuditRecord> records) {
+        records.forEach(record -> history.add(toDTO(journal, record)));
+    }
+
+    private static AuditEntryResponse toDTO(String journal, AuditRecord record) {
+        AuditEvent event = record.event();
+        return AuditEntryResponse.builder()
+                .journal(journal)
+                .sequence(record.sequence())
+                .recordedAt(record.recordedAt())
+                .type(event.type())
+                .invoiceId(event.invoiceId())
+                .clientId(event.clientId())
+                .paymentId(event.paymentId())
+                .amount(event.amount())
+                .remainingBalance(event.remainingBalance())
+                .status(event.status())
+                .paymentMethod(event.paymentMethod())
+                .hash(record.hashHex())
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.PaymentResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import com.techsolutions.billingservice.service.InvoiceService;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Shares one in-flight query between concurrent identical per-client reads (e.g. a dashboard firing the same
+ * calls dozens of times). Writes and single-invoice reads go straight to the delegate.
+ */
+public class CoalescingInvoiceService implements InvoiceService {
+
+    private final InvoiceService delegate;
+    private final SingleFlight<Long, List<InvoiceResponse>> invoicesByClient;
+    private final SingleFlight<Long, TotalAmountResponse> totalByClient;
+
+    public CoalescingInvoiceService(InvoiceService delegate, Duration maxWait) {
+        this.delegate = delegate;
+        this.invoicesByClient = new SingleFlight<>(maxWait);
+        this.totalByClient = new SingleFlight<>(maxWait);
+    }
+
+    @Override
+    public InvoiceResponse createInvoice(InvoiceRequest invoiceRequestDTO) {
+        return delegate.createInvoice(invoiceRequestDTO);
+    }
+
+    @Override
+    public InvoiceResponse getInvoice(Long id) {
+        return delegate.getInvoice(id);
+    }
+
+    @Override
+    public List<InvoiceResponse> getInvoicesByClient(Long clientId) {
+        return invoicesByClient.execute(clientId, () -> delegate.getInvoicesByClient(clientId));
+    }
+
+    @Override
+    public List<InvoiceResponse> getInvoicesWithPaymentsByClient(Long clientId) {
+        return delegate.getInvoicesWithPaymentsByClient(clientId);
+    }
+
+    @Override
+    public List<InvoiceResponse> getInvoicesByClientAfter(Long clientId, long afterId, int limit,
+                                                          boolean includePayments) {
+        return delegate.getInvoicesByClientAfter(clientId, afterId, limit, includePayments);
+    }
+
+    @Override
+    public InvoiceResponse payInvoice(Long id) {
+        return delegate.payInvoice(id);
+    }
+
+    @Override
+    public InvoiceResponse addPayment(Long invoiceId, PaymentRequest paymentRequestDTO) {
+        return delegate.addPayment(invoiceId, paymentRequestDTO);
+    }
+
+    @Override
+    public List<PaymentResponse> getPayments(Long invoiceId) {
+        return delegate.getPayments(invoiceId);
+    }
+
+    @Override
+    public TotalAmountResponse getTotalAmountByClient(Long clientId) {
+        return totalByClient.execute(clientId, () -> delegate.getTotalAmountByClient(clientId));
+    }
+}
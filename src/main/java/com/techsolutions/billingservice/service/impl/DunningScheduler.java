@@ -0,0 +1,55 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.config.DunningProperties;
+import com.techsolutions.billingservice.service.DunningService;
+import com.techsolutions.billingservice.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "billing.dunning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DunningScheduler {
+
+    private final DunningService dunningService;
+    private final DunningProperties properties;
+    private final ShardRouter shardRouter;
+
+    // PENDING invoices created before dunning existed have no reminder row yet
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillReminders() {
+        if (!properties.isBackfillOnStartup()) {
+            return;
+        }
+        AtomicInteger total = new AtomicInteger();
+        shardRouter.forEachShard(shard -> {
+            int created;
+            do {
+                created = dunningService.backfillReminders();
+                total.addAndGet(created);
+            } while (created >= properties.getBatchSize());
+        });
+        if (total.get() > 0) {
+            log.info("Dunning reminders backfilled at startup: {}", total.get());
+        }
+    }
+
+    // Each batch runs in its own transactions; keep going until the due range of every shard is drained
+    @Scheduled(fixedDelayString = "${billing.dunning.tick-interval:PT1M}")
+    public void tick() {
+        shardRouter.forEachShard(shard -> {
+            int processed;
+            do {
+                processed = dunningService.processDueReminders();
+            } while (processed >= properties.getBatchSize());
+        });
+    }
+}
@@ -0,0 +1,223 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.config.DunningProperties;
+import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.InvoiceReminder;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.notification.ReminderNotification;
+import com.techsolutions.billingservice.notification.ReminderSender;
+import com.techsolutions.billingservice.repository.InvoiceReminderRepository;
+import com.techsolutions.billingservice.repository.InvoiceRepository;
+import com.techsolutions.billingservice.service.DunningService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dunning in three steps so that the webhook call never holds a connection or a row lock: a short transaction
+ * claims the due reminders (SKIP LOCKED, then leased for {@code claim-timeout}), the batch is sent after commit,
+ * and a second short transaction records the outcome. Delivery is at-least-once: a crash between the send and
+ * the record re-sends the batch once the lease expires.
+ */
+@Slf4j
+@Service
+public class DunningServiceImpl implements DunningService {
+
+    private final InvoiceReminderRepository reminderRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final ReminderSender reminderSender;
+    private final DunningProperties properties;
+    private final TransactionTemplate transaction;
+
+    public DunningServiceImpl(InvoiceReminderRepository reminderRepository,
+                              InvoiceRepository invoiceRepository,
+                              ReminderSender reminderSender,
+                              DunningProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.reminderRepository = reminderRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.reminderSender = reminderSender;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public void scheduleReminders(Invoice invoice) {
+        if (invoice.getStatus() != InvoiceStatus.PENDING || properties.getOffsets().isEmpty()) {
+            return;
+        }
+        reminderRepository.save(firstReminder(invoice, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    public void cancelReminders(Long invoiceId) {
+        reminderRepository.deleteByInvoiceId(invoiceId);
+    }
+
+    @Override
+    public int processDueReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        Claim claim = transaction.execute(status -> claimDue(now));
+        if (claim == null || claim.due() == 0) {
+            return 0;
+        }
+
+        if (!claim.notifications().isEmpty()) {
+            boolean sent = send(claim.notifications());
+            transaction.executeWithoutResult(status -> recordOutcome(claim, sent, LocalDateTime.now()));
+        }
+        return claim.due();
+    }
+
+    @Override
+    @Transactional
+    public int backfillReminders() {
+        if (properties.getOffsets().isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Invoice> invoices = invoiceRepository.findPendingWithoutReminder(PageRequest.ofSize(properties.getBatchSize()));
+        reminderRepository.saveAll(invoices.stream().map(invoice -> firstReminder(invoice, now)).toList());
+        return invoices.size();
+    }
+
+    // Hors transaction : aucune connexion ni verrou n'est tenu pendant l'appel au webhook
+    private boolean send(List<ReminderNotification> notifications) {
+        try {
+            reminderSender.send(notifications);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to send {} reminders: {}", notifications.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    // Les factures payees ou annulees entre-temps sortent simplement du planning
+    private Claim claimDue(LocalDateTime now) {
+        List<InvoiceReminder> due = reminderRepository.findDue(now, PageRequest.ofSize(properties.getBatchSize()));
+        if (due.isEmpty()) {
+            return new Claim(0, List.of(), Map.of(), List.of());
+        }
+        Map<Long, Invoice> invoices = invoiceRepository.findAllById(due.stream().map(InvoiceReminder::getInvoiceId).toList())
+                .stream()
+                .collect(Collectors.toMap(Invoice::getId, Function.identity()));
+
+        List<InvoiceReminder> finished = new ArrayList<>();
+        List<ReminderNotification> notifications = new ArrayList<>();
+        Map<Long, Integer> claimedStages = new HashMap<>();
+        for (InvoiceReminder reminder : due) {
+            Invoice invoice = invoices.get(reminder.getInvoiceId());
+            if (invoice == null || invoice.getStatus() != InvoiceStatus.PENDING) {
+                finished.add(reminder);
+                continue;
+            }
+            // Hidden from other ticks and instances while the batch is being sent
+            reminder.setNextActionAt(now.plus(properties.getClaimTimeout()));
+            claimedStages.put(reminder.getId(), reminder.getStage());
+            notifications.add(toNotification(reminder, invoice));
+        }
+        if (!finished.isEmpty()) {
+            reminderRepository.deleteAllInBatch(finished);
+        }
+        return new Claim(due.size(), notifications, claimedStages, List.copyOf(invoices.values()));
+    }
+
+    // A reminder deleted (invoice paid) or moved to another stage since the claim is left alone
+    private void recordOutcome(Claim claim, boolean sent, LocalDateTime now) {
+        Map<Long, Invoice> invoices = claim.invoices().stream()
+                .collect(Collectors.toMap(Invoice::getId, Function.identity()));
+        List<InvoiceReminder> finished = new ArrayList<>();
+        for (InvoiceReminder reminder : reminderRepository.findAllById(List.copyOf(claim.claimedStages().keySet()))) {
+            if (!claim.claimedStages().get(reminder.getId()).equals(reminder.getStage())) {
+                continue;
+            }
+            Invoice invoice = invoices.get(reminder.getInvoiceId());
+            if (sent) {
+                advance(reminder, invoice, now, finished);
+            } else {
+                retryLater(reminder, invoice, now, finished);
+            }
+        }
+        if (!finished.isEmpty()) {
+            reminderRepository.deleteAllInBatch(finished);
+        }
+    }
+
+    // Next stage at its configured date, but never closer to now than the configured gap between the two stages:
+    // after downtime the remaining stages are shifted instead of being sent in one burst
+    private void advance(InvoiceReminder reminder, Invoice invoice, LocalDateTime now, List<InvoiceReminder> finished) {
+        int stage = reminder.getStage();
+        int nextStage = stage + 1;
+        if (nextStage >= properties.getOffsets().size()) {
+            finished.add(reminder);
+            return;
+        }
+        Duration gap = properties.getOffsets().get(nextStage).minus(properties.getOffsets().get(stage));
+        LocalDateTime scheduled = actionTime(invoice, nextStage);
+        LocalDateTime earliest = now.plus(gap);
+        reminder.setStage(nextStage);
+        reminder.setAttempts(0);
+        reminder.setNextActionAt(scheduled.isAfter(earliest) ? scheduled : earliest);
+    }
+
+    private void retryLater(InvoiceReminder reminder, Invoice invoice, LocalDateTime now, List<InvoiceReminder> finished) {
+        int attempts = reminder.getAttempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            log.warn("Giving up reminder #{} for invoice {} after {} attempts",
+                    reminder.getStage() + 1, reminder.getInvoiceId(), attempts);
+            advance(reminder, invoice, now, finished);
+            return;
+        }
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 16));
+        reminder.setAttempts(attempts);
+        reminder.setNextActionAt(now.plus(backoff));
+    }
+
+    // Invoices older than some offsets start at the latest stage already due, which is sent on the next tick
+    private InvoiceReminder firstReminder(Invoice invoice, LocalDateTime now) {
+        int stage = 0;
+        while (stage + 1 < properties.getOffsets().size() && !actionTime(invoice, stage + 1).isAfter(now)) {
+            stage++;
+        }
+        return InvoiceReminder.builder()
+                .invoiceId(invoice.getId())
+                .nextActionAt(actionTime(invoice, stage))
+                .stage(stage)
+                .attempts(0)
+                .build();
+    }
+
+    private LocalDateTime actionTime(Invoice invoice, int stage) {
+        return invoice.getDateEmission().atStartOfDay().plus(properties.getOffsets().get(stage));
+    }
+
+    private ReminderNotification toNotification(InvoiceReminder reminder, Invoice invoice) {
+        return ReminderNotification.builder()
+                .invoiceId(invoice.getId())
+                .clientId(invoice.getClientId())
+                .amount(invoice.outstandingBalance())
+                .dateEmission(invoice.getDateEmission())
+                .stage(reminder.getStage())
+                .build();
+    }
+
+    private record Claim(int due,
+                         List<ReminderNotification> notifications,
+                         Map<Long, Integer> claimedStages,
+                         List<Invoice> invoices) {
+    }
+}
@@ -1,7 +1,13 @@
 package com.techsolutions.billingservice.service.impl;
 
+import com.techsolutions.billingservice.entities.InvoiceLine;
+import com.techsolutions.billingservice.entities.Payment;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.resources.InvoiceLineRequest;
 import com.techsolutions.billingservice.resources.InvoiceRequest;
 import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.PaymentResponse;
 import com.techsolutions.billingservice.resources.TotalAmountResponse;
 import com.techsolutions.billingservice.entities.Invoice;
 import com.techsolutions.billingservice.enums.InvoiceStatus;
@@ -9,28 +15,50 @@ import com.techsolutions.billingservice.exception.InvoiceNotFoundException;
 import com.techsolutions.billingservice.exception.InvalidInvoiceOperationException;
 import com.techsolutions.billingservice.mapper.InvoiceMapper;
 import com.techsolutions.billingservice.repository.InvoiceRepository;
+import com.techsolutions.billingservice.repository.PaymentRepository;
+import com.techsolutions.billingservice.service.AuditService;
+import com.techsolutions.billingservice.service.DunningService;
 import com.techsolutions.billingservice.service.InvoiceService;
+import com.techsolutions.billingservice.service.RevenueAnalyticsService;
+import com.techsolutions.billingservice.tax.InvoiceTotals;
+import com.techsolutions.billingservice.tax.LineItems;
+import com.techsolutions.billingservice.tax.TaxEngine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor // Injection de dépendances via constructeur (Lombok)
 @Transactional
 public class InvoiceServiceImpl implements InvoiceService {
 
+    // Borne de NUMERIC(10,2), en centimes
+    private static final long MAX_AMOUNT_MINOR = 9_999_999_999L;
+
     private final InvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
     private final InvoiceMapper invoiceMapper;
+    private final DunningService dunningService;
+    private final RevenueAnalyticsService revenueAnalyticsService;
+    private final AuditService auditService;
 
     @Override
     public InvoiceResponse createInvoice(InvoiceRequest invoiceRequestDTO) {
         Invoice invoice = invoiceMapper.toEntity(invoiceRequestDTO);
+        if (invoiceRequestDTO.hasLines()) {
+            priceLines(invoice, invoiceRequestDTO);
+        }
         Invoice savedInvoice = invoiceRepository.save(invoice);
+        dunningService.scheduleReminders(savedInvoice);
+        revenueAnalyticsService.recordInvoiceCreated(savedInvoice);
+        auditService.recordInvoiceCreated(savedInvoice);
         return invoiceMapper.toDTO(savedInvoice);
     }
 
@@ -43,28 +71,77 @@ public class InvoiceServiceImpl implements InvoiceService {
 
     @Override
     public List<InvoiceResponse> getInvoicesByClient(Long clientId) {
+        // Liste immuable : le resultat peut etre partage entre plusieurs requetes (voir CoalescingInvoiceService)
         return invoiceRepository.findByClientId(clientId).stream()
                 .map(invoiceMapper::toDTO)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    @Override
+    public List<InvoiceResponse> getInvoicesWithPaymentsByClient(Long clientId) {
+        // Les paiements sont charges par lots (@BatchSize) et non une requete par facture
+        return invoiceRepository.findByClientId(clientId).stream()
+                .map(invoiceMapper::toDTOWithPayments)
+                .toList();
+    }
+
+    @Override
+    public List<InvoiceResponse> getInvoicesByClientAfter(Long clientId, long afterId, int limit,
+                                                          boolean includePayments) {
+        return invoiceRepository.findByClientIdAndIdGreaterThanOrderById(clientId, afterId, PageRequest.ofSize(limit))
+                .stream()
+                .map(includePayments ? invoiceMapper::toDTOWithPayments : invoiceMapper::toDTO)
+                .toList();
     }
 
     @Override
     public InvoiceResponse payInvoice(Long id) {
-        Invoice invoice = invoiceRepository.findById(id)
+        Invoice invoice = invoiceRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new InvoiceNotFoundException("Invoice not found with id: " + id));
 
         if (invoice.getStatus() == InvoiceStatus.PAID) {
             throw new InvalidInvoiceOperationException("Invoice is already paid");
         }
+        if (invoice.getStatus() != InvoiceStatus.PENDING) {
+            throw new InvalidInvoiceOperationException("Only a pending invoice can be paid");
+        }
 
-        // Logique de paiement [cite: 14]
-        invoice.setStatus(InvoiceStatus.PAID);
-        invoice.setDatePaiement(LocalDate.now());
+        // Logique de paiement [cite: 14] : le solde restant est regle en une fois
+        applyPayment(invoice, invoice.outstandingBalance(), invoice.getPaymentMethod());
 
         Invoice savedInvoice = invoiceRepository.save(invoice);
         return invoiceMapper.toDTO(savedInvoice);
     }
 
+    @Override
+    public InvoiceResponse addPayment(Long invoiceId, PaymentRequest paymentRequestDTO) {
+        Invoice invoice = invoiceRepository.findByIdForUpdate(invoiceId)
+                .orElseThrow(() -> new InvoiceNotFoundException("Invoice not found with id: " + invoiceId));
+
+        if (invoice.getStatus() != InvoiceStatus.PENDING) {
+            throw new InvalidInvoiceOperationException("Payments can only be added to a pending invoice");
+        }
+        if (paymentRequestDTO.amount().compareTo(invoice.outstandingBalance()) > 0) {
+            throw new InvalidInvoiceOperationException(
+                    "Payment exceeds the remaining balance of " + invoice.outstandingBalance());
+        }
+
+        applyPayment(invoice, paymentRequestDTO.amount(), paymentRequestDTO.paymentMethod());
+
+        Invoice savedInvoice = invoiceRepository.save(invoice);
+        return invoiceMapper.toDTO(savedInvoice);
+    }
+
+    @Override
+    public List<PaymentResponse> getPayments(Long invoiceId) {
+        if (!invoiceRepository.existsById(invoiceId)) {
+            throw new InvoiceNotFoundException("Invoice not found with id: " + invoiceId);
+        }
+        return paymentRepository.findByInvoiceIdOrderByPaidAt(invoiceId).stream()
+                .map(invoiceMapper::toPaymentDTO)
+                .toList();
+    }
+
     @Override
     public TotalAmountResponse getTotalAmountByClient(Long clientId) {
         List<Invoice> invoices = invoiceRepository.findByClientId(clientId);
@@ -73,11 +150,86 @@ public class InvoiceServiceImpl implements InvoiceService {
         BigDecimal total = invoices.stream()
                 .map(Invoice::getAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal outstanding = invoices.stream()
+                .map(Invoice::outstandingBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         return TotalAmountResponse.builder()
                 .clientId(clientId)
                 .totalAmount(total)
+                .outstandingAmount(outstanding)
                 .invoiceCount(invoices.size())
                 .build();
     }
-}
\ No newline at end of file
+
+    // Montants calcules en centimes par le TaxEngine ; le montant envoye par l'appelant, s'il y en a un, doit concorder
+    private void priceLines(Invoice invoice, InvoiceRequest request) {
+        List<InvoiceLineRequest> requestLines = request.lines();
+        LineItems items = new LineItems(requestLines.size());
+        InvoiceTotals totals;
+        try {
+            for (InvoiceLineRequest line : requestLines) {
+                items.add(TaxEngine.toMinorUnits(line.unitPrice()),
+                        TaxEngine.toMilliUnits(line.quantity()),
+                        TaxEngine.toBasisPoints(line.discountRate()),
+                        TaxEngine.toBasisPoints(line.taxRate()));
+            }
+            totals = TaxEngine.calculate(items);
+        } catch (ArithmeticException e) {
+            throw new InvalidInvoiceOperationException("Invoice lines exceed the maximum amount");
+        }
+        if (totals.totalMinor() <= 0) {
+            throw new InvalidInvoiceOperationException("Invoice total must be greater than 0");
+        }
+        if (totals.totalMinor() > MAX_AMOUNT_MINOR) {
+            throw new InvalidInvoiceOperationException("Invoice total exceeds the maximum amount");
+        }
+
+        BigDecimal total = TaxEngine.fromMinorUnits(totals.totalMinor());
+        if (request.amount() != null && request.amount().compareTo(total) != 0) {
+            throw new InvalidInvoiceOperationException(
+                    "Amount " + request.amount() + " does not match the total of the lines " + total);
+        }
+
+        List<InvoiceLine> lines = new ArrayList<>(requestLines.size());
+        for (int i = 0; i < requestLines.size(); i++) {
+            InvoiceLineRequest line = requestLines.get(i);
+            lines.add(InvoiceLine.builder()
+                    .description(line.description())
+                    .quantity(line.quantity())
+                    .unitPrice(line.unitPrice())
+                    .discountRate(line.discountRate() == null ? BigDecimal.ZERO : line.discountRate())
+                    .taxRate(line.taxRate() == null ? BigDecimal.ZERO : line.taxRate())
+                    .discountAmount(TaxEngine.fromMinorUnits(items.discountMinor(i)))
+                    .taxAmount(TaxEngine.fromMinorUnits(items.taxMinor(i)))
+                    .lineTotal(TaxEngine.fromMinorUnits(items.totalMinor(i)))
+                    .build());
+        }
+        invoice.setLines(lines);
+        invoice.setAmount(total);
+        invoice.setRemainingBalance(total);
+        invoice.setDiscountAmount(TaxEngine.fromMinorUnits(totals.discountMinor()));
+        invoice.setTaxAmount(TaxEngine.fromMinorUnits(totals.taxMinor()));
+    }
+
+    // Le paiement est enregistre directement : inutile de charger la collection invoice.payments pour l'ajouter
+    private void applyPayment(Invoice invoice, BigDecimal amount, PaymentMethod paymentMethod) {
+        InvoiceStatus previousStatus = invoice.getStatus();
+        Payment payment = paymentRepository.save(Payment.builder()
+                .invoice(invoice)
+                .amount(amount)
+                .paymentMethod(paymentMethod)
+                .paidAt(LocalDateTime.now())
+                .build());
+
+        BigDecimal remaining = invoice.outstandingBalance().subtract(amount);
+        invoice.setRemainingBalance(remaining);
+        if (remaining.signum() == 0) {
+            invoice.setStatus(InvoiceStatus.PAID);
+            invoice.setDatePaiement(LocalDate.now());
+            dunningService.cancelReminders(invoice.getId());
+        }
+        revenueAnalyticsService.recordPayment(invoice, payment, previousStatus);
+        auditService.recordPayment(invoice, payment);
+    }
+}
@@ -0,0 +1,378 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.config.AnalyticsProperties;
+import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.Payment;
+import com.techsolutions.billingservice.entities.RevenueDailyRollup;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.enums.RevenueGrouping;
+import com.techsolutions.billingservice.exception.InvalidInvoiceOperationException;
+import com.techsolutions.billingservice.repository.PaymentRepository;
+import com.techsolutions.billingservice.repository.RevenueRollupRepository;
+import com.techsolutions.billingservice.resources.RevenueBucketResponse;
+import com.techsolutions.billingservice.resources.RevenueReportResponse;
+import com.techsolutions.billingservice.service.RevenueAnalyticsService;
+import com.techsolutions.billingservice.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the per-day revenue buckets up to date from the invoice write path and answers reports from them.
+ * Writes join the caller's transaction on the current shard and only use its connection; reads and backfills
+ * visit every shard. The buckets of the current day are created ahead of time ({@link #prepareBuckets}), so the
+ * write path normally only runs updates, always in bucket key order so that two transactions cannot deadlock.
+ */
+@Slf4j
+@Service
+public class RevenueAnalyticsServiceImpl implements RevenueAnalyticsService {
+
+    private static final List<String> PAYMENT_METHODS = Stream.concat(
+            Stream.of(RevenueDailyRollup.NO_PAYMENT_METHOD),
+            Arrays.stream(PaymentMethod.values()).map(Enum::name)).toList();
+
+    private static final String INSERT_BUCKET = "insert into revenue_daily_rollups (bucket_date, payment_method, "
+            + "status, stripe, billed_amount, billed_count, collected_amount, collected_count) "
+            + "select ?, ?, ?, ?, 0, 0, 0, 0 where not exists (select 1 from revenue_daily_rollups "
+            + "where bucket_date = ? and payment_method = ? and status = ? and stripe = ?)";
+    private static final String UNIQUE_VIOLATION = "23505";
+    // Conflicts with the row locks of updates and inserts, not with plain reads
+    private static final String LOCK_ROLLUPS = "lock table revenue_daily_rollups in exclusive mode";
+    private static final String LOCK_ROLLUP_ROWS = "select id from revenue_daily_rollups for update";
+
+    private final RevenueRollupRepository rollupRepository;
+    private final PaymentRepository paymentRepository;
+    private final ShardRouter shardRouter;
+    private final AnalyticsProperties properties;
+    private final TransactionTemplate transaction;
+    private final EntityManager entityManager;
+
+    public RevenueAnalyticsServiceImpl(RevenueRollupRepository rollupRepository,
+                                       PaymentRepository paymentRepository,
+                                       ShardRouter shardRouter,
+                                       AnalyticsProperties properties,
+                                       PlatformTransactionManager transactionManager,
+                                       EntityManager entityManager) {
+        this.rollupRepository = rollupRepository;
+        this.paymentRepository = paymentRepository;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public void recordInvoiceCreated(Invoice invoice) {
+        Map<RollupKey, RollupDelta> deltas = new TreeMap<>();
+        billed(deltas, invoice, invoice.getStatus(), 1);
+        apply(deltas);
+    }
+
+    @Override
+    @Transactional
+    public void recordPayment(Invoice invoice, Payment payment, InvoiceStatus previousStatus) {
+        Map<RollupKey, RollupDelta> deltas = new TreeMap<>();
+        collected(deltas, invoice, payment, invoice.getStatus(), 1);
+        if (previousStatus != invoice.getStatus()) {
+            billed(deltas, invoice, previousStatus, -1);
+            billed(deltas, invoice, invoice.getStatus(), 1);
+            for (Payment earlier : paymentRepository.findByInvoiceIdOrderByPaidAt(invoice.getId())) {
+                if (!Objects.equals(earlier.getId(), payment.getId())) {
+                    collected(deltas, invoice, earlier, previousStatus, -1);
+                    collected(deltas, invoice, earlier, invoice.getStatus(), 1);
+                }
+            }
+        }
+        apply(deltas);
+    }
+
+    @Override
+    public RevenueReportResponse getRevenue(LocalDate from, LocalDate to, RevenueGrouping groupBy) {
+        validateRange(from, to);
+
+        // Trie par periode, moyen de paiement (sans moyen en premier) puis statut
+        Map<BucketKey, RevenueBucketResponse> buckets = new TreeMap<>();
+        shardRouter.forEachShard(shard -> {
+            for (RevenueRollupRepository.DailyRevenue day : rollupRepository.findDailyRevenue(from, to)) {
+                BucketKey key = new BucketKey(periodStart(day.getBucketDate(), groupBy),
+                        paymentMethod(day.getPaymentMethod()), day.getStatus());
+                buckets.merge(key, toBucket(key, day), RevenueAnalyticsServiceImpl::add);
+            }
+        });
+
+        // Les lignes qui s'annulent (facture passee de PENDING a PAID) ne sont pas renvoyees
+        List<RevenueBucketResponse> nonEmpty = new ArrayList<>();
+        BigDecimal billedAmount = BigDecimal.ZERO;
+        BigDecimal collectedAmount = BigDecimal.ZERO;
+        long billedCount = 0;
+        long collectedCount = 0;
+        for (RevenueBucketResponse bucket : buckets.values()) {
+            if (bucket.billedCount() == 0 && bucket.collectedCount() == 0
+                    && bucket.billedAmount().signum() == 0 && bucket.collectedAmount().signum() == 0) {
+                continue;
+            }
+            nonEmpty.add(bucket);
+            billedAmount = billedAmount.add(bucket.billedAmount());
+            billedCount += bucket.billedCount();
+            collectedAmount = collectedAmount.add(bucket.collectedAmount());
+            collectedCount += bucket.collectedCount();
+        }
+
+        return RevenueReportResponse.builder()
+                .from(from)
+                .to(to)
+                .groupBy(groupBy)
+                .billedAmount(billedAmount)
+                .billedCount(billedCount)
+                .collectedAmount(collectedAmount)
+                .collectedCount(collectedCount)
+                .buckets(nonEmpty)
+                .build();
+    }
+
+    @Override
+    public int backfill(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        AtomicInteger written = new AtomicInteger();
+        shardRouter.forEachShard(shard -> written.addAndGet(rebuild(shard, from, to)));
+        return written.get();
+    }
+
+    @Override
+    public int backfillMissing() {
+        AtomicInteger written = new AtomicInteger();
+        shardRouter.forEachShard(shard -> {
+            // Les buckets vides crees a l'avance ne comptent pas
+            if (rollupRepository.hasActivity()) {
+                return;
+            }
+            LocalDate first = rollupRepository.findFirstActivityDate();
+            if (first != null) {
+                written.addAndGet(rebuild(shard, first, LocalDate.now()));
+            }
+        });
+        return written.get();
+    }
+
+    @Override
+    public int prepareBuckets(LocalDate day) {
+        AtomicInteger created = new AtomicInteger();
+        shardRouter.forEachShard(shard -> {
+            try {
+                Integer rows = transaction.execute(status -> createBuckets(day));
+                created.addAndGet(rows == null ? 0 : rows);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Revenue buckets of {} created concurrently on shard {}", day, shard);
+            }
+        });
+        return created.get();
+    }
+
+    private int createBuckets(LocalDate day) {
+        int created = 0;
+        for (String paymentMethod : PAYMENT_METHODS) {
+            for (InvoiceStatus status : InvoiceStatus.values()) {
+                for (int stripe = 0; stripe < properties.getStripes(); stripe++) {
+                    created += rollupRepository.insertIfMissing(day, paymentMethod, status.name(), stripe);
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Each shard is rebuilt in one transaction that first locks the rollups against writes: invoice transactions
+     * that already updated a bucket commit before the rebuild reads the invoices, the others wait and apply their
+     * delta on top of the rebuilt buckets, so nothing is counted twice or lost. Reports keep reading meanwhile.
+     */
+    private int rebuild(int shard, LocalDate from, LocalDate to) {
+        Integer buckets = transaction.execute(status -> {
+            lockRollups();
+            rollupRepository.deleteByBucketDateBetween(from, to);
+            return rollupRepository.insertFromInvoices(from, to, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        });
+        log.info("Revenue rollups rebuilt on shard {} for {}..{}: {} buckets", shard, from, to, buckets);
+        return buckets == null ? 0 : buckets;
+    }
+
+    // H2 (dev and tests) has no LOCK TABLE: locking every existing bucket row holds back the usual write path
+    private void lockRollups() {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    statement.execute(LOCK_ROLLUPS);
+                } else {
+                    statement.executeQuery(LOCK_ROLLUP_ROWS).close();
+                }
+            }
+        });
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidInvoiceOperationException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= properties.getMaxRangeDays()) {
+            throw new InvalidInvoiceOperationException(
+                    "Date range must not exceed " + properties.getMaxRangeDays() + " days");
+        }
+    }
+
+    private void billed(Map<RollupKey, RollupDelta> deltas, Invoice invoice, InvoiceStatus status, int sign) {
+        deltas.merge(key(invoice.getDateEmission(), invoice.getPaymentMethod(), status, invoice.getId()),
+                new RollupDelta(signed(invoice.getAmount(), sign), sign, BigDecimal.ZERO, 0), RollupDelta::plus);
+    }
+
+    private void collected(Map<RollupKey, RollupDelta> deltas, Invoice invoice, Payment payment,
+                           InvoiceStatus status, int sign) {
+        deltas.merge(key(payment.getPaidAt().toLocalDate(), payment.getPaymentMethod(), status, invoice.getId()),
+                new RollupDelta(BigDecimal.ZERO, 0, signed(payment.getAmount(), sign), sign), RollupDelta::plus);
+    }
+
+    private RollupKey key(LocalDate day, PaymentMethod method, InvoiceStatus status, Long invoiceId) {
+        String paymentMethod = method == null ? RevenueDailyRollup.NO_PAYMENT_METHOD : method.name();
+        int stripe = (int) Math.floorMod(invoiceId, (long) properties.getStripes());
+        return new RollupKey(day, paymentMethod, status, stripe);
+    }
+
+    // Row locks taken in key order (TreeMap): two transactions touching the same buckets wait, never deadlock
+    private void apply(Map<RollupKey, RollupDelta> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (increment(key, delta) > 0) {
+                return;
+            }
+            insertBucket(key);
+            increment(key, delta);
+        });
+    }
+
+    // Jour sans bucket pre-cree (date d'emission passee) : insertion sur la connexion de la transaction, dans un
+    // savepoint, pour qu'une creation concurrente du meme bucket (job ou autre facture) n'annule pas l'appelant
+    private void insertBucket(RollupKey key) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_BUCKET)) {
+                for (int offset : new int[] {0, 4}) {
+                    insert.setObject(offset + 1, key.day());
+                    insert.setString(offset + 2, key.paymentMethod());
+                    insert.setString(offset + 3, key.status().name());
+                    insert.setInt(offset + 4, key.stripe());
+                }
+                insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                log.debug("Revenue bucket {} created concurrently", key);
+            }
+        });
+    }
+
+    private int increment(RollupKey key, RollupDelta delta) {
+        return rollupRepository.increment(key.day(), key.paymentMethod(), key.status(), key.stripe(),
+                delta.billedAmount(), delta.billedCount(), delta.collectedAmount(), delta.collectedCount());
+    }
+
+    private static BigDecimal signed(BigDecimal amount, int sign) {
+        return sign < 0 ? amount.negate() : amount;
+    }
+
+    private static LocalDate periodStart(LocalDate day, RevenueGrouping groupBy) {
+        return switch (groupBy) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static PaymentMethod paymentMethod(String column) {
+        return RevenueDailyRollup.NO_PAYMENT_METHOD.equals(column) ? null : PaymentMethod.valueOf(column);
+    }
+
+    private static RevenueBucketResponse toBucket(BucketKey key, RevenueRollupRepository.DailyRevenue day) {
+        return RevenueBucketResponse.builder()
+                .periodStart(key.periodStart())
+                .paymentMethod(key.paymentMethod())
+                .status(key.status())
+                .billedAmount(day.getBilledAmount())
+                .billedCount(day.getBilledCount())
+                .collectedAmount(day.getCollectedAmount())
+                .collectedCount(day.getCollectedCount())
+                .build();
+    }
+
+    private static RevenueBucketResponse add(RevenueBucketResponse a, RevenueBucketResponse b) {
+        return RevenueBucketResponse.builder()
+                .periodStart(a.periodStart())
+                .paymentMethod(a.paymentMethod())
+                .status(a.status())
+                .billedAmount(a.billedAmount().add(b.billedAmount()))
+                .billedCount(a.billedCount() + b.billedCount())
+                .collectedAmount(a.collectedAmount().add(b.collectedAmount()))
+                .collectedCount(a.collectedCount() + b.collectedCount())
+                .build();
+    }
+
+    private record RollupKey(LocalDate day, String paymentMethod, InvoiceStatus status, int stripe)
+            implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::day)
+                .thenComparing(RollupKey::paymentMethod)
+                .thenComparing(RollupKey::status)
+                .thenComparingInt(RollupKey::stripe);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record RollupDelta(BigDecimal billedAmount, long billedCount, BigDecimal collectedAmount, long collectedCount) {
+
+        RollupDelta plus(RollupDelta other) {
+            return new RollupDelta(billedAmount.add(other.billedAmount), billedCount + other.billedCount,
+                    collectedAmount.add(other.collectedAmount), collectedCount + other.collectedCount);
+        }
+    }
+
+    private record BucketKey(LocalDate periodStart, PaymentMethod paymentMethod, InvoiceStatus status)
+            implements Comparable<BucketKey> {
+
+        private static final Comparator<BucketKey> ORDER = Comparator.comparing(BucketKey::periodStart)
+                .thenComparing(BucketKey::paymentMethod, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(BucketKey::status);
+
+        @Override
+        public int compareTo(BucketKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
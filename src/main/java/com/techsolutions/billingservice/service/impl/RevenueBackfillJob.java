@@ -0,0 +1,27 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.service.RevenueAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "billing.analytics", name = "backfill-on-startup", havingValue = "true", matchIfMissing = true)
+public class RevenueBackfillJob {
+
+    private final RevenueAnalyticsService revenueAnalyticsService;
+
+    // Existing invoices predate the incremental rollups: rebuild their history once
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillHistory() {
+        int buckets = revenueAnalyticsService.backfillMissing();
+        if (buckets > 0) {
+            log.info("Revenue rollups backfilled at startup: {} buckets", buckets);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.service.RevenueAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevenueBucketJob {
+
+    private final RevenueAnalyticsService revenueAnalyticsService;
+
+    // Today and tomorrow, so that the buckets already exist when the day starts
+    @Scheduled(fixedDelayString = "${billing.analytics.bucket-refresh:PT1H}")
+    public void prepareBuckets() {
+        LocalDate today = LocalDate.now();
+        int created = revenueAnalyticsService.prepareBuckets(today) + revenueAnalyticsService.prepareBuckets(today.plusDays(1));
+        if (created > 0) {
+            log.debug("Revenue buckets created ahead of time: {}", created);
+        }
+    }
+}
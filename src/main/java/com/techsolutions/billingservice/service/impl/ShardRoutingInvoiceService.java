@@ -0,0 +1,73 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.PaymentResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import com.techsolutions.billingservice.service.InvoiceService;
+import com.techsolutions.billingservice.sharding.ShardRouter;
+
+import java.util.List;
+
+/**
+ * Binds the owning shard before entering the transactional service: by clientId, or by the shard encoded in the
+ * invoice id.
+ */
+public class ShardRoutingInvoiceService implements InvoiceService {
+
+    private final InvoiceService delegate;
+    private final ShardRouter shardRouter;
+
+    public ShardRoutingInvoiceService(InvoiceService delegate, ShardRouter shardRouter) {
+        this.delegate = delegate;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public InvoiceResponse createInvoice(InvoiceRequest invoiceRequestDTO) {
+        return shardRouter.onClient(invoiceRequestDTO.clientId(), () -> delegate.createInvoice(invoiceRequestDTO));
+    }
+
+    @Override
+    public InvoiceResponse getInvoice(Long id) {
+        return shardRouter.onInvoice(id, () -> delegate.getInvoice(id));
+    }
+
+    @Override
+    public List<InvoiceResponse> getInvoicesByClient(Long clientId) {
+        return shardRouter.onClient(clientId, () -> delegate.getInvoicesByClient(clientId));
+    }
+
+    @Override
+    public List<InvoiceResponse> getInvoicesWithPaymentsByClient(Long clientId) {
+        return shardRouter.onClient(clientId, () -> delegate.getInvoicesWithPaymentsByClient(clientId));
+    }
+
+    @Override
+    public List<InvoiceResponse> getInvoicesByClientAfter(Long clientId, long afterId, int limit,
+                                                          boolean includePayments) {
+        return shardRouter.onClient(clientId,
+                () -> delegate.getInvoicesByClientAfter(clientId, afterId, limit, includePayments));
+    }
+
+    @Override
+    public InvoiceResponse payInvoice(Long id) {
+        return shardRouter.onInvoice(id, () -> delegate.payInvoice(id));
+    }
+
+    @Override
+    public InvoiceResponse addPayment(Long invoiceId, PaymentRequest paymentRequestDTO) {
+        return shardRouter.onInvoice(invoiceId, () -> delegate.addPayment(invoiceId, paymentRequestDTO));
+    }
+
+    @Override
+    public List<PaymentResponse> getPayments(Long invoiceId) {
+        return shardRouter.onInvoice(invoiceId, () -> delegate.getPayments(invoiceId));
+    }
+
+    @Override
+    public TotalAmountResponse getTotalAmountByClient(Long clientId) {
+        return shardRouter.onClient(clientId, () -> delegate.getTotalAmountByClient(clientId));
+    }
+}
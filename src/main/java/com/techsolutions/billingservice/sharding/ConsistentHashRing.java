@@ -0,0 +1,49 @@
+package com.techsolutions.billingservice.sharding;
+
+import java.util.Arrays;
+
+/**
+ * Immutable consistent-hash ring over client ids. Its layout must not change once clients are placed: adding a
+ * shard would move roughly 1/N of them without their invoices, so {@link ShardRouter} keeps the first layout and
+ * new shards are filled by the rebalancer. Lookups are a binary search over a sorted array, no locking involved.
+ */
+public class ConsistentHashRing {
+
+    private final long[] points;
+    private final int[] owners;
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        int size = shardCount * virtualNodes;
+        long[][] entries = new long[size][];
+        int i = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                // Seeded by mix(shard) so that ring points never coincide with the hash of small client ids
+                entries[i++] = new long[]{mix(mix(shard) + node), shard};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+        points = new long[size];
+        owners = new int[size];
+        for (i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+    }
+
+    public int shardFor(long clientId) {
+        int index = Arrays.binarySearch(points, mix(clientId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    // SplitMix64 finalizer: spreads sequential client ids evenly over the ring
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,30 @@
+package com.techsolutions.billingservice.sharding;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Physical datasource of each shard, indexed by shard number. Holds a single entry when sharding is disabled.
+ */
+public class ShardDataSources {
+
+    private final List<DataSource> dataSources;
+    private final boolean sharded;
+
+    public ShardDataSources(List<DataSource> dataSources, boolean sharded) {
+        this.dataSources = List.copyOf(dataSources);
+        this.sharded = sharded;
+    }
+
+    public DataSource get(int shard) {
+        return dataSources.get(shard);
+    }
+
+    public int count() {
+        return dataSources.size();
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+}
@@ -0,0 +1,27 @@
+package com.techsolutions.billingservice.sharding;
+
+import java.util.List;
+
+/**
+ * Invoice ids carry their home shard in bits 48-52: each shard's identity column starts at {@code shard << 48}.
+ * Ids of shard 0 are therefore unchanged from the unsharded layout, and every id stays below 2^53 so it survives
+ * a round trip through JavaScript clients. Payments and reminders use the same ranges so that the rebalancer can
+ * copy them with their ids.
+ */
+public final class ShardIds {
+
+    public static final int SHARD_SHIFT = 48;
+    public static final int MAX_SHARDS = 32;
+    public static final List<String> SHARDED_TABLES = List.of("invoices", "payments", "invoice_reminders");
+
+    private ShardIds() {
+    }
+
+    public static int shardOf(long invoiceId) {
+        return (int) (invoiceId >>> SHARD_SHIFT);
+    }
+
+    public static long firstId(int shard) {
+        return ((long) shard << SHARD_SHIFT) + 1;
+    }
+}
@@ -0,0 +1,254 @@
+package com.techsolutions.billingservice.sharding;
+
+import com.techsolutions.billingservice.exception.InvalidInvoiceOperationException;
+import com.techsolutions.billingservice.resources.ShardMoveResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Moves a client to another shard while the service keeps running.
+ * <ol>
+ *     <li>Bulk copy of the client's invoices, payments, reminders and audit entries to the target, without locks. Rows keep their
+ *     ids, which are allocated from per-shard ranges ({@link ShardIds}) and therefore never collide.</li>
+ *     <li>Cutover: the client's invoice rows are locked on the source, rows changed since the copy are copied
+ *     again, the directory is switched, forwarding rows (invoices and client) are written and the source rows are
+ *     deleted.</li>
+ * </ol>
+ * Progress is kept in client_moves on shard 0 (COPYING, SWITCHED, DONE) and the directory switch is committed
+ * together with the SWITCHED state. Once switched, the target is live and is never overwritten: running the move
+ * again only copies source rows missing on the target (writes of instances that had not reloaded the directory
+ * yet, or a cutover that failed after the switch) and deletes the rest.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardRebalancer {
+
+    private static final String SELECT_CLIENT_INVOICES = "select * from invoices where client_id = ?";
+    private static final String SELECT_PAYMENTS = "select * from payments where invoice_id = ? order by id";
+    private static final String SELECT_REMINDERS = "select * from invoice_reminders where invoice_id = ? order by id";
+
+    private final ShardDataSources dataSources;
+    private final ShardRouter shardRouter;
+
+    enum MoveState { COPYING, SWITCHED, DONE }
+
+    public ShardMoveResponse moveClient(Long clientId, int targetShard) {
+        if (!dataSources.isSharded()) {
+            throw new InvalidInvoiceOperationException("Sharding is disabled");
+        }
+        if (targetShard < 0 || targetShard >= dataSources.count()) {
+            throw new InvalidInvoiceOperationException("Unknown shard: " + targetShard);
+        }
+
+        int currentShard = shardRouter.shardForClient(clientId);
+        boolean switched = startMove(clientId, targetShard, currentShard) != MoveState.COPYING;
+        int moved = 0;
+        for (int source = 0; source < dataSources.count(); source++) {
+            if (source != targetShard && (source == currentShard || hasInvoices(source, clientId))) {
+                copyClient(source, targetShard, clientId);
+                moved += cutover(source, targetShard, clientId, switched);
+                switched = true;
+            }
+        }
+        setState(jdbc(0), clientId, targetShard, MoveState.DONE);
+        log.info("Moved {} invoices of client {} from shard {} to shard {}", moved, clientId, currentShard, targetShard);
+        return ShardMoveResponse.builder()
+                .clientId(clientId)
+                .sourceShard(currentShard)
+                .targetShard(targetShard)
+                .movedInvoices(moved)
+                .build();
+    }
+
+    // A move to another target must be completed (run again) before the client can be moved elsewhere
+    private MoveState startMove(Long clientId, int targetShard, int currentShard) {
+        JdbcTemplate catalog = jdbc(0);
+        return inTransaction(0, () -> {
+            List<Map<String, Object>> rows = catalog.queryForList(
+                    "select target_shard, state from client_moves where client_id = ? for update", clientId);
+            if (!rows.isEmpty()) {
+                int previousTarget = ((Number) rows.get(0).get("target_shard")).intValue();
+                MoveState previousState = MoveState.valueOf((String) rows.get(0).get("state"));
+                if (previousTarget == targetShard) {
+                    return previousState;
+                }
+                if (previousState != MoveState.DONE) {
+                    throw new InvalidInvoiceOperationException("Client " + clientId
+                            + " has an unfinished move to shard " + previousTarget + ": run it again to complete it");
+                }
+            }
+            // Already served by the target (ring or pin): only stragglers can be left, the target is live
+            MoveState state = currentShard == targetShard ? MoveState.SWITCHED : MoveState.COPYING;
+            setState(catalog, clientId, targetShard, state);
+            return state;
+        });
+    }
+
+    private boolean hasInvoices(int shard, Long clientId) {
+        Integer count = jdbc(shard).queryForObject("select count(*) from invoices where client_id = ?", Integer.class, clientId);
+        return count != null && count > 0;
+    }
+
+    // Insert-only: rows already on the target are left alone
+    private void copyClient(int source, int target, Long clientId) {
+        JdbcTemplate sourceJdbc = jdbc(source);
+        JdbcTemplate targetJdbc = jdbc(target);
+        for (Map<String, Object> invoice : sourceJdbc.queryForList(SELECT_CLIENT_INVOICES, clientId)) {
+            if (!existsOnTarget(targetJdbc, invoiceId(invoice))) {
+                inTransaction(target, () -> copyInvoice(sourceJdbc, targetJdbc, invoice));
+            }
+        }
+    }
+
+    private int cutover(int source, int target, Long clientId, boolean switched) {
+        JdbcTemplate sourceJdbc = jdbc(source);
+        JdbcTemplate targetJdbc = jdbc(target);
+        return inTransaction(source, () -> {
+            // Blocks payments (which lock the invoice row) until the switch is complete
+            List<Map<String, Object>> invoices = sourceJdbc.queryForList(SELECT_CLIENT_INVOICES + " for update", clientId);
+            for (Map<String, Object> invoice : invoices) {
+                Long id = invoiceId(invoice);
+                if (!existsOnTarget(targetJdbc, id)) {
+                    inTransaction(target, () -> copyInvoice(sourceJdbc, targetJdbc, invoice));
+                } else if (!sameOnTarget(sourceJdbc, targetJdbc, invoice)) {
+                    if (switched) {
+                        log.warn("Invoice {} differs between shards {} and {}: keeping the live copy on shard {}",
+                                id, source, target, target);
+                    } else {
+                        inTransaction(target, () -> {
+                            deleteInvoice(targetJdbc, id);
+                            copyInvoice(sourceJdbc, targetJdbc, invoice);
+                        });
+                    }
+                }
+            }
+            if (!switched) {
+                // A client moving back must not be sent away again by its old forwarding row
+                targetJdbc.update("delete from client_forwarding where client_id = ?", clientId);
+                switchDirectory(clientId, target);
+            }
+            forwardClient(sourceJdbc, clientId, target);
+            for (Map<String, Object> invoice : invoices) {
+                Long id = invoiceId(invoice);
+                forward(id, target);
+                deleteInvoice(sourceJdbc, id);
+            }
+            return invoices.size();
+        });
+    }
+
+    // Directory and move state commit together: a failed cutover is resumed without overwriting the target
+    private void switchDirectory(Long clientId, int target) {
+        inTransaction(0, () -> {
+            shardRouter.assign(clientId, target);
+            setState(jdbc(0), clientId, target, MoveState.SWITCHED);
+        });
+    }
+
+    private void setState(JdbcTemplate catalog, Long clientId, int target, MoveState state) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (catalog.update("update client_moves set target_shard = ?, state = ?, updated_at = ? where client_id = ?",
+                target, state.name(), now, clientId) == 0) {
+            catalog.update("insert into client_moves (client_id, target_shard, state, updated_at) values (?, ?, ?, ?)",
+                    clientId, target, state.name(), now);
+        }
+    }
+
+    private boolean existsOnTarget(JdbcTemplate targetJdbc, Long id) {
+        return !targetJdbc.queryForList("select id from invoices where id = ?", id).isEmpty();
+    }
+
+    // Ids are preserved by the copy, so whole rows can be compared
+    private boolean sameOnTarget(JdbcTemplate sourceJdbc, JdbcTemplate targetJdbc, Map<String, Object> invoice) {
+        Long id = invoiceId(invoice);
+        List<Map<String, Object>> copy = targetJdbc.queryForList("select * from invoices where id = ?", id);
+        return !copy.isEmpty()
+                && copy.get(0).equals(invoice)
+                && sourceJdbc.queryForList(SELECT_PAYMENTS, id).equals(targetJdbc.queryForList(SELECT_PAYMENTS, id))
+                && sourceJdbc.queryForList(SELECT_REMINDERS, id).equals(targetJdbc.queryForList(SELECT_REMINDERS, id));
+    }
+
+    private void copyInvoice(JdbcTemplate sourceJdbc, JdbcTemplate targetJdbc, Map<String, Object> invoice) {
+        Long id = invoiceId(invoice);
+        insert(targetJdbc, "invoices", invoice);
+        insertAll(targetJdbc, "invoice_lines",
+                sourceJdbc.queryForList("select * from invoice_lines where invoice_id = ? order by line_number", id));
+        insertAll(targetJdbc, "payments", sourceJdbc.queryForList(SELECT_PAYMENTS, id));
+        insertAll(targetJdbc, "invoice_reminders", sourceJdbc.queryForList(SELECT_REMINDERS, id));
+    }
+
+    private void deleteInvoice(JdbcTemplate jdbcTemplate, Long id) {
+        jdbcTemplate.update("delete from invoice_reminders where invoice_id = ?", id);
+        jdbcTemplate.update("delete from payments where invoice_id = ?", id);
+        jdbcTemplate.update("delete from invoice_lines where invoice_id = ?", id);
+        jdbcTemplate.update("delete from invoices where id = ?", id);
+    }
+
+    // Forwarding rows always live on the shard encoded in the id, so lookups take at most one extra hop
+    private void forward(Long id, int target) {
+        int home = ShardIds.shardOf(id);
+        JdbcTemplate homeJdbc = jdbc(home);
+        homeJdbc.update("delete from invoice_forwarding where invoice_id = ?", id);
+        if (home != target) {
+            homeJdbc.update("insert into invoice_forwarding (invoice_id, shard_id) values (?, ?)", id, target);
+        }
+    }
+
+    // Followed by the instances whose directory still points to the source until their next refresh
+    private void forwardClient(JdbcTemplate sourceJdbc, Long clientId, int target) {
+        if (sourceJdbc.update("update client_forwarding set shard_id = ? where client_id = ?", target, clientId) == 0) {
+            sourceJdbc.update("insert into client_forwarding (client_id, shard_id) values (?, ?)", clientId, target);
+        }
+    }
+
+    private void insert(JdbcTemplate jdbcTemplate, String table, Map<String, Object> row) {
+        String columns = String.join(", ", row.keySet());
+        String placeholders = row.keySet().stream().map(c -> "?").collect(Collectors.joining(", "));
+        jdbcTemplate.update("insert into " + table + " (" + columns + ") values (" + placeholders + ")", row.values().toArray());
+    }
+
+    // Invoices can have hundreds of lines: one JDBC batch instead of one round trip per row
+    private void insertAll(JdbcTemplate jdbcTemplate, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<String> columns = rows.get(0).keySet();
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        jdbcTemplate.batchUpdate("insert into " + table + " (" + String.join(", ", columns) + ") values (" + placeholders + ")",
+                rows.stream().map(row -> row.values().toArray()).toList());
+    }
+
+    // queryForList returns case-insensitive maps, so this works for both H2 (ID) and PostgreSQL (id)
+    private static Long invoiceId(Map<String, Object> invoice) {
+        return ((Number) invoice.get("id")).longValue();
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(dataSources.get(shard));
+    }
+
+    private <T> T inTransaction(int shard, Supplier<T> action) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSources.get(shard)))
+                .execute(status -> action.get());
+    }
+
+    private void inTransaction(int shard, Runnable action) {
+        inTransaction(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,161 @@
+package com.techsolutions.billingservice.sharding;
+
+import com.techsolutions.billingservice.config.ShardingProperties;
+import com.techsolutions.billingservice.exception.InvoiceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard owns a client or an invoice. Clients are placed by the consistent-hash ring unless pinned
+ * in configuration or moved by {@link ShardRebalancer} (client_shard_directory table on shard 0). The ring keeps
+ * the layout of the first start (shard_ring table): shards added later only receive clients through the
+ * rebalancer. Invoices are routed by the shard encoded in their id; ids moved away from their home shard leave a
+ * forwarding row behind, and so do clients, for instances that have not reloaded the directory yet.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    private final ShardDataSources dataSources;
+    private final ConsistentHashRing ring;
+    private final Map<Long, Integer> pinnedClients;
+    private volatile Map<Long, Integer> movedClients = Map.of();
+
+    public ShardRouter(ShardDataSources dataSources, ShardingProperties properties) {
+        this.dataSources = dataSources;
+        this.ring = dataSources.isSharded()
+                ? loadRing(properties.getVirtualNodes())
+                : new ConsistentHashRing(1, properties.getVirtualNodes());
+        this.pinnedClients = Map.copyOf(properties.getClients());
+        refreshDirectory();
+    }
+
+    public int shardCount() {
+        return dataSources.count();
+    }
+
+    public int shardForClient(Long clientId) {
+        if (dataSources.count() == 1) {
+            return 0;
+        }
+        Integer shard = movedClients.get(clientId);
+        if (shard == null) {
+            shard = pinnedClients.get(clientId);
+        }
+        return shard != null ? shard : ring.shardFor(clientId);
+    }
+
+    /**
+     * Runs the action on the client's shard. A client moved away since the last directory refresh is followed
+     * through its forwarding row, so its invoices do not look missing for up to a refresh interval.
+     */
+    public <T> T onClient(Long clientId, Supplier<T> action) {
+        int shard = shardForClient(clientId);
+        if (dataSources.isSharded()) {
+            List<Integer> forwarded = new JdbcTemplate(dataSources.get(shard)).queryForList(
+                    "select shard_id from client_forwarding where client_id = ?", Integer.class, clientId);
+            if (!forwarded.isEmpty()) {
+                shard = forwarded.get(0);
+                remember(clientId, shard);
+            }
+        }
+        return ShardContext.callOn(shard, action);
+    }
+
+    /**
+     * Runs the action on the invoice's home shard, following the forwarding row once if the invoice was moved.
+     */
+    public <T> T onInvoice(Long invoiceId, Supplier<T> action) {
+        int home = ShardIds.shardOf(invoiceId);
+        if (home >= dataSources.count()) {
+            throw new InvoiceNotFoundException("Invoice not found with id: " + invoiceId);
+        }
+        try {
+            return ShardContext.callOn(home, action);
+        } catch (InvoiceNotFoundException e) {
+            Integer forwarded = forwardedShard(home, invoiceId);
+            if (forwarded == null) {
+                throw e;
+            }
+            return ShardContext.callOn(forwarded, action);
+        }
+    }
+
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < dataSources.count(); shard++) {
+            int current = shard;
+            ShardContext.runOn(current, () -> action.accept(current));
+        }
+    }
+
+    void assign(Long clientId, int shard) {
+        JdbcTemplate catalog = new JdbcTemplate(dataSources.get(0));
+        if (catalog.update("update client_shard_directory set shard_id = ? where client_id = ?", shard, clientId) == 0) {
+            catalog.update("insert into client_shard_directory (client_id, shard_id) values (?, ?)", clientId, shard);
+        }
+        remember(clientId, shard);
+    }
+
+    private synchronized void remember(Long clientId, int shard) {
+        Map<Long, Integer> updated = new HashMap<>(movedClients);
+        updated.put(clientId, shard);
+        movedClients = Map.copyOf(updated);
+    }
+
+    @Scheduled(fixedDelayString = "${billing.sharding.directory-refresh:PT30S}")
+    public void refreshDirectory() {
+        if (!dataSources.isSharded()) {
+            return;
+        }
+        Map<Long, Integer> loaded = new HashMap<>();
+        new JdbcTemplate(dataSources.get(0)).query("select client_id, shard_id from client_shard_directory",
+                rs -> {
+                    loaded.put(rs.getLong(1), rs.getInt(2));
+                });
+        movedClients = Map.copyOf(loaded);
+    }
+
+    // A racing first start of another instance wins the insert, its layout is then read back
+    private ConsistentHashRing loadRing(int virtualNodes) {
+        JdbcTemplate catalog = new JdbcTemplate(dataSources.get(0));
+        String select = "select shard_count, virtual_nodes from shard_ring where id = 1";
+        List<int[]> layouts = catalog.query(select, (rs, row) -> new int[]{rs.getInt(1), rs.getInt(2)});
+        if (layouts.isEmpty()) {
+            try {
+                catalog.update("insert into shard_ring (id, shard_count, virtual_nodes) values (1, ?, ?)",
+                        dataSources.count(), virtualNodes);
+            } catch (DuplicateKeyException e) {
+                log.debug("Ring layout written by another instance");
+            }
+            layouts = catalog.query(select, (rs, row) -> new int[]{rs.getInt(1), rs.getInt(2)});
+        }
+        int[] layout = layouts.get(0);
+        if (layout[0] > dataSources.count()) {
+            throw new IllegalStateException("The hash ring spans " + layout[0] + " shards but only "
+                    + dataSources.count() + " are configured: shards cannot be removed");
+        }
+        if (layout[0] < dataSources.count() || layout[1] != virtualNodes) {
+            log.info("Hash ring kept at its first layout ({} shards, {} virtual nodes) with {} shards configured:"
+                    + " the other shards only receive moved clients", layout[0], layout[1], dataSources.count());
+        }
+        return new ConsistentHashRing(layout[0], layout[1]);
+    }
+
+    private Integer forwardedShard(int home, Long invoiceId) {
+        if (!dataSources.isSharded()) {
+            return null;
+        }
+        List<Integer> shards = new JdbcTemplate(dataSources.get(home)).queryForList(
+                "select shard_id from invoice_forwarding where invoice_id = ?", Integer.class, invoiceId);
+        return shards.isEmpty() ? null : shards.get(0);
+    }
+}
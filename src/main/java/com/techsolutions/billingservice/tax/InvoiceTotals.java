@@ -0,0 +1,12 @@
+package com.techsolutions.billingservice.tax;
+
+/**
+ * Sums of the per-line amounts, in minor units. {@code totalMinor} is what the customer owes.
+ */
+public record InvoiceTotals(long grossMinor, long discountMinor, long taxMinor, long totalMinor) {
+
+    // Taxable base: gross - discount
+    public long netMinor() {
+        return grossMinor - discountMinor;
+    }
+}
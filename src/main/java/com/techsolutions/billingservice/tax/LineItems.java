@@ -0,0 +1,71 @@
+package com.techsolutions.billingservice.tax;
+
+/**
+ * Line items of one invoice stored column-wise in primitive arrays: money in minor units (cents), quantities in
+ * thousandths and rates in basis points (1/100 of a percent). {@link TaxEngine#calculate(LineItems)} fills the
+ * per-line results in place, so pricing a 500-line invoice allocates a handful of arrays instead of several
+ * BigDecimal objects per line.
+ */
+public final class LineItems {
+
+    final long[] unitPriceMinor;
+    final long[] quantityMilli;
+    final int[] discountBasisPoints;
+    final int[] taxBasisPoints;
+
+    final long[] grossMinor;
+    final long[] discountMinor;
+    final long[] taxMinor;
+    final long[] totalMinor;
+
+    private int size;
+
+    public LineItems(int capacity) {
+        unitPriceMinor = new long[capacity];
+        quantityMilli = new long[capacity];
+        discountBasisPoints = new int[capacity];
+        taxBasisPoints = new int[capacity];
+        grossMinor = new long[capacity];
+        discountMinor = new long[capacity];
+        taxMinor = new long[capacity];
+        totalMinor = new long[capacity];
+    }
+
+    /**
+     * @return the index of the added line
+     */
+    public int add(long unitPriceMinor, long quantityMilli, int discountBasisPoints, int taxBasisPoints) {
+        if (unitPriceMinor < 0 || quantityMilli < 0 || taxBasisPoints < 0
+                || discountBasisPoints < 0 || discountBasisPoints > TaxEngine.BASIS_POINTS) {
+            throw new IllegalArgumentException("Line values out of range");
+        }
+        int index = size++;
+        this.unitPriceMinor[index] = unitPriceMinor;
+        this.quantityMilli[index] = quantityMilli;
+        this.discountBasisPoints[index] = discountBasisPoints;
+        this.taxBasisPoints[index] = taxBasisPoints;
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Quantity x unit price, before discount
+    public long grossMinor(int index) {
+        return grossMinor[index];
+    }
+
+    public long discountMinor(int index) {
+        return discountMinor[index];
+    }
+
+    public long taxMinor(int index) {
+        return taxMinor[index];
+    }
+
+    // Gross - discount + tax
+    public long totalMinor(int index) {
+        return totalMinor[index];
+    }
+}
@@ -0,0 +1,70 @@
+package com.techsolutions.billingservice.tax;
+
+import java.math.BigDecimal;
+
+/**
+ * Exact invoice pricing on long minor units. Each line is rounded half-up to the cent in this order:
+ * gross = unit price x quantity, discount = gross x discount rate, tax = (gross - discount) x tax rate;
+ * invoice totals are the sums of the rounded line amounts, so they always match the printed lines.
+ * Overflow raises an {@link ArithmeticException} instead of wrapping.
+ */
+public final class TaxEngine {
+
+    public static final int BASIS_POINTS = 10_000;
+    private static final int MILLI = 1_000;
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    private TaxEngine() {
+    }
+
+    public static InvoiceTotals calculate(LineItems lines) {
+        long gross = 0;
+        long discount = 0;
+        long tax = 0;
+        long total = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            long lineGross = divideHalfUp(Math.multiplyExact(lines.unitPriceMinor[i], lines.quantityMilli[i]), MILLI);
+            long lineDiscount = divideHalfUp(Math.multiplyExact(lineGross, (long) lines.discountBasisPoints[i]), BASIS_POINTS);
+            long lineNet = lineGross - lineDiscount;
+            long lineTax = divideHalfUp(Math.multiplyExact(lineNet, (long) lines.taxBasisPoints[i]), BASIS_POINTS);
+            long lineTotal = Math.addExact(lineNet, lineTax);
+
+            lines.grossMinor[i] = lineGross;
+            lines.discountMinor[i] = lineDiscount;
+            lines.taxMinor[i] = lineTax;
+            lines.totalMinor[i] = lineTotal;
+
+            gross = Math.addExact(gross, lineGross);
+            discount += lineDiscount;
+            tax = Math.addExact(tax, lineTax);
+            total = Math.addExact(total, lineTotal);
+        }
+        return new InvoiceTotals(gross, discount, tax, total);
+    }
+
+    // Conversions at the API boundary; they throw ArithmeticException when the value has more decimals than allowed.
+    // movePointRight + longValueExact stay on the compact long form, unscaledValue() would allocate a BigInteger
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(MINOR_UNIT_SCALE).longValueExact();
+    }
+
+    public static long toMilliUnits(BigDecimal quantity) {
+        return quantity.movePointRight(3).longValueExact();
+    }
+
+    // 19.6 (%) -> 1960
+    public static int toBasisPoints(BigDecimal percent) {
+        return percent == null ? 0 : percent.movePointRight(2).intValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minor) {
+        return BigDecimal.valueOf(minor, MINOR_UNIT_SCALE);
+    }
+
+    // Non-negative dividends only (validated by LineItems)
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        return dividend % divisor * 2 >= divisor ? quotient + 1 : quotient;
+    }
+}
@@ -21,11 +21,14 @@ CREATE TABLE IF NOT EXISTS invoices (
     id BIGSERIAL PRIMARY KEY,
     client_id BIGINT NOT NULL,
     amount NUMERIC(10,2) NOT NULL CHECK (amount > 0),
+    remaining_balance NUMERIC(10,2),
     description VARCHAR(500) NOT NULL,
     date_emission DATE NOT NULL,
     date_paiement DATE,
     status VARCHAR(20) NOT NULL,
     payment_method VARCHAR(20),
+    discount_amount NUMERIC(10,2),
+    tax_amount NUMERIC(10,2),
     CONSTRAINT chk_status CHECK (status IN ('PENDING', 'PAID', 'CANCELLED')),
     CONSTRAINT chk_payment_method CHECK (payment_method IN ('CARD', 'TRANSFER', 'CASH'))
 );
@@ -35,10 +38,66 @@ CREATE INDEX idx_invoices_client_id ON invoices(client_id);
 CREATE INDEX idx_invoices_status ON invoices(status);
 CREATE INDEX idx_invoices_date_emission ON invoices(date_emission);
 
+-- Existing databases are upgraded with upgrade-postgres.sql instead of this script
+
+-- Invoice lines (up to 500 per invoice), keyed by invoice and position; read by invoice_id only
+CREATE TABLE IF NOT EXISTS invoice_lines (
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id),
+    line_number INTEGER NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    quantity NUMERIC(12,3) NOT NULL CHECK (quantity > 0),
+    unit_price NUMERIC(10,2) NOT NULL CHECK (unit_price >= 0),
+    discount_rate NUMERIC(5,2) NOT NULL CHECK (discount_rate BETWEEN 0 AND 100),
+    tax_rate NUMERIC(5,2) NOT NULL CHECK (tax_rate >= 0),
+    discount_amount NUMERIC(10,2) NOT NULL,
+    tax_amount NUMERIC(10,2) NOT NULL,
+    line_total NUMERIC(10,2) NOT NULL,
+    PRIMARY KEY (invoice_id, line_number)
+);
+
+-- Payments (instalments) recorded against an invoice
+CREATE TABLE IF NOT EXISTS payments (
+    id BIGSERIAL PRIMARY KEY,
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id),
+    amount NUMERIC(10,2) NOT NULL CHECK (amount > 0),
+    payment_method VARCHAR(20),
+    paid_at TIMESTAMP NOT NULL,
+    CONSTRAINT chk_payments_payment_method CHECK (payment_method IN ('CARD', 'TRANSFER', 'CASH'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_payments_invoice_id ON payments(invoice_id);
+
+-- Dunning schedule: one row per PENDING invoice, read by range scan on next_action_at
+CREATE TABLE IF NOT EXISTS invoice_reminders (
+    id BIGSERIAL PRIMARY KEY,
+    invoice_id BIGINT NOT NULL UNIQUE,
+    next_action_at TIMESTAMP NOT NULL,
+    stage INTEGER NOT NULL,
+    attempts INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_reminders_next_action_at ON invoice_reminders(next_action_at);
+
+-- Revenue analytics: one row per (day, payment method, status, stripe), 'NONE' when no payment method.
+-- The unique key leads with bucket_date and serves the range scans of GET /api/analytics/revenue.
+-- Existing invoices are backfilled by the application at startup (billing.analytics.backfill-on-startup).
+CREATE TABLE IF NOT EXISTS revenue_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    bucket_date DATE NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    stripe INTEGER NOT NULL,
+    billed_amount NUMERIC(19,2) NOT NULL,
+    billed_count BIGINT NOT NULL,
+    collected_amount NUMERIC(19,2) NOT NULL,
+    collected_count BIGINT NOT NULL,
+    CONSTRAINT uk_revenue_daily_rollups_bucket UNIQUE (bucket_date, payment_method, status, stripe)
+);
+
 -- Sample data (optional, for testing)
-INSERT INTO invoices (client_id, amount, description, date_emission, status, payment_method)
+INSERT INTO invoices (client_id, amount, remaining_balance, description, date_emission, status, payment_method)
 VALUES 
-    (100, 1500.00, 'Service de consultation IT', CURRENT_DATE - INTERVAL '30 days', 'PAID', 'CARD'),
-    (100, 2500.00, 'Developpement application web', CURRENT_DATE - INTERVAL '15 days', 'PENDING', 'TRANSFER'),
-    (200, 800.00, 'Maintenance serveur', CURRENT_DATE - INTERVAL '10 days', 'PAID', 'TRANSFER'),
-    (200, 1200.00, 'Formation equipe', CURRENT_DATE - INTERVAL '5 days', 'PENDING', 'CARD');
+    (100, 1500.00, 0.00, 'Service de consultation IT', CURRENT_DATE - INTERVAL '30 days', 'PAID', 'CARD'),
+    (100, 2500.00, 2500.00, 'Developpement application web', CURRENT_DATE - INTERVAL '15 days', 'PENDING', 'TRANSFER'),
+    (200, 800.00, 0.00, 'Maintenance serveur', CURRENT_DATE - INTERVAL '10 days', 'PAID', 'TRANSFER'),
+    (200, 1200.00, 1200.00, 'Formation equipe', CURRENT_DATE - INTERVAL '5 days', 'PENDING', 'CARD');
@@ -0,0 +1,103 @@
+-- Schema applied to every shard at startup when billing.sharding.enabled=true (H2 and PostgreSQL).
+-- Keep in sync with the JPA entities; shard 0 additionally holds the client directory.
+
+CREATE TABLE IF NOT EXISTS invoices (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    client_id BIGINT NOT NULL,
+    amount NUMERIC(10,2) NOT NULL,
+    remaining_balance NUMERIC(10,2),
+    description VARCHAR(500) NOT NULL,
+    date_emission DATE NOT NULL,
+    date_paiement DATE,
+    status VARCHAR(20) NOT NULL,
+    payment_method VARCHAR(20)
+);
+
+CREATE INDEX IF NOT EXISTS idx_invoices_client_id ON invoices(client_id);
+
+-- Totals of itemised invoices (null for single-amount invoices); ALTER for shards created before invoice lines
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS discount_amount NUMERIC(10,2);
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS tax_amount NUMERIC(10,2);
+
+-- Invoice lines: no surrogate id, so the rebalancer copies rows as they are and inserts are batched
+CREATE TABLE IF NOT EXISTS invoice_lines (
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id),
+    line_number INTEGER NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    quantity NUMERIC(12,3) NOT NULL,
+    unit_price NUMERIC(10,2) NOT NULL,
+    discount_rate NUMERIC(5,2) NOT NULL,
+    tax_rate NUMERIC(5,2) NOT NULL,
+    discount_amount NUMERIC(10,2) NOT NULL,
+    tax_amount NUMERIC(10,2) NOT NULL,
+    line_total NUMERIC(10,2) NOT NULL,
+    PRIMARY KEY (invoice_id, line_number)
+);
+
+CREATE TABLE IF NOT EXISTS payments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id),
+    amount NUMERIC(10,2) NOT NULL,
+    payment_method VARCHAR(20),
+    paid_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_payments_invoice_id ON payments(invoice_id);
+
+CREATE TABLE IF NOT EXISTS invoice_reminders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    invoice_id BIGINT NOT NULL UNIQUE,
+    next_action_at TIMESTAMP NOT NULL,
+    stage INTEGER NOT NULL,
+    attempts INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_reminders_next_action_at ON invoice_reminders(next_action_at);
+
+-- Daily revenue buckets, incremented by the invoice write path (values are deltas summed at read time)
+CREATE TABLE IF NOT EXISTS revenue_daily_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bucket_date DATE NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    stripe INTEGER NOT NULL,
+    billed_amount NUMERIC(19,2) NOT NULL,
+    billed_count BIGINT NOT NULL,
+    collected_amount NUMERIC(19,2) NOT NULL,
+    collected_count BIGINT NOT NULL,
+    CONSTRAINT uk_revenue_daily_rollups_bucket UNIQUE (bucket_date, payment_method, status, stripe)
+);
+
+-- Invoices moved to another shard by the rebalancer keep their id; lookups on the home shard follow this row
+CREATE TABLE IF NOT EXISTS invoice_forwarding (
+    invoice_id BIGINT PRIMARY KEY,
+    shard_id INTEGER NOT NULL
+);
+
+-- Clients moved away from this shard by the rebalancer: instances that have not reloaded the directory yet follow it
+CREATE TABLE IF NOT EXISTS client_forwarding (
+    client_id BIGINT PRIMARY KEY,
+    shard_id INTEGER NOT NULL
+);
+
+-- Layout of the hash ring, fixed by the first start (only read on shard 0): shards added later only receive
+-- clients through the rebalancer, so existing clients never change shard without their invoices
+CREATE TABLE IF NOT EXISTS shard_ring (
+    id INTEGER PRIMARY KEY,
+    shard_count INTEGER NOT NULL,
+    virtual_nodes INTEGER NOT NULL
+);
+
+-- Client placements that differ from the hash ring (only read on shard 0)
+CREATE TABLE IF NOT EXISTS client_shard_directory (
+    client_id BIGINT PRIMARY KEY,
+    shard_id INTEGER NOT NULL
+);
+
+-- Progress of client moves (only read on shard 0): COPYING until the directory switch, then SWITCHED, DONE once swept
+CREATE TABLE IF NOT EXISTS client_moves (
+    client_id BIGINT PRIMARY KEY,
+    target_shard INTEGER NOT NULL,
+    state VARCHAR(20) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
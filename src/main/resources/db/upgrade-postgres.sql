@@ -0,0 +1,71 @@
+-- PostgreSQL upgrade script for databases created before payments, invoice lines, dunning and revenue analytics
+-- Idempotent: safe to run again, and it only touches existing rows (no sample data)
+
+\c billingdb
+
+-- Denormalized remaining balance
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS remaining_balance NUMERIC(10,2);
+UPDATE invoices SET remaining_balance = CASE WHEN status = 'PAID' THEN 0 ELSE amount END
+WHERE remaining_balance IS NULL;
+
+-- Itemised invoices: amount is the total of the lines, discount and tax totals are kept alongside
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS discount_amount NUMERIC(10,2);
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS tax_amount NUMERIC(10,2);
+
+CREATE TABLE IF NOT EXISTS invoice_lines (
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id),
+    line_number INTEGER NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    quantity NUMERIC(12,3) NOT NULL CHECK (quantity > 0),
+    unit_price NUMERIC(10,2) NOT NULL CHECK (unit_price >= 0),
+    discount_rate NUMERIC(5,2) NOT NULL CHECK (discount_rate BETWEEN 0 AND 100),
+    tax_rate NUMERIC(5,2) NOT NULL CHECK (tax_rate >= 0),
+    discount_amount NUMERIC(10,2) NOT NULL,
+    tax_amount NUMERIC(10,2) NOT NULL,
+    line_total NUMERIC(10,2) NOT NULL,
+    PRIMARY KEY (invoice_id, line_number)
+);
+
+-- Payments (instalments) recorded against an invoice
+CREATE TABLE IF NOT EXISTS payments (
+    id BIGSERIAL PRIMARY KEY,
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id),
+    amount NUMERIC(10,2) NOT NULL CHECK (amount > 0),
+    payment_method VARCHAR(20),
+    paid_at TIMESTAMP NOT NULL,
+    CONSTRAINT chk_payments_payment_method CHECK (payment_method IN ('CARD', 'TRANSFER', 'CASH'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_payments_invoice_id ON payments(invoice_id);
+
+-- Invoices paid before payments existed: one payment for the full amount, on the payment date when known
+INSERT INTO payments (invoice_id, amount, payment_method, paid_at)
+SELECT i.id, i.amount, i.payment_method, COALESCE(i.date_paiement, i.date_emission)::timestamp
+FROM invoices i
+WHERE i.status = 'PAID'
+  AND NOT EXISTS (SELECT 1 FROM payments p WHERE p.invoice_id = i.id);
+
+-- Dunning schedule; reminders of PENDING invoices are backfilled by the application (billing.dunning.backfill-on-startup)
+CREATE TABLE IF NOT EXISTS invoice_reminders (
+    id BIGSERIAL PRIMARY KEY,
+    invoice_id BIGINT NOT NULL UNIQUE,
+    next_action_at TIMESTAMP NOT NULL,
+    stage INTEGER NOT NULL,
+    attempts INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_reminders_next_action_at ON invoice_reminders(next_action_at);
+
+-- Revenue analytics; rows are backfilled by the application (billing.analytics.backfill-on-startup)
+CREATE TABLE IF NOT EXISTS revenue_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    bucket_date DATE NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    stripe INTEGER NOT NULL,
+    billed_amount NUMERIC(19,2) NOT NULL,
+    billed_count BIGINT NOT NULL,
+    collected_amount NUMERIC(19,2) NOT NULL,
+    collected_count BIGINT NOT NULL,
+    CONSTRAINT uk_revenue_daily_rollups_bucket UNIQUE (bucket_date, payment_method, status, stripe)
+);
@@ -3,7 +3,7 @@ package com.techsolutions.billingservice;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "billing.grpc.port=0")
 class BillingServiceApplicationTests {
 
     @Test
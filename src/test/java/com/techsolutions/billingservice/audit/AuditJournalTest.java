@@ -0,0 +1,290 @@
+package com.techsolutions.billingservice.audit;
+
+import com.techsolutions.billingservice.enums.AuditEventType;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditJournal Unit Tests")
+class AuditJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(5);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back an invoice history and continue the chain after reopening")
+    void testHistoryAndReopen() throws Exception {
+        // Given
+        try (AuditJournal journal = open()) {
+            journal.append(created(1L, "1000.00"));
+            journal.append(created(2L, "50.00"));
+            AuditRecord payment = journal.append(paid(1L, 10L, "400.00", "600.00", InvoiceStatus.PENDING));
+            assertTrue(journal.awaitDurable(payment.sequence(), Duration.ofSeconds(5)));
+        }
+
+        // When
+        try (AuditJournal journal = open()) {
+            journal.append(paid(1L, 11L, "600.00", "0", InvoiceStatus.PAID));
+        }
+        List<AuditRecord> history = history(1L);
+
+        // Then
+        assertEquals(3, history.size());
+        assertEquals(List.of(1L, 3L, 4L), history.stream().map(AuditRecord::sequence).toList());
+        assertEquals(AuditEventType.INVOICE_CREATED, history.get(0).event().type());
+        assertEquals(new BigDecimal("1000.00"), history.get(0).event().amount());
+        assertEquals(11L, history.get(2).event().paymentId());
+        assertEquals(InvoiceStatus.PAID, history.get(2).event().status());
+        assertEquals(PaymentMethod.CARD, history.get(2).event().paymentMethod());
+        assertTrue(history(3L).isEmpty());
+        assertTrue(AuditJournal.scan(directory, true, record -> { }).valid());
+    }
+
+    @Test
+    @DisplayName("Should rotate segments and keep one hash chain across them")
+    void testSegmentRotation() throws Exception {
+        // Given
+        try (AuditJournal journal = open()) {
+            for (long i = 1; i <= 200; i++) {
+                journal.append(created(i % 7, "12.34"));
+            }
+        }
+
+        // When
+        List<Long> sequences = new ArrayList<>();
+        AuditJournal.ScanResult result = AuditJournal.scan(directory, true, record -> sequences.add(record.sequence()));
+
+        // Then
+        assertTrue(result.valid(), result.problem());
+        assertTrue(result.segments() > 1);
+        assertEquals(200, result.entries());
+        assertEquals(200, sequences.size());
+        assertEquals(28, history(0L).size());
+        try (AuditJournal journal = open()) {
+            assertEquals(201, journal.append(created(1L, "1.00")).sequence());
+        }
+        assertTrue(AuditJournal.scan(directory, true, record -> { }).valid());
+    }
+
+    @Test
+    @DisplayName("Should serve histories through the segment indexes and rebuild a missing one")
+    void testSegmentIndexes() throws Exception {
+        // Given
+        try (AuditJournal journal = open()) {
+            for (long i = 1; i <= 200; i++) {
+                journal.append(created(i % 7, "12.34"));
+            }
+
+            // When: segments scelles par leur index, segment courant en memoire
+            List<AuditRecord> history = journal.history(0L);
+
+            // Then
+            assertEquals(28, history.size());
+            assertEquals(7L, history.get(0).sequence());
+            assertEquals(history.stream().map(AuditRecord::sequence).sorted().toList(),
+                    history.stream().map(AuditRecord::sequence).toList());
+            assertTrue(Files.exists(directory.resolve("audit-000000.idx")));
+        }
+        Files.delete(directory.resolve("audit-000000.idx"));
+        assertEquals(28, history(0L).size());
+
+        try (AuditJournal journal = open()) {
+            assertTrue(Files.exists(directory.resolve("audit-000000.idx")));
+            journal.append(created(0L, "1.00"));
+            assertEquals(29, journal.history(0L).size());
+            assertTrue(journal.history(99L).isEmpty());
+        }
+        assertEquals(29, history(0L).size());
+    }
+
+    @Test
+    @DisplayName("Should refuse to serve a history entry that no longer matches its hash")
+    void testTamperedHistory() throws Exception {
+        // Given
+        try (AuditJournal journal = open()) {
+            journal.append(created(1L, "100.00"));
+            journal.append(created(2L, "200.00"));
+            journal.append(created(3L, "300.00"));
+        }
+
+        // When
+        overwrite(findBytes("200.00"), (byte) '9');
+
+        // Then
+        assertEquals(1, history(1L).size());
+        assertThrows(IllegalStateException.class, () -> history(2L));
+        // L'entree suivante est chainee sur le hash stocke, pas sur le contenu altere
+        assertEquals(1, history(3L).size());
+    }
+
+    @Test
+    @DisplayName("Should only read the tail segment when opening without verification")
+    void testOpenReadsTailOnly() throws Exception {
+        // Given
+        try (AuditJournal journal = open()) {
+            for (long i = 1; i <= 200; i++) {
+                journal.append(created(i, "12.34"));
+            }
+        }
+        // Le premier segment est altere : seule une verification complete le voit
+        overwrite(findBytes("12.34"), (byte) '9');
+
+        // When
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, FLUSH_INTERVAL, false)) {
+            // Then
+            assertEquals(200, journal.lastSequence());
+            assertEquals(201, journal.append(created(201L, "1.00")).sequence());
+        }
+        assertThrows(IllegalStateException.class, this::open);
+    }
+
+    @Test
+    @DisplayName("Should keep appending to a tail segment created with another segment size")
+    void testReopenWithAnotherSegmentSize() throws Exception {
+        // Given
+        try (AuditJournal journal = open()) {
+            journal.append(created(1L, "100.00"));
+        }
+
+        // When: taille configuree doublee depuis la creation du segment
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE * 2, FLUSH_INTERVAL, true)) {
+            for (long i = 2; i <= 60; i++) {
+                journal.append(created(i, "100.00"));
+            }
+        }
+
+        // Then
+        assertEquals(SEGMENT_SIZE, Files.size(directory.resolve("audit-000000.seg")));
+        assertEquals(SEGMENT_SIZE * 2, Files.size(directory.resolve("audit-000001.seg")));
+        AuditJournal.ScanResult result = AuditJournal.scan(directory, true, record -> { });
+        assertTrue(result.valid(), result.problem());
+        assertEquals(60, result.entries());
+    }
+
+    @Test
+    @DisplayName("Should detect a modified entry and refuse to open")
+    void testTamperDetection() throws Exception {
+        // Given
+        try (AuditJournal journal = open()) {
+            journal.append(created(1L, "100.00"));
+            journal.append(created(2L, "200.00"));
+            journal.append(created(3L, "300.00"));
+        }
+        // Le montant "200.00" de la deuxieme entree devient "900.00"
+        overwrite(findBytes("200.00"), (byte) '9');
+
+        // When
+        AuditJournal.ScanResult result = AuditJournal.scan(directory, true, record -> { });
+
+        // Then
+        assertFalse(result.valid());
+        assertFalse(result.tornTail());
+        assertEquals(1, result.lastSequence());
+        assertThrows(IllegalStateException.class, this::open);
+    }
+
+    @Test
+    @DisplayName("Should drop an incomplete last entry and reuse its sequence")
+    void testTornTail() throws Exception {
+        // Given
+        try (AuditJournal journal = open()) {
+            journal.append(created(1L, "100.00"));
+            journal.append(created(2L, "200.00"));
+        }
+        overwrite(findBytes("200.00"), (byte) 0);
+
+        // When
+        try (AuditJournal journal = open()) {
+            AuditRecord next = journal.append(created(4L, "400.00"));
+
+            // Then
+            assertEquals(2, next.sequence());
+        }
+        assertTrue(history(2L).isEmpty());
+        assertTrue(AuditJournal.scan(directory, true, record -> { }).valid());
+    }
+
+    @Test
+    @DisplayName("Should allow a single writer per directory")
+    void testSingleWriter() throws Exception {
+        try (AuditJournal journal = open()) {
+            assertThrows(IllegalStateException.class, this::open);
+        }
+    }
+
+    private List<AuditRecord> history(long invoiceId) throws IOException {
+        return AuditJournal.history(directory, invoiceId);
+    }
+
+    private AuditJournal open() throws IOException {
+        return AuditJournal.open(directory, SEGMENT_SIZE, FLUSH_INTERVAL, true);
+    }
+
+    private static AuditEvent created(long invoiceId, String amount) {
+        return AuditEvent.builder()
+                .type(AuditEventType.INVOICE_CREATED)
+                .invoiceId(invoiceId)
+                .clientId(100L)
+                .amount(new BigDecimal(amount))
+                .remainingBalance(new BigDecimal(amount))
+                .status(InvoiceStatus.PENDING)
+                .build();
+    }
+
+    private static AuditEvent paid(long invoiceId, long paymentId, String amount, String remaining,
+                                   InvoiceStatus status) {
+        return AuditEvent.builder()
+                .type(AuditEventType.PAYMENT_RECORDED)
+                .invoiceId(invoiceId)
+                .clientId(100L)
+                .paymentId(paymentId)
+                .amount(new BigDecimal(amount))
+                .remainingBalance(new BigDecimal(remaining))
+                .status(status)
+                .paymentMethod(PaymentMethod.CARD)
+                .build();
+    }
+
+    private long findBytes(String text) throws IOException {
+        Path segment = directory.resolve("audit-000000.seg");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+            channel.read(content, 0);
+            byte[] bytes = content.array();
+            outer:
+            for (int i = 0; i <= bytes.length - text.length(); i++) {
+                for (int j = 0; j < text.length(); j++) {
+                    if (bytes[i + j] != text.charAt(j)) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+        }
+        throw new AssertionError("not found: " + text);
+    }
+
+    private void overwrite(long position, byte value) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve("audit-000000.seg"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{value}), position);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.techsolutions.billingservice.benchmark;
+
+import com.techsolutions.billingservice.audit.AuditEvent;
+import com.techsolutions.billingservice.audit.AuditJournal;
+import com.techsolutions.billingservice.audit.AuditRecord;
+import com.techsolutions.billingservice.enums.AuditEventType;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Latency added to createInvoice/payInvoice by the audit journal: {@code appendAndAwaitDurable} is what every
+ * commit waits for (group fsync), {@code append} the in-memory part of it.
+ *
+ * <pre>mvn -P benchmark verify -Djmh.includes=AuditJournalBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditJournalBenchmark {
+
+    private final AtomicLong invoiceIds = new AtomicLong();
+    private Path directory;
+    private AuditJournal journal;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-bench");
+        journal = AuditJournal.open(directory, 64 * 1024 * 1024, Duration.ofMillis(10), false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuditRecord append() {
+        return journal.append(event());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AuditRecord appendContended() {
+        return journal.append(event());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean appendAndAwaitDurable() throws InterruptedException {
+        AuditRecord record = journal.append(event());
+        return journal.awaitDurable(record.sequence(), Duration.ofSeconds(1));
+    }
+
+    private AuditEvent event() {
+        return AuditEvent.builder()
+                .type(AuditEventType.PAYMENT_RECORDED)
+                .invoiceId(invoiceIds.incrementAndGet() % 100_000)
+                .clientId(100L)
+                .paymentId(42L)
+                .amount(new BigDecimal("400.00"))
+                .remainingBalance(new BigDecimal("600.00"))
+                .status(InvoiceStatus.PENDING)
+                .paymentMethod(PaymentMethod.TRANSFER)
+                .build();
+    }
+}
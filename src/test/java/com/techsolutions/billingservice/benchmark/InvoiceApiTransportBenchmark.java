@@ -0,0 +1,153 @@
+package com.techsolutions.billingservice.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.techsolutions.billingservice.BillingServiceApplication;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.grpc.GrpcServerLifecycle;
+import com.techsolutions.billingservice.grpc.v1.GetInvoiceRequest;
+import com.techsolutions.billingservice.grpc.v1.Invoice;
+import com.techsolutions.billingservice.grpc.v1.InvoiceServiceGrpc;
+import com.techsolutions.billingservice.grpc.v1.ListClientInvoicesRequest;
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.service.InvoiceService;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Same reads over REST (HTTP/1.1 + JSON) and gRPC (HTTP/2 + protobuf) against a running application on H2.
+ * Client and server share the JVM, so the "CPU per call" line printed after each iteration is the process CPU
+ * time of both sides divided by the number of calls.
+ *
+ * <pre>mvn -P benchmark verify -Djmh.includes=InvoiceApiTransportBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvoiceApiTransportBenchmark {
+
+    private static final long CLIENT_ID = 4242L;
+    private static final int INVOICES_PER_CLIENT = 50;
+
+    private static final TypeReference<List<InvoiceResponse>> INVOICE_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private ManagedChannel channel;
+    private InvoiceServiceGrpc.InvoiceServiceBlockingStub stub;
+    private long invoiceId;
+
+    private long calls;
+    private long cpuStart;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(BillingServiceApplication.class,
+                "--server.port=0",
+                "--billing.grpc.port=0",
+                "--billing.rate-limit.enabled=false",
+                "--billing.dunning.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+
+        InvoiceService invoiceService = context.getBean(InvoiceService.class);
+        for (int i = 1; i <= INVOICES_PER_CLIENT; i++) {
+            invoiceId = invoiceService.createInvoice(InvoiceRequest.builder()
+                    .clientId(CLIENT_ID)
+                    .amount(new BigDecimal(i * 10 + ".50"))
+                    .description("Benchmark invoice " + i)
+                    .paymentMethod(PaymentMethod.TRANSFER)
+                    .build()).id();
+        }
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        channel = NettyChannelBuilder
+                .forAddress("localhost", context.getBean(GrpcServerLifecycle.class).getPort())
+                .usePlaintext()
+                .build();
+        stub = InvoiceServiceGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpuSample() {
+        calls = 0;
+        cpuStart = os.getProcessCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportCpuSample() {
+        long cpu = os.getProcessCpuTime() - cpuStart;
+        System.out.printf("  CPU per call: %.1f us (%d calls)%n", cpu / 1_000.0 / Math.max(calls, 1), calls);
+    }
+
+    @Benchmark
+    public InvoiceResponse restGetInvoice() throws IOException, InterruptedException {
+        calls++;
+        return objectMapper.readValue(get("/invoices/" + invoiceId), InvoiceResponse.class);
+    }
+
+    @Benchmark
+    public Invoice grpcGetInvoice() {
+        calls++;
+        return stub.getInvoice(GetInvoiceRequest.newBuilder().setId(invoiceId).build());
+    }
+
+    @Benchmark
+    public List<InvoiceResponse> restListClientInvoices() throws IOException, InterruptedException {
+        calls++;
+        return objectMapper.readValue(get("/clients/" + CLIENT_ID + "/invoices"), INVOICE_LIST);
+    }
+
+    @Benchmark
+    public List<Invoice> grpcListClientInvoices() {
+        calls++;
+        List<Invoice> invoices = new ArrayList<>(INVOICES_PER_CLIENT);
+        Iterator<Invoice> stream = stub.listClientInvoices(
+                ListClientInvoicesRequest.newBuilder().setClientId(CLIENT_ID).build());
+        stream.forEachRemaining(invoices::add);
+        return invoices;
+    }
+
+    private byte[] get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,97 @@
+package com.techsolutions.billingservice.benchmark;
+
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.json.InvoiceJsonHttpMessageConverter;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the client invoice list and the totals response through the Jackson converter and through
+ * {@link InvoiceJsonHttpMessageConverter}. Run with {@code -prof gc} to compare allocation per operation.
+ *
+ * <pre>mvn -P benchmark verify -Djmh.includes=InvoiceJsonSerializationBenchmark</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvoiceJsonSerializationBenchmark {
+
+    private static final Type INVOICE_LIST = new ParameterizedTypeReference<List<InvoiceResponse>>() {
+    }.getType();
+
+    @Param({"10", "100"})
+    public int invoiceCount;
+
+    private List<InvoiceResponse> invoices;
+    private TotalAmountResponse total;
+    private MappingJackson2HttpMessageConverter jackson;
+    private InvoiceJsonHttpMessageConverter precompiled;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper auto-configured by Spring Boot
+        jackson = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        precompiled = new InvoiceJsonHttpMessageConverter();
+
+        invoices = new ArrayList<>();
+        for (int i = 0; i < invoiceCount; i++) {
+            invoices.add(InvoiceResponse.builder()
+                    .id((long) i)
+                    .clientId(100L)
+                    .amount(BigDecimal.valueOf(100_000 + i, 2))
+                    .remainingBalance(BigDecimal.valueOf(50_000 + i, 2))
+                    .description("Consulting services #" + i)
+                    .dateEmission(LocalDate.of(2024, 1, 1).plusDays(i))
+                    .status(i % 3 == 0 ? InvoiceStatus.PAID : InvoiceStatus.PENDING)
+                    .paymentMethod(i % 3 == 0 ? PaymentMethod.CARD : null)
+                    .build());
+        }
+        total = new TotalAmountResponse(100L, new BigDecimal("150000.00"), new BigDecimal("50000.00"), invoiceCount);
+    }
+
+    @Benchmark
+    public int jacksonList() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        jackson.write(invoices, INVOICE_LIST, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes().length;
+    }
+
+    @Benchmark
+    public int precompiledList() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        precompiled.write(invoices, INVOICE_LIST, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes().length;
+    }
+
+    @Benchmark
+    public int jacksonTotal() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        jackson.write(total, TotalAmountResponse.class, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes().length;
+    }
+
+    @Benchmark
+    public int precompiledTotal() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        precompiled.write(total, TotalAmountResponse.class, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes().length;
+    }
+}
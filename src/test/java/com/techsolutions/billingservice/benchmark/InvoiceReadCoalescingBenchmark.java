@@ -0,0 +1,124 @@
+package com.techsolutions.billingservice.benchmark;
+
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.PaymentResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import com.techsolutions.billingservice.service.InvoiceService;
+import com.techsolutions.billingservice.service.impl.CoalescingInvoiceService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Burst of identical dashboard reads against a simulated 2ms query. Compare the {@code queries} counter of
+ * both benchmarks: it reports how many database round trips were needed per call.
+ *
+ * <pre>mvn -P benchmark verify -Djmh.includes=InvoiceReadCoalescingBenchmark</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(32)
+@Fork(1)
+public class InvoiceReadCoalescingBenchmark {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    @State(Scope.Benchmark)
+    public static class Services {
+        InvoiceService direct;
+        InvoiceService coalesced;
+
+        @Setup
+        public void setUp() {
+            direct = new SimulatedDatabaseService();
+            coalesced = new CoalescingInvoiceService(direct, Duration.ofSeconds(5));
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class QueryCounter {
+        public long queries;
+
+        @Setup(Level.Iteration)
+        public void bind() {
+            queries = 0;
+            CURRENT.set(this);
+        }
+    }
+
+    @Benchmark
+    public TotalAmountResponse direct(Services services, QueryCounter counter) {
+        return services.direct.getTotalAmountByClient(100L);
+    }
+
+    @Benchmark
+    public TotalAmountResponse coalesced(Services services, QueryCounter counter) {
+        return services.coalesced.getTotalAmountByClient(100L);
+    }
+
+    static class SimulatedDatabaseService implements InvoiceService {
+
+        private static final TotalAmountResponse TOTAL = TotalAmountResponse.builder()
+                .clientId(100L)
+                .totalAmount(new BigDecimal("1500.00"))
+                .invoiceCount(2)
+                .build();
+
+        @Override
+        public TotalAmountResponse getTotalAmountByClient(Long clientId) {
+            CURRENT.get().queries++;
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+            return TOTAL;
+        }
+
+        @Override
+        public List<InvoiceResponse> getInvoicesByClient(Long clientId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<InvoiceResponse> getInvoicesWithPaymentsByClient(Long clientId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<InvoiceResponse> getInvoicesByClientAfter(Long clientId, long afterId, int limit,
+                                                              boolean includePayments) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InvoiceResponse addPayment(Long invoiceId, PaymentRequest paymentRequestDTO) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<PaymentResponse> getPayments(Long invoiceId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InvoiceResponse createInvoice(InvoiceRequest invoiceRequestDTO) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InvoiceResponse getInvoice(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InvoiceResponse payInvoice(Long id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
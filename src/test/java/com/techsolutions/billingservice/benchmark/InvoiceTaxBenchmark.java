@@ -0,0 +1,89 @@
+package com.techsolutions.billingservice.benchmark;
+
+import com.techsolutions.billingservice.tax.InvoiceTotals;
+import com.techsolutions.billingservice.tax.LineItems;
+import com.techsolutions.billingservice.tax.TaxEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices an invoice of {@code lineCount} lines with {@link TaxEngine} (long minor units) and with the equivalent
+ * per-line BigDecimal arithmetic. Run with {@code -prof gc} to compare allocation per operation.
+ *
+ * <pre>mvn -P benchmark verify -Djmh.includes=InvoiceTaxBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvoiceTaxBenchmark {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"10", "500"})
+    public int lineCount;
+
+    private BigDecimal[] unitPrices;
+    private BigDecimal[] quantities;
+    private BigDecimal[] discountRates;
+    private BigDecimal[] taxRates;
+    private LineItems converted;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        unitPrices = new BigDecimal[lineCount];
+        quantities = new BigDecimal[lineCount];
+        discountRates = new BigDecimal[lineCount];
+        taxRates = new BigDecimal[lineCount];
+        BigDecimal[] rates = {new BigDecimal("20.00"), new BigDecimal("10.00"), new BigDecimal("5.50")};
+        for (int i = 0; i < lineCount; i++) {
+            unitPrices[i] = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            quantities[i] = BigDecimal.valueOf(1_000 + random.nextInt(10_000), 3);
+            discountRates[i] = i % 4 == 0 ? new BigDecimal("15.00") : BigDecimal.ZERO;
+            taxRates[i] = rates[i % rates.length];
+        }
+        converted = toLineItems();
+    }
+
+    // Same path as InvoiceServiceImpl: conversion at the boundary, then integer arithmetic
+    @Benchmark
+    public long taxEngine() {
+        InvoiceTotals totals = TaxEngine.calculate(toLineItems());
+        return totals.totalMinor();
+    }
+
+    // Arithmetic alone, lines already converted
+    @Benchmark
+    public long taxEngineCalculateOnly() {
+        return TaxEngine.calculate(converted).totalMinor();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lineCount; i++) {
+            BigDecimal gross = unitPrices[i].multiply(quantities[i]).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal discount = gross.multiply(discountRates[i]).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+            BigDecimal net = gross.subtract(discount);
+            BigDecimal tax = net.multiply(taxRates[i]).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+            total = total.add(net).add(tax);
+        }
+        return total;
+    }
+
+    private LineItems toLineItems() {
+        LineItems items = new LineItems(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            items.add(TaxEngine.toMinorUnits(unitPrices[i]), TaxEngine.toMilliUnits(quantities[i]),
+                    TaxEngine.toBasisPoints(discountRates[i]), TaxEngine.toBasisPoints(taxRates[i]));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,45 @@
+package com.techsolutions.billingservice.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AotBuildToggles Unit Tests")
+class AotBuildTogglesTest {
+
+    @Test
+    @DisplayName("Should accept a runtime environment with the build-time toggles, defaults included")
+    void testSameToggles() {
+        // Given
+        Properties buildTime = AotBuildToggles.snapshot(new MockEnvironment()
+                .withProperty("billing.grpc.enabled", "true"));
+
+        // When
+        List<String> mismatches = AotBuildToggles.mismatches(buildTime, new MockEnvironment()
+                .withProperty("billing.dunning.enabled", "TRUE"));
+
+        // Then
+        assertTrue(mismatches.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report the toggles changed after the AOT build")
+    void testChangedToggles() {
+        // Given
+        Properties buildTime = AotBuildToggles.snapshot(new MockEnvironment());
+
+        // When
+        List<String> mismatches = AotBuildToggles.mismatches(buildTime, new MockEnvironment()
+                .withProperty("billing.sharding.enabled", "true")
+                .withProperty("billing.dunning.webhook-url", "http://localhost:9000/reminders"));
+
+        // Then
+        assertEquals(List.of("billing.sharding.enabled (build: false, runtime: true)",
+                "billing.dunning.webhook-url (build: unset, runtime: set)"), mismatches);
+    }
+}
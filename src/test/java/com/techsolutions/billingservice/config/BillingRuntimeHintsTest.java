@@ -0,0 +1,56 @@
+package com.techsolutions.billingservice.config;
+
+import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.grpc.v1.BulkCreateError;
+import com.techsolutions.billingservice.notification.ReminderNotification;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BillingRuntimeHints Unit Tests")
+class BillingRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new BillingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should register record accessors used by Jackson")
+    void testJsonTypes() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(InvoiceResponse.class.getMethod("remainingBalance")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(ReminderNotification.class.getMethod("invoiceId")).test(hints));
+    }
+
+    @Test
+    @DisplayName("Should register the protobuf messages, their builders and enums")
+    void testProtobufTypes() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(com.techsolutions.billingservice.grpc.v1.Invoice.class.getMethod("getAmount")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(BulkCreateError.Builder.class.getMethod("setIndex", int.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(com.techsolutions.billingservice.grpc.v1.PaymentMethod.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(
+                "io.grpc.netty.shaded.io.netty.util.internal.shaded.org.jctools.queues.MpscArrayQueueProducerIndexField"))
+                .test(hints));
+    }
+
+    @Test
+    @DisplayName("Should register entities and the shard schema script")
+    void testEntitiesAndResources() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Invoice.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/shard-schema.sql").test(hints));
+    }
+}
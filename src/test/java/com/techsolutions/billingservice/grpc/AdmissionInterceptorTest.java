@@ -0,0 +1,324 @@
+package com.techsolutions.billingservice.grpc;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.techsolutions.billingservice.config.RateLimitProperties;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.grpc.v1.GetInvoiceRequest;
+import com.techsolutions.billingservice.grpc.v1.Invoice;
+import com.techsolutions.billingservice.grpc.v1.InvoiceServiceGrpc;
+import com.techsolutions.billingservice.grpc.v1.ListClientInvoicesRequest;
+import com.techsolutions.billingservice.ratelimit.AdmissionControl;
+import com.techsolutions.billingservice.ratelimit.ConcurrencyLimiter;
+import com.techsolutions.billingservice.ratelimit.TokenBucketRateLimiter;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.service.InvoiceService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdmissionInterceptor Tests (in-process transport)")
+class AdmissionInterceptorTest {
+
+    private static final String GET_INVOICE = InvoiceServiceGrpc.getGetInvoiceMethod().getFullMethodName();
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    private RateLimitProperties properties;
+    private ConcurrencyLimiter concurrencyLimiter;
+    private ValidatorFactory validatorFactory;
+    private ExecutorService executor;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new RateLimitProperties();
+        properties.setApiKeys(Set.of("known-key"));
+        properties.setMaxConcurrent(3);
+        properties.getDefaults().setPermitsPerSecond(0.001);
+        properties.getDefaults().setBurst(2);
+        properties.getDefaults().setMaxConcurrent(1);
+        concurrencyLimiter = new ConcurrencyLimiter();
+        AdmissionControl admissionControl = new AdmissionControl(properties, new TokenBucketRateLimiter(1000),
+                concurrencyLimiter, new SimpleMeterRegistry());
+
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        InvoiceGrpcService service = new InvoiceGrpcService(
+                invoiceService, new InvoiceProtoMapper(), validatorFactory.getValidator(), 3, 100);
+        executor = Executors.newFixedThreadPool(4);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .executor(executor)
+                .addService(ServerInterceptors.intercept(service, new AdmissionInterceptor(admissionControl)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        executor.shutdownNow();
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should return RESOURCE_EXHAUSTED with a retry-after trailer once the caller's burst is used")
+    void testRateLimited() {
+        // Given
+        when(invoiceService.getInvoice(1L)).thenReturn(invoice());
+        InvoiceServiceGrpc.InvoiceServiceBlockingStub stub = InvoiceServiceGrpc.newBlockingStub(channel);
+        stub.getInvoice(request());
+        stub.getInvoice(request());
+
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> stub.getInvoice(request()));
+
+        // Then
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, exception.getStatus().getCode());
+        assertNotNull(exception.getTrailers().get(AdmissionInterceptor.RETRY_AFTER));
+
+        // A configured key has its own bucket
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("X-API-Key", Metadata.ASCII_STRING_MARSHALLER), "known-key");
+        assertEquals(1L, stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers))
+                .getInvoice(request()).getId());
+    }
+
+    @Test
+    @DisplayName("Should return UNAVAILABLE while the method's concurrency limit is taken, then release it")
+    void testConcurrencyLimit() throws Exception {
+        // Given: a first call blocked in the service holds the only permit of GetInvoice
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        when(invoiceService.getInvoice(1L)).thenAnswer(call -> {
+            entered.countDown();
+            assertTrue(proceed.await(5, TimeUnit.SECONDS));
+            return invoice();
+        });
+        ListenableFuture<Invoice> first = InvoiceServiceGrpc.newFutureStub(channel).getInvoice(request());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> InvoiceServiceGrpc.newBlockingStub(channel).getInvoice(request()));
+
+        // Then
+        assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+        proceed.countDown();
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(0, concurrencyLimiter.inFlight(GET_INVOICE, 1));
+    }
+
+    @Test
+    @DisplayName("Should release the permit of a call that fails in the service")
+    void testPermitReleasedOnError() {
+        // Given
+        when(invoiceService.getInvoice(1L)).thenThrow(new IllegalStateException("boom"));
+
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> InvoiceServiceGrpc.newBlockingStub(channel).getInvoice(request()));
+
+        // Then
+        assertEquals(Status.Code.INTERNAL, exception.getStatus().getCode());
+        assertEquals(0, concurrencyLimiter.inFlight(GET_INVOICE, 1));
+    }
+
+    @Test
+    @DisplayName("Should count streams in their own pool rather than in the global limit")
+    void testStreamPermits() throws Exception {
+        // Given: une seule place globale, un flux ouvert bloque sur sa premiere page
+        properties.setMaxConcurrent(1);
+        properties.setMaxConcurrentStreams(1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        when(invoiceService.getInvoicesByClientAfter(100L, 0L, 100, false)).thenAnswer(call -> {
+            entered.countDown();
+            assertTrue(proceed.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+        when(invoiceService.getInvoice(1L)).thenReturn(invoice());
+        CompletableFuture<Status> stream = new CompletableFuture<>();
+        InvoiceServiceGrpc.newStub(channel).listClientInvoices(
+                ListClientInvoicesRequest.newBuilder().setClientId(100L).build(), observer(stream));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // When
+        Invoice unary = InvoiceServiceGrpc.newBlockingStub(channel).getInvoice(request());
+        CompletableFuture<Status> secondStream = new CompletableFuture<>();
+        InvoiceServiceGrpc.newStub(channel).bulkCreateInvoices(observer(secondStream));
+
+        // Then
+        assertEquals(1L, unary.getId());
+        assertEquals(Status.Code.UNAVAILABLE, secondStream.get(5, TimeUnit.SECONDS).getCode());
+        proceed.countDown();
+        assertEquals(Status.Code.OK, stream.get(5, TimeUnit.SECONDS).getCode());
+        assertEquals(0, concurrencyLimiter.inFlight(
+                InvoiceServiceGrpc.getListClientInvoicesMethod().getFullMethodName(), 1));
+    }
+
+    @Test
+    @DisplayName("Should give each internal service its own bucket with the internal limit")
+    void testInternalServices() throws Exception {
+        // Given: appelants sur 127.0.0.0/8, identifies par X-Service-Name
+        properties.setInternalNetworks(List.of("127.0.0.0/8"));
+        properties.getInternal().setPermitsPerSecond(0.001);
+        properties.getInternal().setBurst(4);
+        AdmissionControl admissionControl = new AdmissionControl(properties, new TokenBucketRateLimiter(1000),
+                new ConcurrencyLimiter(), new SimpleMeterRegistry());
+        when(invoiceService.getInvoice(1L)).thenReturn(invoice());
+        Server tcpServer = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+                .executor(executor)
+                .addService(ServerInterceptors.intercept(new InvoiceGrpcService(invoiceService,
+                        new InvoiceProtoMapper(), validatorFactory.getValidator(), 3, 100),
+                        new AdmissionInterceptor(admissionControl)))
+                .build()
+                .start();
+        ManagedChannel tcpChannel = ManagedChannelBuilder.forAddress("127.0.0.1", tcpServer.getPort())
+                .usePlaintext()
+                .build();
+        try {
+            InvoiceServiceGrpc.InvoiceServiceBlockingStub orders = service(tcpChannel, "orders");
+
+            // When: au-dela de la rafale anonyme (2), dans la rafale interne (4)
+            for (int i = 0; i < 4; i++) {
+                assertEquals(1L, orders.getInvoice(request()).getId());
+            }
+
+            // Then
+            StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                    () -> orders.getInvoice(request()));
+            assertEquals(Status.Code.RESOURCE_EXHAUSTED, exception.getStatus().getCode());
+            assertEquals(1L, service(tcpChannel, "reporting").getInvoice(request()).getId());
+        } finally {
+            tcpChannel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            tcpServer.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer RESOURCE_EXHAUSTED, not INTERNAL, when the executor queue is full")
+    void testExecutorSaturated() throws Exception {
+        // Given: un thread occupe et une file d'une place deja prise
+        ThreadPoolExecutor bounded = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1));
+        String name = InProcessServerBuilder.generateName();
+        Server saturated = InProcessServerBuilder.forName(name)
+                .executor(new SheddingExecutor(bounded))
+                .addService(ServerInterceptors.intercept(new InvoiceGrpcService(invoiceService,
+                        new InvoiceProtoMapper(), validatorFactory.getValidator(), 3, 100), new SheddingInterceptor()))
+                .build()
+                .start();
+        ManagedChannel saturatedChannel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        when(invoiceService.getInvoice(1L)).thenAnswer(call -> {
+            entered.countDown();
+            assertTrue(proceed.await(5, TimeUnit.SECONDS));
+            return invoice();
+        });
+        try {
+            ListenableFuture<Invoice> running = InvoiceServiceGrpc.newFutureStub(saturatedChannel).getInvoice(request());
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            ListenableFuture<Invoice> queued = InvoiceServiceGrpc.newFutureStub(saturatedChannel).getInvoice(request());
+
+            // When
+            StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                    () -> InvoiceServiceGrpc.newBlockingStub(saturatedChannel).getInvoice(request()));
+
+            // Then
+            assertEquals(Status.Code.RESOURCE_EXHAUSTED, exception.getStatus().getCode());
+            assertEquals("1", exception.getTrailers().get(AdmissionInterceptor.RETRY_AFTER));
+            proceed.countDown();
+            assertEquals(1L, running.get(5, TimeUnit.SECONDS).getId());
+            assertEquals(1L, queued.get(5, TimeUnit.SECONDS).getId());
+        } finally {
+            proceed.countDown();
+            saturatedChannel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            saturated.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            bounded.shutdownNow();
+        }
+    }
+
+    private static InvoiceServiceGrpc.InvoiceServiceBlockingStub service(ManagedChannel channel, String name) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("X-Service-Name", Metadata.ASCII_STRING_MARSHALLER), name);
+        return InvoiceServiceGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    // Final status of a call made with the async stub
+    private static <T> StreamObserver<T> observer(CompletableFuture<Status> status) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(T value) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                status.complete(Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                status.complete(Status.OK);
+            }
+        };
+    }
+
+    private static GetInvoiceRequest request() {
+        return GetInvoiceRequest.newBuilder().setId(1L).build();
+    }
+
+    private static InvoiceResponse invoice() {
+        return InvoiceResponse.builder()
+                .id(1L)
+                .clientId(100L)
+                .amount(new BigDecimal("100.00"))
+                .remainingBalance(new BigDecimal("100.00"))
+                .description("Test invoice")
+                .dateEmission(LocalDate.of(2024, 1, 15))
+                .status(InvoiceStatus.PENDING)
+                .paymentMethod(com.techsolutions.billingservice.enums.PaymentMethod.CARD)
+                .build();
+    }
+}
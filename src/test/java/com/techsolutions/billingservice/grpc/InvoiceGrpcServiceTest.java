@@ -0,0 +1,345 @@
+package com.techsolutions.billingservice.grpc;
+
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.exception.InvalidInvoiceOperationException;
+import com.techsolutions.billingservice.exception.InvoiceNotFoundException;
+import com.techsolutions.billingservice.grpc.v1.AddPaymentRequest;
+import com.techsolutions.billingservice.grpc.v1.BulkCreateInvoicesResponse;
+import com.techsolutions.billingservice.grpc.v1.CreateInvoiceRequest;
+import com.techsolutions.billingservice.grpc.v1.GetInvoiceRequest;
+import com.techsolutions.billingservice.grpc.v1.Invoice;
+import com.techsolutions.billingservice.grpc.v1.InvoiceLineInput;
+import com.techsolutions.billingservice.grpc.v1.InvoiceServiceGrpc;
+import com.techsolutions.billingservice.grpc.v1.ListClientInvoicesRequest;
+import com.techsolutions.billingservice.grpc.v1.PayInvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceLineResponse;
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.service.InvoiceService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InvoiceGrpcService Tests (in-process transport)")
+class InvoiceGrpcServiceTest {
+
+    private static final int MAX_BULK_SIZE = 3;
+    private static final int LIST_PAGE_SIZE = 100;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    private ValidatorFactory validatorFactory;
+    private Server server;
+    private ManagedChannel channel;
+    private InvoiceServiceGrpc.InvoiceServiceBlockingStub blockingStub;
+    private InvoiceServiceGrpc.InvoiceServiceStub asyncStub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        InvoiceGrpcService service = new InvoiceGrpcService(
+                invoiceService, new InvoiceProtoMapper(), validatorFactory.getValidator(), MAX_BULK_SIZE, LIST_PAGE_SIZE);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        blockingStub = InvoiceServiceGrpc.newBlockingStub(channel);
+        asyncStub = InvoiceServiceGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should map an invoice to its protobuf message")
+    void getInvoice_ShouldMapAllFields() {
+        // Given
+        when(invoiceService.getInvoice(1L)).thenReturn(invoice(1L, new BigDecimal("1500.00")));
+
+        // When
+        Invoice result = blockingStub.getInvoice(GetInvoiceRequest.newBuilder().setId(1L).build());
+
+        // Then
+        assertEquals(1L, result.getId());
+        assertEquals(100L, result.getClientId());
+        assertEquals("1500.00", result.getAmount());
+        assertEquals("1500.00", result.getRemainingBalance());
+        assertEquals("2024-01-15", result.getDateEmission());
+        assertEquals("", result.getDatePaiement());
+        assertEquals(com.techsolutions.billingservice.grpc.v1.InvoiceStatus.INVOICE_STATUS_PENDING, result.getStatus());
+        assertEquals(com.techsolutions.billingservice.grpc.v1.PaymentMethod.PAYMENT_METHOD_CARD, result.getPaymentMethod());
+        assertEquals(0, result.getPaymentsCount());
+    }
+
+    @Test
+    @DisplayName("Should map service exceptions to gRPC status codes")
+    void errors_ShouldMapToStatusCodes() {
+        // Given
+        when(invoiceService.getInvoice(99L)).thenThrow(new InvoiceNotFoundException("Invoice not found with id: 99"));
+        when(invoiceService.payInvoice(1L)).thenThrow(new InvalidInvoiceOperationException("Invoice is already paid"));
+
+        // When
+        StatusRuntimeException notFound = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getInvoice(GetInvoiceRequest.newBuilder().setId(99L).build()));
+        StatusRuntimeException alreadyPaid = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.payInvoice(PayInvoiceRequest.newBuilder().setId(1L).build()));
+
+        // Then
+        assertEquals(Status.Code.NOT_FOUND, notFound.getStatus().getCode());
+        assertEquals("Invoice not found with id: 99", notFound.getStatus().getDescription());
+        assertEquals(Status.Code.FAILED_PRECONDITION, alreadyPaid.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid create request without calling the service")
+    void createInvoice_WhenInvalid_ShouldReturnInvalidArgument() {
+        // Given
+        CreateInvoiceRequest request = CreateInvoiceRequest.newBuilder()
+                .setClientId(100L)
+                .setAmount("0.00")
+                .build();
+
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createInvoice(request));
+
+        // Then
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals("amount: Amount must be greater than 0, description: Description is required",
+                exception.getStatus().getDescription());
+        verifyNoInteractions(invoiceService);
+    }
+
+    @Test
+    @DisplayName("Should pass invoice lines through in both directions")
+    void createInvoice_WithLines_ShouldMapLines() {
+        // Given
+        InvoiceResponse created = InvoiceResponse.builder()
+                .id(7L)
+                .clientId(100L)
+                .amount(new BigDecimal("120.00"))
+                .discountAmount(new BigDecimal("0.00"))
+                .taxAmount(new BigDecimal("20.00"))
+                .lines(List.of(new InvoiceLineResponse(1, "Licence", new BigDecimal("1.000"),
+                        new BigDecimal("100.00"), new BigDecimal("0.00"), new BigDecimal("20.00"),
+                        new BigDecimal("0.00"), new BigDecimal("20.00"), new BigDecimal("120.00"))))
+                .build();
+        when(invoiceService.createInvoice(any(InvoiceRequest.class))).thenReturn(created);
+        CreateInvoiceRequest request = CreateInvoiceRequest.newBuilder()
+                .setClientId(100L)
+                .setDescription("Licences")
+                .addLines(InvoiceLineInput.newBuilder()
+                        .setDescription("Licence")
+                        .setQuantity("1")
+                        .setUnitPrice("100.00")
+                        .setTaxRate("20"))
+                .build();
+
+        // When
+        Invoice result = blockingStub.createInvoice(request);
+
+        // Then
+        verify(invoiceService).createInvoice(argThat(dto -> dto.amount() == null
+                && dto.lines().size() == 1
+                && dto.lines().get(0).discountRate() == null
+                && new BigDecimal("20").equals(dto.lines().get(0).taxRate())));
+        assertEquals("120.00", result.getAmount());
+        assertEquals("20.00", result.getTaxAmount());
+        assertEquals(1, result.getLinesCount());
+        assertEquals(1, result.getLines(0).getLineNumber());
+        assertEquals("120.00", result.getLines(0).getLineTotal());
+    }
+
+    @Test
+    @DisplayName("Should report invalid lines with their index")
+    void createInvoice_WithInvalidLine_ShouldReturnInvalidArgument() {
+        // Given
+        CreateInvoiceRequest request = CreateInvoiceRequest.newBuilder()
+                .setClientId(100L)
+                .setDescription("Licences")
+                .addLines(InvoiceLineInput.newBuilder()
+                        .setDescription("Licence")
+                        .setQuantity("0")
+                        .setUnitPrice("100.00"))
+                .build();
+
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createInvoice(request));
+
+        // Then
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals("lines[0].quantity: Quantity must be greater than 0", exception.getStatus().getDescription());
+        verifyNoInteractions(invoiceService);
+    }
+
+    @Test
+    @DisplayName("Should reject a payment with more than 2 decimals")
+    void addPayment_ShouldRejectSubCentAmount() {
+        // Given
+        AddPaymentRequest request = AddPaymentRequest.newBuilder()
+                .setInvoiceId(1L)
+                .setAmount("10.005")
+                .setPaymentMethod(com.techsolutions.billingservice.grpc.v1.PaymentMethod.PAYMENT_METHOD_CARD)
+                .build();
+
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.addPayment(request));
+
+        // Then
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals("amount: Amount must have at most 2 decimals", exception.getStatus().getDescription());
+        verifyNoInteractions(invoiceService);
+    }
+
+    @Test
+    @DisplayName("Should stream every invoice of a client, reading one page at a time")
+    void listClientInvoices_ShouldStreamAllInvoices() {
+        // Given
+        List<InvoiceResponse> invoices = IntStream.rangeClosed(1, 250)
+                .mapToObj(i -> invoice((long) i, new BigDecimal(i + ".00")))
+                .toList();
+        when(invoiceService.getInvoicesByClientAfter(eq(100L), anyLong(), eq(LIST_PAGE_SIZE), eq(false)))
+                .thenAnswer(call -> invoices.stream()
+                        .filter(invoice -> invoice.id() > call.<Long>getArgument(1))
+                        .limit(LIST_PAGE_SIZE)
+                        .toList());
+
+        // When
+        List<Invoice> received = new ArrayList<>();
+        blockingStub.listClientInvoices(ListClientInvoicesRequest.newBuilder().setClientId(100L).build())
+                .forEachRemaining(received::add);
+
+        // Then
+        assertEquals(250, received.size());
+        assertEquals(1L, received.get(0).getId());
+        assertEquals("250.00", received.get(249).getAmount());
+        verify(invoiceService).getInvoicesByClientAfter(100L, 0L, LIST_PAGE_SIZE, false);
+        verify(invoiceService).getInvoicesByClientAfter(100L, 100L, LIST_PAGE_SIZE, false);
+        verify(invoiceService).getInvoicesByClientAfter(100L, 200L, LIST_PAGE_SIZE, false);
+        verify(invoiceService, never()).getInvoicesByClient(any());
+    }
+
+    @Test
+    @DisplayName("Should create valid invoices of a bulk stream and report the rejected ones")
+    void bulkCreateInvoices_ShouldReportPerItemErrors() throws Exception {
+        // Given
+        when(invoiceService.createInvoice(any(InvoiceRequest.class)))
+                .thenAnswer(call -> invoice(10L, call.<InvoiceRequest>getArgument(0).amount()));
+
+        // When
+        BulkCreateInvoicesResponse response = bulkCreate(
+                createRequest("100.00"), createRequest("-5"), createRequest("not-a-number"));
+
+        // Then
+        assertEquals(1, response.getCreatedCount());
+        assertEquals(2, response.getFailedCount());
+        assertEquals("100.00", response.getInvoices(0).getAmount());
+        assertEquals(1, response.getErrors(0).getIndex());
+        assertEquals("INVALID_ARGUMENT", response.getErrors(0).getCode());
+        assertEquals(2, response.getErrors(1).getIndex());
+        assertEquals("amount: not a decimal number: not-a-number", response.getErrors(1).getMessage());
+        verify(invoiceService, times(1)).createInvoice(any(InvoiceRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should abort a bulk stream larger than the configured limit")
+    void bulkCreateInvoices_WhenTooLarge_ShouldReturnResourceExhausted() {
+        // Given
+        when(invoiceService.createInvoice(any(InvoiceRequest.class))).thenReturn(invoice(10L, BigDecimal.TEN));
+
+        // When
+        Exception exception = assertThrows(Exception.class, () -> bulkCreate(
+                createRequest("1.00"), createRequest("2.00"), createRequest("3.00"), createRequest("4.00")));
+
+        // Then
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(exception).getCode());
+        verify(invoiceService, times(MAX_BULK_SIZE)).createInvoice(any(InvoiceRequest.class));
+    }
+
+    private BulkCreateInvoicesResponse bulkCreate(CreateInvoiceRequest... requests) throws Exception {
+        CompletableFuture<BulkCreateInvoicesResponse> result = new CompletableFuture<>();
+        StreamObserver<CreateInvoiceRequest> requestObserver = asyncStub.bulkCreateInvoices(
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(BulkCreateInvoicesResponse response) {
+                        result.complete(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+        for (CreateInvoiceRequest request : requests) {
+            requestObserver.onNext(request);
+        }
+        requestObserver.onCompleted();
+        try {
+            return result.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private static CreateInvoiceRequest createRequest(String amount) {
+        return CreateInvoiceRequest.newBuilder()
+                .setClientId(100L)
+                .setAmount(amount)
+                .setDescription("Bulk invoice")
+                .setPaymentMethod(com.techsolutions.billingservice.grpc.v1.PaymentMethod.PAYMENT_METHOD_TRANSFER)
+                .build();
+    }
+
+    private static InvoiceResponse invoice(Long id, BigDecimal amount) {
+        return InvoiceResponse.builder()
+                .id(id)
+                .clientId(100L)
+                .amount(amount)
+                .remainingBalance(amount)
+                .description("Test invoice")
+                .dateEmission(LocalDate.of(2024, 1, 15))
+                .status(InvoiceStatus.PENDING)
+                .paymentMethod(PaymentMethod.CARD)
+                .build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.techsolutions.billingservice.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.resources.InvoiceLineResponse;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentResponse;
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compares against the ObjectMapper configured by Spring Boot, i.e. the one the Jackson converter would use
+@JsonTest
+@DisplayName("InvoiceJsonWriter Unit Tests")
+class InvoiceJsonWriterTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should match Jackson for a typical invoice")
+    void testTypicalInvoice() throws Exception {
+        // Given
+        InvoiceResponse invoice = InvoiceResponse.builder()
+                .id(1L)
+                .clientId(100L)
+                .amount(new BigDecimal("1000.00"))
+                .remainingBalance(new BigDecimal("250.50"))
+                .description("Consulting services")
+                .dateEmission(LocalDate.of(2024, 1, 15))
+                .status(InvoiceStatus.PENDING)
+                .build();
+
+        // When / Then
+        assertSameJson(invoice);
+    }
+
+    @Test
+    @DisplayName("Should match Jackson when payments are included")
+    void testInvoiceWithPayments() throws Exception {
+        // Given
+        InvoiceResponse invoice = InvoiceResponse.builder()
+                .id(2L)
+                .clientId(100L)
+                .amount(new BigDecimal("300.00"))
+                .remainingBalance(BigDecimal.ZERO)
+                .description("Hosting")
+                .dateEmission(LocalDate.of(2024, 2, 1))
+                .datePaiement(LocalDate.of(2024, 2, 29))
+                .status(InvoiceStatus.PAID)
+                .paymentMethod(PaymentMethod.CARD)
+                .payments(List.of(
+                        new PaymentResponse(10L, 2L, new BigDecimal("100.00"), PaymentMethod.TRANSFER,
+                                LocalDateTime.of(2024, 2, 10, 9, 0)),
+                        new PaymentResponse(11L, 2L, new BigDecimal("200.00"), null,
+                                LocalDateTime.of(2024, 2, 29, 23, 59, 59, 120_000_000))))
+                .build();
+
+        // When / Then
+        assertSameJson(invoice);
+        assertSameJson(new InvoiceResponse(invoice.id(), invoice.clientId(), invoice.amount(),
+                invoice.remainingBalance(), invoice.description(), invoice.dateEmission(), invoice.datePaiement(),
+                invoice.status(), invoice.paymentMethod(), null, null, null, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should match Jackson for an invoice itemised in lines")
+    void testInvoiceWithLines() throws Exception {
+        // Given
+        InvoiceResponse invoice = InvoiceResponse.builder()
+                .id(3L)
+                .clientId(100L)
+                .amount(new BigDecimal("131.16"))
+                .remainingBalance(new BigDecimal("131.16"))
+                .description("Licences")
+                .dateEmission(LocalDate.of(2024, 3, 1))
+                .status(InvoiceStatus.PENDING)
+                .discountAmount(new BigDecimal("10.00"))
+                .taxAmount(new BigDecimal("21.56"))
+                .lines(List.of(
+                        new InvoiceLineResponse(1, "Licence", new BigDecimal("2.000"), new BigDecimal("50.00"),
+                                new BigDecimal("10.00"), new BigDecimal("19.60"), new BigDecimal("10.00"),
+                                new BigDecimal("17.64"), new BigDecimal("107.64")),
+                        new InvoiceLineResponse(2, "Support \"premium\"", new BigDecimal("0.500"),
+                                new BigDecimal("39.20"), BigDecimal.ZERO, new BigDecimal("20.00"),
+                                new BigDecimal("0.00"), new BigDecimal("3.92"), new BigDecimal("23.52"))))
+                .build();
+
+        // When / Then
+        assertSameJson(invoice);
+        assertSameJson(List.of(invoice, InvoiceResponse.builder().lines(List.of(InvoiceLineResponse.builder().build()))
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Should match Jackson for all-null fields and the totals response")
+    void testNullsAndTotals() throws Exception {
+        assertSameJson(InvoiceResponse.builder().build());
+        assertSameJson(TotalAmountResponse.builder().build());
+        assertSameJson(new TotalAmountResponse(100L, new BigDecimal("1500.00"), new BigDecimal("0.01"), 3));
+    }
+
+    @Test
+    @DisplayName("Should write null ids and counts of nested lines and payments instead of failing")
+    void testNullNestedFields() throws Exception {
+        // Given
+        List<InvoiceLineResponse> lines = new ArrayList<>();
+        lines.add(new InvoiceLineResponse(null, null, null, null, null, null, null, null, null));
+        lines.add(null);
+        List<PaymentResponse> payments = new ArrayList<>();
+        payments.add(new PaymentResponse(null, null, null, null, null));
+        payments.add(null);
+        InvoiceResponse invoice = new InvoiceResponse(null, null, null, null, null, null, null, null, null,
+                null, null, lines, payments);
+
+        // When / Then
+        assertSameJson(invoice);
+        assertSameJson(new TotalAmountResponse(null, null, null, null));
+        assertTrue(new String(InvoiceJsonWriter.toBytes(invoice), StandardCharsets.UTF_8)
+                .startsWith("{\"id\":null,\"clientId\":null,"));
+    }
+
+    @Test
+    @DisplayName("Should escape strings and format numbers exactly like Jackson")
+    void testEscapingAndNumbers() throws Exception {
+        String[] descriptions = {
+                "", "quote \" and backslash \\", "tab\tnew\nline\r\f\b", "\u0000\u0001\u001f\u007f",
+                "Facture n\u00b0 42 \u2013 \u00e9t\u00e9", "emoji \ud83d\udcb6", "lone \ud83d surrogate", "</script>"
+        };
+        BigDecimal[] amounts = {
+                new BigDecimal("0"), new BigDecimal("-12.5"), new BigDecimal("1E+3"), new BigDecimal("0.0000001"),
+                new BigDecimal("12345678901234567890.99")
+        };
+        for (String description : descriptions) {
+            for (BigDecimal amount : amounts) {
+                assertSameJson(InvoiceResponse.builder()
+                        .id(Long.MIN_VALUE)
+                        .clientId(Long.MAX_VALUE)
+                        .amount(amount)
+                        .description(description)
+                        .dateEmission(LocalDate.of(1, 1, 1))
+                        .datePaiement(LocalDate.of(12345, 12, 31))
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match Jackson for randomly generated invoice lists")
+    void testRandomLists() throws Exception {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            List<InvoiceResponse> invoices = new ArrayList<>();
+            int size = random.nextInt(20);
+            for (int i = 0; i < size; i++) {
+                invoices.add(randomInvoice(random));
+            }
+
+            assertSameJson(invoices);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only handle the invoice response types as JSON")
+    void testConverterSupportedTypes() {
+        InvoiceJsonHttpMessageConverter converter = new InvoiceJsonHttpMessageConverter();
+        var invoiceList = new ParameterizedTypeReference<List<InvoiceResponse>>() {
+        }.getType();
+        var paymentList = new ParameterizedTypeReference<List<PaymentResponse>>() {
+        }.getType();
+
+        assertTrue(converter.canWrite(InvoiceResponse.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(TotalAmountResponse.class, MediaType.ALL));
+        assertTrue(converter.canWrite(invoiceList, ArrayList.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(paymentList, ArrayList.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(InvoiceResponse.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canRead(InvoiceResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        // Bytes, not String: the HTTP path goes through Jackson's UTF-8 generator
+        assertArrayEquals(objectMapper.writeValueAsBytes(value), InvoiceJsonWriter.toBytes(value));
+    }
+
+    private static InvoiceResponse randomInvoice(Random random) {
+        InvoiceStatus[] statuses = InvoiceStatus.values();
+        PaymentMethod[] methods = PaymentMethod.values();
+        List<PaymentResponse> payments = null;
+        if (random.nextBoolean()) {
+            payments = new ArrayList<>();
+            for (int i = random.nextInt(3); i > 0; i--) {
+                payments.add(new PaymentResponse(random.nextLong(), random.nextLong(),
+                        BigDecimal.valueOf(random.nextInt(1_000_000), 2),
+                        random.nextBoolean() ? methods[random.nextInt(methods.length)] : null,
+                        LocalDateTime.of(2000 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                                random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                                random.nextBoolean() ? 0 : random.nextInt(1_000_000_000))));
+            }
+        }
+        StringBuilder description = new StringBuilder();
+        for (int i = random.nextInt(40); i > 0; i--) {
+            description.append((char) random.nextInt(0xFFFF));
+        }
+        return InvoiceResponse.builder()
+                .id(random.nextLong())
+                .clientId((long) random.nextInt(1000))
+                .amount(BigDecimal.valueOf(random.nextInt(10_000_000), 2))
+                .remainingBalance(random.nextBoolean() ? null : BigDecimal.valueOf(random.nextInt(10_000), 2))
+                .description(random.nextInt(10) == 0 ? null : description.toString())
+                .dateEmission(LocalDate.ofEpochDay(random.nextInt(20_000)))
+                .datePaiement(random.nextBoolean() ? null : LocalDate.ofEpochDay(random.nextInt(20_000)))
+                .status(statuses[random.nextInt(statuses.length)])
+                .paymentMethod(random.nextBoolean() ? null : methods[random.nextInt(methods.length)])
+                .payments(payments)
+                .build();
+    }
+}
@@ -1,8 +1,10 @@
 package com.techsolutions.billingservice.mapper;
 
+import com.techsolutions.billingservice.resources.InvoiceLineResponse;
 import com.techsolutions.billingservice.resources.InvoiceRequest;
 import com.techsolutions.billingservice.resources.InvoiceResponse;
 import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.InvoiceLine;
 import com.techsolutions.billingservice.enums.InvoiceStatus;
 import com.techsolutions.billingservice.enums.PaymentMethod;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +45,7 @@ class InvoiceMapperTest {
         assertNotNull(invoice);
         assertEquals(100L, invoice.getClientId());
         assertEquals(new BigDecimal("1000.00"), invoice.getAmount());
+        assertEquals(new BigDecimal("1000.00"), invoice.getRemainingBalance());
         assertEquals("Test invoice", invoice.getDescription());
         assertEquals(PaymentMethod.CARD, invoice.getPaymentMethod());
         assertEquals(InvoiceStatus.PENDING, invoice.getStatus());
@@ -78,6 +82,41 @@ class InvoiceMapperTest {
         assertEquals(PaymentMethod.CARD, responseDTO.paymentMethod());
         assertNotNull(responseDTO.dateEmission());
         assertNull(responseDTO.datePaiement());
+        assertNull(responseDTO.lines());
+    }
+
+    @Test
+    @DisplayName("Should map invoice lines with their line numbers")
+    void testToDTO_WithLines() {
+        // Given
+        Invoice invoice = Invoice.builder()
+                .id(2L)
+                .clientId(100L)
+                .amount(new BigDecimal("120.00"))
+                .discountAmount(BigDecimal.ZERO)
+                .taxAmount(new BigDecimal("20.00"))
+                .status(InvoiceStatus.PENDING)
+                .lines(List.of(
+                        InvoiceLine.builder().description("Licence").quantity(new BigDecimal("1.000"))
+                                .unitPrice(new BigDecimal("100.00")).discountRate(BigDecimal.ZERO)
+                                .taxRate(new BigDecimal("20.00")).discountAmount(BigDecimal.ZERO)
+                                .taxAmount(new BigDecimal("20.00")).lineTotal(new BigDecimal("120.00")).build(),
+                        InvoiceLine.builder().description("Remise fidelite").quantity(new BigDecimal("1.000"))
+                                .unitPrice(BigDecimal.ZERO).lineTotal(BigDecimal.ZERO).build()))
+                .build();
+
+        // When
+        InvoiceResponse responseDTO = invoiceMapper.toDTO(invoice);
+
+        // Then
+        assertEquals(new BigDecimal("20.00"), responseDTO.taxAmount());
+        assertEquals(2, responseDTO.lines().size());
+        InvoiceLineResponse first = responseDTO.lines().get(0);
+        assertEquals(1, first.lineNumber());
+        assertEquals("Licence", first.description());
+        assertEquals(new BigDecimal("20.00"), first.taxRate());
+        assertEquals(new BigDecimal("120.00"), first.lineTotal());
+        assertEquals(2, responseDTO.lines().get(1).lineNumber());
     }
 
     @Test
@@ -104,5 +143,6 @@ class InvoiceMapperTest {
         assertEquals(InvoiceStatus.PAID, responseDTO.status());
         assertEquals(paymentDate, responseDTO.datePaiement());
         assertEquals(PaymentMethod.TRANSFER, responseDTO.paymentMethod());
+        assertEquals(BigDecimal.ZERO, responseDTO.remainingBalance());
     }
 }
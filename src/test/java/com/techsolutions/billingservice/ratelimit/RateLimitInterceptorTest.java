@@ -0,0 +1,153 @@
+package com.techsolutions.billingservice.ratelimit;
+
+import com.techsolutions.billingservice.config.RateLimitProperties;
+import com.techsolutions.billingservice.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("RateLimitInterceptor Tests (standalone MockMvc)")
+class RateLimitInterceptorTest {
+
+    private RateLimitProperties properties;
+    private ConcurrencyLimiter concurrencyLimiter;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setApiKeys(Set.of("known-key"));
+        properties.setMaxConcurrent(3);
+        properties.getDefaults().setPermitsPerSecond(0.001);
+        properties.getDefaults().setBurst(2);
+        properties.getDefaults().setMaxConcurrent(2);
+        concurrencyLimiter = new ConcurrencyLimiter();
+        AdmissionControl admissionControl = new AdmissionControl(properties, new TokenBucketRateLimiter(1000),
+                concurrencyLimiter, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new ClientController(), new InvoiceController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(new RateLimitInterceptor(admissionControl))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once the client's burst is used")
+    void testRateLimitedPerClient() throws Exception {
+        mockMvc.perform(get("/api/clients/100/invoices")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/clients/100/invoices")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/clients/100/invoices"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(get("/api/clients/200/invoices")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should not give a fresh bucket to a new unknown API key")
+    void testUnknownApiKeysShareTheAddressBucket() throws Exception {
+        mockMvc.perform(post("/api/invoices").header("X-API-Key", "random-1")).andExpect(status().isOk());
+        mockMvc.perform(post("/api/invoices").header("X-API-Key", "random-2")).andExpect(status().isOk());
+        mockMvc.perform(post("/api/invoices").header("X-API-Key", "random-3"))
+                .andExpect(status().isTooManyRequests());
+
+        // A configured key has its own bucket
+        mockMvc.perform(post("/api/invoices").header("X-API-Key", "known-key")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should return 503 when the endpoint or the global concurrency limit is reached")
+    void testConcurrencyLimits() throws Exception {
+        // Endpoint limit (2) taken by two in-flight requests
+        assertTrue(concurrencyLimiter.tryAcquire("ClientController#list", 2));
+        assertTrue(concurrencyLimiter.tryAcquire("ClientController#list", 2));
+        mockMvc.perform(get("/api/clients/100/invoices"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        // Global limit (3) reached through another endpoint
+        assertTrue(concurrencyLimiter.tryAcquire(AdmissionControl.GLOBAL, 3));
+        assertTrue(concurrencyLimiter.tryAcquire(AdmissionControl.GLOBAL, 3));
+        assertTrue(concurrencyLimiter.tryAcquire(AdmissionControl.GLOBAL, 3));
+        mockMvc.perform(post("/api/invoices")).andExpect(status().isServiceUnavailable());
+        assertEquals(0, concurrencyLimiter.inFlight("InvoiceController#create", 2));
+    }
+
+    @Test
+    @DisplayName("Should release both permits when the request completes")
+    void testPermitsReleased() throws Exception {
+        mockMvc.perform(post("/api/invoices")).andExpect(status().isOk());
+
+        assertEquals(0, concurrencyLimiter.inFlight("InvoiceController#create", 2));
+        assertEquals(0, concurrencyLimiter.inFlight(AdmissionControl.GLOBAL, 3));
+    }
+
+    @Test
+    @DisplayName("Should merge a partial endpoint override onto the configured defaults")
+    void testPartialOverride() {
+        RateLimitProperties.LimitOverride override = new RateLimitProperties.LimitOverride();
+        override.setBurst(20);
+        properties.getEndpoints().put("ClientController#list", override);
+
+        RateLimitProperties.Limit limit = properties.limitFor("ClientController#list");
+
+        assertEquals(20, limit.getBurst());
+        assertEquals(0.001, limit.getPermitsPerSecond());
+        assertEquals(2, limit.getMaxConcurrent());
+        assertSame(properties.getDefaults(), properties.limitFor("InvoiceController#create"));
+    }
+
+    @Test
+    @DisplayName("Should reject a zero rate, a negative burst or concurrency in the defaults and overrides")
+    void testInvalidLimits() {
+        properties.getDefaults().setPermitsPerSecond(0);
+        RateLimitProperties.LimitOverride override = new RateLimitProperties.LimitOverride();
+        override.setBurst(-1);
+        override.setMaxConcurrent(0);
+        properties.getEndpoints().put("ClientController#list", override);
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Set<String> invalid = factory.getValidator().validate(properties).stream()
+                    .map(violation -> violation.getPropertyPath().toString())
+                    .collect(Collectors.toSet());
+
+            assertEquals(Set.of("defaults.permitsPerSecond", "endpoints[ClientController#list].burst",
+                    "endpoints[ClientController#list].maxConcurrent"), invalid);
+        }
+    }
+
+    @RestController
+    static class ClientController {
+
+        @GetMapping("/api/clients/{clientId}/invoices")
+        String list(@PathVariable Long clientId) {
+            return "[]";
+        }
+    }
+
+    @RestController
+    static class InvoiceController {
+
+        @PostMapping("/api/invoices")
+        String create() {
+            return "{}";
+        }
+    }
+}
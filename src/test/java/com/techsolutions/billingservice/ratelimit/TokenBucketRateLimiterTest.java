@@ -0,0 +1,106 @@
+package com.techsolutions.billingservice.ratelimit;
+
+import com.techsolutions.billingservice.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucketRateLimiter Unit Tests")
+class TokenBucketRateLimiterTest {
+
+    private TokenBucketRateLimiter rateLimiter;
+    private RateLimitProperties.Limit limit;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new TokenBucketRateLimiter(1000);
+        limit = new RateLimitProperties.Limit();
+        limit.setPermitsPerSecond(10);
+        limit.setBurst(5);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst then reject until tokens refill")
+    void testBurstThenReject() {
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("client-100", limit, now));
+        }
+        long wait = rateLimiter.tryAcquire("client-100", limit, now);
+        assertTrue(wait > 0);
+
+        // One token every 100ms at 10 permits/second
+        assertEquals(0, rateLimiter.tryAcquire("client-100", limit, now + TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void testSeparateKeys() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("client-100", limit, 0);
+        }
+        assertTrue(rateLimiter.tryAcquire("client-100", limit, 0) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("client-200", limit, 0));
+    }
+
+    @Test
+    @DisplayName("Should share one overflow bucket between new keys once the table is full")
+    void testOverflowBucket() {
+        TokenBucketRateLimiter small = new TokenBucketRateLimiter(2);
+        small.tryAcquire("a", limit, 0);
+        small.tryAcquire("b", limit, 0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, small.tryAcquire("new-" + i, limit, 0));
+        }
+
+        assertTrue(small.tryAcquire("new-5", limit, 0) > 0);
+        assertEquals(2, small.trackedKeys());
+    }
+
+    @Test
+    @DisplayName("Should only evict buckets that are full again")
+    void testEvictIdleBuckets() {
+        rateLimiter.tryAcquire("a", limit, 0);
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("b", limit, TimeUnit.SECONDS.toNanos(10));
+        }
+
+        rateLimiter.evictIdle(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(1, rateLimiter.trackedKeys());
+        assertTrue(rateLimiter.tryAcquire("b", limit, TimeUnit.SECONDS.toNanos(10)) > 0);
+    }
+
+    @Test
+    @DisplayName("Should never grant more than the burst under contention")
+    void testConcurrentAcquire() throws InterruptedException {
+        limit.setPermitsPerSecond(0.001);
+        limit.setBurst(50);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (rateLimiter.tryAcquire("client-100", limit) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(50, granted.get());
+    }
+}
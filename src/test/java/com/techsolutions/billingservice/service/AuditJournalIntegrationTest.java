@@ -0,0 +1,129 @@
+package com.techsolutions.billingservice.service;
+
+import com.techsolutions.billingservice.audit.AuditEvent;
+import com.techsolutions.billingservice.audit.AuditJournal;
+import com.techsolutions.billingservice.enums.AuditEventType;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.exception.InvoiceNotFoundException;
+import com.techsolutions.billingservice.resources.AuditEntryResponse;
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "billing.grpc.port=0")
+@DisplayName("Audit Journal Integration Tests")
+class AuditJournalIntegrationTest {
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private AuditJournal auditJournal;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should journal each mutation with its transaction and serve the history from the journal")
+    void testHistoryJournaled() {
+        // Given
+        InvoiceResponse invoice = invoiceService.createInvoice(request(9101L));
+        invoiceService.addPayment(invoice.id(), new PaymentRequest(new BigDecimal("500.00"), PaymentMethod.CARD));
+
+        // When
+        List<AuditEntryResponse> history = auditService.getHistory(invoice.id());
+
+        // Then
+        assertEquals(List.of(AuditEventType.INVOICE_CREATED, AuditEventType.PAYMENT_RECORDED),
+                history.stream().map(AuditEntryResponse::type).toList());
+        assertEquals(InvoiceStatus.PAID, history.get(1).status());
+        assertEquals(0, history.get(1).remainingBalance().signum());
+        assertTrue(history.stream().allMatch(entry -> "local".equals(entry.journal()) && entry.hash().length() == 64));
+        assertTrue(history.get(0).sequence() < history.get(1).sequence());
+        // Ecrit avant le commit : deja sur disque
+        assertTrue(auditJournal.durableSequence() >= history.get(1).sequence());
+    }
+
+    @Test
+    @DisplayName("Should journal the rollback of a transaction that fails after its entry was written")
+    void testRollbackJournaled() {
+        // Given: une synchronisation enregistree apres celle de l'audit fait echouer le commit
+        Long[] invoiceId = new Long[1];
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            invoiceId[0] = invoiceService.createInvoice(request(9102L)).id();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    throw new IllegalStateException("commit refused");
+                }
+            });
+        }));
+
+        // Then
+        assertEquals(List.of(AuditEventType.INVOICE_CREATED, AuditEventType.ROLLED_BACK),
+                auditService.getHistory(invoiceId[0]).stream().map(AuditEntryResponse::type).toList());
+    }
+
+    @Test
+    @DisplayName("Should merge the journals written by the other instances")
+    void testOtherInstanceJournal() throws Exception {
+        // Given
+        InvoiceResponse invoice = invoiceService.createInvoice(request(9103L));
+        try (AuditJournal other = AuditJournal.open(auditJournal.directory().resolveSibling("replica-2"),
+                1024 * 1024, Duration.ofMillis(5), true)) {
+            other.append(AuditEvent.builder()
+                    .type(AuditEventType.PAYMENT_RECORDED)
+                    .invoiceId(invoice.id())
+                    .clientId(9103L)
+                    .paymentId(1L)
+                    .amount(new BigDecimal("100.00"))
+                    .remainingBalance(new BigDecimal("400.00"))
+                    .status(InvoiceStatus.PENDING)
+                    .paymentMethod(PaymentMethod.CARD)
+                    .build());
+        }
+
+        // When
+        List<AuditEntryResponse> history = auditService.getHistory(invoice.id());
+
+        // Then
+        assertEquals(List.of("local", "replica-2"), history.stream().map(AuditEntryResponse::journal).toList());
+        assertEquals(1L, history.get(1).sequence());
+    }
+
+    @Test
+    @DisplayName("Should reject the history of an unknown invoice")
+    void testUnknownInvoice() {
+        assertThrows(InvoiceNotFoundException.class, () -> auditService.getHistory(987_654_321L));
+    }
+
+    private static InvoiceRequest request(Long clientId) {
+        return InvoiceRequest.builder()
+                .clientId(clientId)
+                .amount(new BigDecimal("500.00"))
+                .description("Audit test")
+                .paymentMethod(PaymentMethod.CARD)
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.techsolutions.billingservice.service;
+
+import com.techsolutions.billingservice.config.DunningProperties;
+import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.InvoiceReminder;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.notification.ReminderSender;
+import com.techsolutions.billingservice.repository.InvoiceReminderRepository;
+import com.techsolutions.billingservice.repository.InvoiceRepository;
+import com.techsolutions.billingservice.service.impl.DunningServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DunningService Unit Tests")
+class DunningServiceImplTest {
+
+    @Mock
+    private InvoiceReminderRepository reminderRepository;
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private ReminderSender reminderSender;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DunningServiceImpl dunningService;
+    private Invoice pendingInvoice;
+    private InvoiceReminder reminder;
+
+    @BeforeEach
+    void setUp() {
+        DunningProperties properties = new DunningProperties();
+        properties.setOffsets(List.of(Duration.ofDays(7), Duration.ofDays(14)));
+        properties.setMaxAttempts(2);
+        dunningService = new DunningServiceImpl(reminderRepository, invoiceRepository, reminderSender, properties,
+                transactionManager);
+
+        pendingInvoice = Invoice.builder()
+                .id(1L)
+                .clientId(100L)
+                .amount(new BigDecimal("1000.00"))
+                .description("Test invoice")
+                .dateEmission(LocalDate.now().minusDays(10))
+                .status(InvoiceStatus.PENDING)
+                .build();
+
+        reminder = InvoiceReminder.builder()
+                .id(10L)
+                .invoiceId(1L)
+                .nextActionAt(LocalDateTime.now().minusDays(3))
+                .stage(0)
+                .attempts(0)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should schedule the first reminder from dateEmission")
+    void testScheduleReminders() {
+        dunningService.scheduleReminders(pendingInvoice);
+
+        ArgumentCaptor<InvoiceReminder> captor = ArgumentCaptor.forClass(InvoiceReminder.class);
+        verify(reminderRepository).save(captor.capture());
+        assertEquals(pendingInvoice.getDateEmission().plusDays(7).atStartOfDay(), captor.getValue().getNextActionAt());
+        assertEquals(0, captor.getValue().getStage());
+    }
+
+    @Test
+    @DisplayName("Should send due reminders and escalate to the next stage")
+    void testProcessDueReminders_Escalates() {
+        when(reminderRepository.findDue(any(), any())).thenReturn(List.of(reminder));
+        when(invoiceRepository.findAllById(List.of(1L))).thenReturn(List.of(pendingInvoice));
+        when(reminderRepository.findAllById(List.of(10L))).thenReturn(List.of(reminder));
+        pendingInvoice.setDateEmission(LocalDate.now().minusDays(1));
+
+        assertEquals(1, dunningService.processDueReminders());
+
+        verify(reminderSender).send(anyList());
+        assertEquals(1, reminder.getStage());
+        assertEquals(pendingInvoice.getDateEmission().plusDays(14).atStartOfDay(), reminder.getNextActionAt());
+        verify(reminderRepository, never()).deleteAllInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should keep the gap to the next stage after downtime instead of scheduling it in the past")
+    void testProcessDueReminders_AfterDowntime() {
+        // Stage 0 (J+7) envoye a J+40 : le stage 1 (J+14) serait deja echu
+        pendingInvoice.setDateEmission(LocalDate.now().minusDays(40));
+        when(reminderRepository.findDue(any(), any())).thenReturn(List.of(reminder));
+        when(invoiceRepository.findAllById(List.of(1L))).thenReturn(List.of(pendingInvoice));
+        when(reminderRepository.findAllById(List.of(10L))).thenReturn(List.of(reminder));
+        LocalDateTime before = LocalDateTime.now();
+
+        dunningService.processDueReminders();
+
+        assertEquals(1, reminder.getStage());
+        assertFalse(reminder.getNextActionAt().isBefore(before.plusDays(7)));
+        assertFalse(reminder.getNextActionAt().isAfter(LocalDateTime.now().plusDays(7)));
+    }
+
+    @Test
+    @DisplayName("Should call the webhook between two transactions, never inside one")
+    void testProcessDueReminders_SendsOutsideTransaction() {
+        when(reminderRepository.findDue(any(), any())).thenReturn(List.of(reminder));
+        when(invoiceRepository.findAllById(List.of(1L))).thenReturn(List.of(pendingInvoice));
+        when(reminderRepository.findAllById(List.of(10L))).thenReturn(List.of(reminder));
+
+        dunningService.processDueReminders();
+
+        InOrder inOrder = inOrder(transactionManager, reminderSender, reminderRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(reminderRepository).findDue(any(), any());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(reminderSender).send(anyList());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(reminderRepository).findAllById(List.of(10L));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should lease claimed reminders and leave those cancelled during the send untouched")
+    void testProcessDueReminders_CancelledWhileSending() {
+        when(reminderRepository.findDue(any(), any())).thenReturn(List.of(reminder));
+        when(invoiceRepository.findAllById(List.of(1L))).thenReturn(List.of(pendingInvoice));
+        // Facture payee pendant l'appel : la relance a ete supprimee
+        when(reminderRepository.findAllById(List.of(10L))).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        dunningService.processDueReminders();
+
+        assertEquals(0, reminder.getStage());
+        assertFalse(reminder.getNextActionAt().isBefore(before.plusMinutes(5)));
+        verify(reminderRepository, never()).deleteAllInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should backfill legacy PENDING invoices at their latest due stage")
+    void testBackfillReminders() {
+        pendingInvoice.setDateEmission(LocalDate.now().minusDays(20));
+        Invoice recent = Invoice.builder().id(2L).dateEmission(LocalDate.now()).status(InvoiceStatus.PENDING).build();
+        when(invoiceRepository.findPendingWithoutReminder(any())).thenReturn(List.of(pendingInvoice, recent));
+
+        assertEquals(2, dunningService.backfillReminders());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InvoiceReminder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reminderRepository).saveAll(captor.capture());
+        InvoiceReminder legacy = captor.getValue().get(0);
+        assertEquals(1, legacy.getStage());
+        assertEquals(pendingInvoice.getDateEmission().plusDays(14).atStartOfDay(), legacy.getNextActionAt());
+        assertEquals(0, captor.getValue().get(1).getStage());
+    }
+
+    @Test
+    @DisplayName("Should drop reminders of invoices paid in the meantime")
+    void testProcessDueReminders_PaidInvoice() {
+        pendingInvoice.setStatus(InvoiceStatus.PAID);
+        when(reminderRepository.findDue(any(), any())).thenReturn(List.of(reminder));
+        when(invoiceRepository.findAllById(List.of(1L))).thenReturn(List.of(pendingInvoice));
+
+        dunningService.processDueReminders();
+
+        verify(reminderSender, never()).send(anyList());
+        verify(reminderRepository).deleteAllInBatch(List.of(reminder));
+    }
+
+    @Test
+    @DisplayName("Should back off after a failed delivery, then give up the stage")
+    void testProcessDueReminders_Retry() {
+        when(reminderRepository.findDue(any(), any())).thenReturn(List.of(reminder));
+        when(invoiceRepository.findAllById(List.of(1L))).thenReturn(List.of(pendingInvoice));
+        when(reminderRepository.findAllById(List.of(10L))).thenReturn(List.of(reminder));
+        doThrow(new IllegalStateException("webhook down")).when(reminderSender).send(anyList());
+
+        dunningService.processDueReminders();
+        assertEquals(1, reminder.getAttempts());
+        assertEquals(0, reminder.getStage());
+        assertTrue(reminder.getNextActionAt().isAfter(LocalDateTime.now()));
+
+        dunningService.processDueReminders();
+        assertEquals(1, reminder.getStage());
+        assertEquals(0, reminder.getAttempts());
+    }
+}
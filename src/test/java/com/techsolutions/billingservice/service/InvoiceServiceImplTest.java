@@ -1,15 +1,20 @@
 package com.techsolutions.billingservice.service;
 
+import com.techsolutions.billingservice.resources.InvoiceLineRequest;
 import com.techsolutions.billingservice.resources.InvoiceRequest;
 import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
 import com.techsolutions.billingservice.resources.TotalAmountResponse;
 import com.techsolutions.billingservice.entities.Invoice;
+import com.techsolutions.billingservice.entities.InvoiceLine;
+import com.techsolutions.billingservice.entities.Payment;
 import com.techsolutions.billingservice.enums.InvoiceStatus;
 import com.techsolutions.billingservice.enums.PaymentMethod;
 import com.techsolutions.billingservice.exception.InvoiceNotFoundException;
 import com.techsolutions.billingservice.exception.InvalidInvoiceOperationException;
 import com.techsolutions.billingservice.mapper.InvoiceMapper;
 import com.techsolutions.billingservice.repository.InvoiceRepository;
+import com.techsolutions.billingservice.repository.PaymentRepository;
 import com.techsolutions.billingservice.service.impl.InvoiceServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +33,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,9 +43,21 @@ class InvoiceServiceImplTest {
     @Mock
     private InvoiceRepository invoiceRepository;
 
+    @Mock
+    private PaymentRepository paymentRepository;
+
     @Mock
     private InvoiceMapper invoiceMapper;
 
+    @Mock
+    private DunningService dunningService;
+
+    @Mock
+    private RevenueAnalyticsService revenueAnalyticsService;
+
+    @Mock
+    private AuditService auditService;
+
     @InjectMocks
     private InvoiceServiceImpl invoiceService;
 
@@ -95,6 +113,64 @@ class InvoiceServiceImplTest {
         assertEquals(testResponseDTO.clientId(), result.clientId());
         assertEquals(testResponseDTO.amount(), result.amount());
         verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        verify(dunningService, times(1)).scheduleReminders(testInvoice);
+        verify(revenueAnalyticsService, times(1)).recordInvoiceCreated(testInvoice);
+        verify(auditService, times(1)).recordInvoiceCreated(testInvoice);
+    }
+
+    @Test
+    @DisplayName("Should price invoice lines and derive the invoice amount")
+    void testCreateInvoice_WithLines() {
+        // Given
+        InvoiceRequest request = InvoiceRequest.builder()
+                .clientId(100L)
+                .description("Licences")
+                .lines(List.of(
+                        new InvoiceLineRequest("Licence", new BigDecimal("3"), new BigDecimal("33.33"),
+                                new BigDecimal("10"), new BigDecimal("19.6")),
+                        new InvoiceLineRequest("Support", new BigDecimal("0.5"), new BigDecimal("0.05"),
+                                null, null)))
+                .build();
+        Invoice invoice = Invoice.builder().clientId(100L).description("Licences").build();
+        when(invoiceMapper.toEntity(request)).thenReturn(invoice);
+        when(invoiceRepository.save(invoice)).thenReturn(invoice);
+        when(invoiceMapper.toDTO(invoice)).thenReturn(testResponseDTO);
+
+        // When
+        invoiceService.createInvoice(request);
+
+        // Then
+        // Ligne 1 : 99.99 - 10.00 (9.999 arrondi) + 17.64 (17.638 arrondi) = 107.63 ; ligne 2 : 0.025 arrondi a 0.03
+        assertEquals(new BigDecimal("107.66"), invoice.getAmount());
+        assertEquals(new BigDecimal("107.66"), invoice.getRemainingBalance());
+        assertEquals(new BigDecimal("10.00"), invoice.getDiscountAmount());
+        assertEquals(new BigDecimal("17.64"), invoice.getTaxAmount());
+        assertEquals(2, invoice.getLines().size());
+        InvoiceLine first = invoice.getLines().get(0);
+        assertEquals(new BigDecimal("10.00"), first.getDiscountAmount());
+        assertEquals(new BigDecimal("107.63"), first.getLineTotal());
+        assertEquals(BigDecimal.ZERO, invoice.getLines().get(1).getTaxRate());
+        assertEquals(new BigDecimal("0.03"), invoice.getLines().get(1).getLineTotal());
+    }
+
+    @Test
+    @DisplayName("Should reject an amount that does not match the invoice lines")
+    void testCreateInvoice_LinesAmountMismatch() {
+        // Given
+        InvoiceRequest request = InvoiceRequest.builder()
+                .clientId(100L)
+                .amount(new BigDecimal("100.00"))
+                .description("Licences")
+                .lines(List.of(new InvoiceLineRequest("Licence", BigDecimal.ONE, new BigDecimal("100.00"),
+                        null, new BigDecimal("20"))))
+                .build();
+        when(invoiceMapper.toEntity(request)).thenReturn(Invoice.builder().clientId(100L).build());
+
+        // When / Then
+        InvalidInvoiceOperationException exception = assertThrows(InvalidInvoiceOperationException.class,
+                () -> invoiceService.createInvoice(request));
+        assertEquals("Amount 100.00 does not match the total of the lines 120.00", exception.getMessage());
+        verify(invoiceRepository, never()).save(any(Invoice.class));
     }
 
     @Test
@@ -147,7 +223,7 @@ class InvoiceServiceImplTest {
     @DisplayName("Should pay invoice successfully")
     void testPayInvoice_Success() {
         // Given
-        when(invoiceRepository.findById(anyLong())).thenReturn(Optional.of(testInvoice));
+        when(invoiceRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(testInvoice));
         when(invoiceRepository.save(any(Invoice.class))).thenReturn(testInvoice);
         when(invoiceMapper.toDTO(any(Invoice.class))).thenReturn(testResponseDTO);
 
@@ -156,7 +232,75 @@ class InvoiceServiceImplTest {
 
         // Then
         assertNotNull(result);
+        assertEquals(InvoiceStatus.PAID, testInvoice.getStatus());
+        assertEquals(0, BigDecimal.ZERO.compareTo(testInvoice.getRemainingBalance()));
+        verify(paymentRepository, times(1)).save(any(Payment.class));
         verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        verify(dunningService, times(1)).cancelReminders(1L);
+        verify(auditService, times(1)).recordPayment(eq(testInvoice), any());
+    }
+
+    @Test
+    @DisplayName("Should record a partial payment and keep the invoice pending")
+    void testAddPayment_Partial() {
+        // Given
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .amount(new BigDecimal("400.00"))
+                .paymentMethod(PaymentMethod.TRANSFER)
+                .build();
+        when(invoiceRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(testInvoice));
+        when(invoiceRepository.save(any(Invoice.class))).thenReturn(testInvoice);
+        when(invoiceMapper.toDTO(any(Invoice.class))).thenReturn(testResponseDTO);
+
+        // When
+        invoiceService.addPayment(1L, paymentRequest);
+
+        // Then
+        assertEquals(InvoiceStatus.PENDING, testInvoice.getStatus());
+        assertEquals(new BigDecimal("600.00"), testInvoice.getRemainingBalance());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(dunningService, never()).cancelReminders(anyLong());
+        verify(revenueAnalyticsService, times(1)).recordPayment(eq(testInvoice), any(), eq(InvoiceStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Should mark the invoice as paid when the balance reaches zero")
+    void testAddPayment_SettlesInvoice() {
+        // Given
+        testInvoice.setRemainingBalance(new BigDecimal("400.00"));
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .amount(new BigDecimal("400.00"))
+                .paymentMethod(PaymentMethod.CASH)
+                .build();
+        when(invoiceRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(testInvoice));
+        when(invoiceRepository.save(any(Invoice.class))).thenReturn(testInvoice);
+        when(invoiceMapper.toDTO(any(Invoice.class))).thenReturn(testResponseDTO);
+
+        // When
+        invoiceService.addPayment(1L, paymentRequest);
+
+        // Then
+        assertEquals(InvoiceStatus.PAID, testInvoice.getStatus());
+        assertNotNull(testInvoice.getDatePaiement());
+        verify(dunningService, times(1)).cancelReminders(1L);
+        verify(revenueAnalyticsService, times(1)).recordPayment(eq(testInvoice), any(), eq(InvoiceStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Should reject a payment larger than the remaining balance")
+    void testAddPayment_Overpayment() {
+        // Given
+        PaymentRequest paymentRequest = PaymentRequest.builder()
+                .amount(new BigDecimal("1000.01"))
+                .paymentMethod(PaymentMethod.CARD)
+                .build();
+        when(invoiceRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(testInvoice));
+
+        // When & Then
+        assertThrows(InvalidInvoiceOperationException.class, () -> {
+            invoiceService.addPayment(1L, paymentRequest);
+        });
+        verify(paymentRepository, never()).save(any(Payment.class));
     }
 
     @Test
@@ -164,12 +308,27 @@ class InvoiceServiceImplTest {
     void testPayInvoice_AlreadyPaid() {
         // Given
         testInvoice.setStatus(InvoiceStatus.PAID);
-        when(invoiceRepository.findById(anyLong())).thenReturn(Optional.of(testInvoice));
+        when(invoiceRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(testInvoice));
+
+        // When & Then
+        assertThrows(InvalidInvoiceOperationException.class, () -> {
+            invoiceService.payInvoice(1L);
+        });
+    }
+
+    @Test
+    @DisplayName("Should throw exception when paying a cancelled invoice")
+    void testPayInvoice_Cancelled() {
+        // Given
+        testInvoice.setStatus(InvoiceStatus.CANCELLED);
+        when(invoiceRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(testInvoice));
 
         // When & Then
         assertThrows(InvalidInvoiceOperationException.class, () -> {
             invoiceService.payInvoice(1L);
         });
+        verify(paymentRepository, never()).save(any(Payment.class));
+        assertEquals(InvoiceStatus.CANCELLED, testInvoice.getStatus());
     }
 
     @Test
@@ -194,6 +353,7 @@ class InvoiceServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(new BigDecimal("1500.00"), result.totalAmount());
+        assertEquals(new BigDecimal("1500.00"), result.outstandingAmount());
         assertEquals(2, result.invoiceCount());
         assertEquals(100L, result.clientId());
     }
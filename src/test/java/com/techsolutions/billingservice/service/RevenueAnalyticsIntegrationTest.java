@@ -0,0 +1,161 @@
+package com.techsolutions.billingservice.service;
+
+import com.techsolutions.billingservice.controller.AnalyticsAdminController;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.enums.RevenueGrouping;
+import com.techsolutions.billingservice.exception.InvalidInvoiceOperationException;
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.resources.RevenueBucketResponse;
+import com.techsolutions.billingservice.resources.RevenueReportResponse;
+import com.techsolutions.billingservice.sharding.ShardDataSources;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Profil shard : les rapports agregent les buckets des 3 bases
+@SpringBootTest(properties = "billing.grpc.port=0")
+@ActiveProfiles("sharded")
+@DisplayName("Revenue Analytics Integration Tests (3 H2 shards)")
+class RevenueAnalyticsIntegrationTest {
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private RevenueAnalyticsService revenueAnalyticsService;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private AnalyticsAdminController analyticsAdminController;
+
+    @Test
+    @DisplayName("Should update buckets incrementally and match a full backfill")
+    void testIncrementalMatchesBackfill() {
+        // Given
+        LocalDate today = LocalDate.now();
+        RevenueReportResponse before = revenueAnalyticsService.getRevenue(today, today, RevenueGrouping.DAY);
+
+        InvoiceResponse paid = invoiceService.createInvoice(request(9001L, "1000.00", PaymentMethod.CARD));
+        invoiceService.addPayment(paid.id(), new PaymentRequest(new BigDecimal("400.00"), PaymentMethod.TRANSFER));
+        invoiceService.payInvoice(paid.id());
+        InvoiceResponse partial = invoiceService.createInvoice(request(9002L, "300.00", null));
+        invoiceService.addPayment(partial.id(), new PaymentRequest(new BigDecimal("100.00"), PaymentMethod.CASH));
+        invoiceService.createInvoice(request(9003L, "50.00", PaymentMethod.TRANSFER));
+
+        // When
+        RevenueReportResponse after = revenueAnalyticsService.getRevenue(today, today, RevenueGrouping.DAY);
+
+        // Then
+        assertEquals(new BigDecimal("1350.00"), after.billedAmount().subtract(before.billedAmount()));
+        assertEquals(3, after.billedCount() - before.billedCount());
+        assertEquals(new BigDecimal("1100.00"), after.collectedAmount().subtract(before.collectedAmount()));
+        assertEquals(3, after.collectedCount() - before.collectedCount());
+        assertTrue(after.buckets().stream().anyMatch(bucket -> bucket.paymentMethod() == null
+                && bucket.status() == InvoiceStatus.PENDING
+                && bucket.billedAmount().signum() > 0));
+
+        revenueAnalyticsService.backfill(today, today);
+        RevenueReportResponse rebuilt = revenueAnalyticsService.getRevenue(today, today, RevenueGrouping.DAY);
+        assertEquals(after.buckets(), rebuilt.buckets());
+    }
+
+    @Test
+    @DisplayName("Should give the same totals whatever the grouping")
+    void testGroupingKeepsTotals() {
+        // Given
+        invoiceService.createInvoice(request(9010L, "75.00", PaymentMethod.CARD));
+        LocalDate from = LocalDate.now().minusDays(40);
+        LocalDate to = LocalDate.now();
+
+        // When
+        RevenueReportResponse daily = revenueAnalyticsService.getRevenue(from, to, RevenueGrouping.DAY);
+        RevenueReportResponse weekly = revenueAnalyticsService.getRevenue(from, to, RevenueGrouping.WEEK);
+        RevenueReportResponse monthly = revenueAnalyticsService.getRevenue(from, to, RevenueGrouping.MONTH);
+
+        // Then
+        assertEquals(daily.billedAmount(), weekly.billedAmount());
+        assertEquals(daily.collectedAmount(), monthly.collectedAmount());
+        assertEquals(daily.billedCount(), monthly.billedCount());
+        for (RevenueBucketResponse bucket : monthly.buckets()) {
+            assertEquals(1, bucket.periodStart().getDayOfMonth());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count legacy PAID invoices without payments as collected on their payment date")
+    void testBackfillLegacyPaidInvoice() {
+        // Given: facture reglee avant l'introduction des paiements partiels
+        LocalDate day = LocalDate.of(2001, 3, 5);
+        new JdbcTemplate(shardDataSources.get(0)).update("insert into invoices (client_id, amount, remaining_balance, "
+                + "description, date_emission, date_paiement, status, payment_method) values (?, ?, 0, ?, ?, ?, 'PAID', 'CARD')",
+                9020L, new BigDecimal("640.00"), "Legacy invoice", day.minusDays(3), day);
+
+        // When
+        revenueAnalyticsService.backfill(day.minusDays(3), day);
+        RevenueReportResponse report = revenueAnalyticsService.getRevenue(day.minusDays(3), day, RevenueGrouping.DAY);
+
+        // Then
+        assertEquals(new BigDecimal("640.00"), report.billedAmount());
+        assertEquals(new BigDecimal("640.00"), report.collectedAmount());
+        assertEquals(1, report.collectedCount());
+        assertTrue(report.buckets().stream().anyMatch(bucket -> bucket.periodStart().equals(day)
+                && bucket.status() == InvoiceStatus.PAID
+                && bucket.paymentMethod() == PaymentMethod.CARD
+                && bucket.collectedAmount().compareTo(new BigDecimal("640.00")) == 0));
+    }
+
+    @Test
+    @DisplayName("Should create the empty buckets of a day once on every shard")
+    void testPrepareBuckets() {
+        LocalDate day = LocalDate.of(2002, 6, 1);
+
+        // 3 shards x 4 moyens de paiement (NONE compris) x 3 statuts x 8 stripes
+        assertEquals(288, revenueAnalyticsService.prepareBuckets(day));
+        assertEquals(0, revenueAnalyticsService.prepareBuckets(day));
+        assertTrue(revenueAnalyticsService.getRevenue(day, day, RevenueGrouping.DAY).buckets().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted date range")
+    void testInvalidRange() {
+        LocalDate today = LocalDate.now();
+        assertThrows(InvalidInvoiceOperationException.class,
+                () -> revenueAnalyticsService.getRevenue(today, today.minusDays(1), RevenueGrouping.DAY));
+    }
+
+    @Test
+    @DisplayName("Should bound the backfill range and keep the endpoint closed without an admin key")
+    void testBackfillRestricted() {
+        LocalDate today = LocalDate.now();
+        assertThrows(InvalidInvoiceOperationException.class,
+                () -> revenueAnalyticsService.backfill(today.minusYears(20), today));
+        assertThrows(InvalidInvoiceOperationException.class,
+                () -> revenueAnalyticsService.backfill(today, today.minusDays(1)));
+
+        assertEquals(HttpStatus.FORBIDDEN, analyticsAdminController.backfill(today, today, null).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, analyticsAdminController.backfill(today, today, "guess").getStatusCode());
+    }
+
+    private InvoiceRequest request(Long clientId, String amount, PaymentMethod paymentMethod) {
+        return InvoiceRequest.builder()
+                .clientId(clientId)
+                .amount(new BigDecimal(amount))
+                .description("Analytics test")
+                .paymentMethod(paymentMethod)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.resources.TotalAmountResponse;
+import com.techsolutions.billingservice.service.InvoiceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CoalescingInvoiceService Unit Tests")
+class CoalescingInvoiceServiceTest {
+
+    @Test
+    @DisplayName("Should issue far fewer queries than requests under a burst")
+    void testBurstIsCoalesced() throws InterruptedException {
+        InvoiceService delegate = mock(InvoiceService.class);
+        AtomicInteger queries = new AtomicInteger();
+        when(delegate.getTotalAmountByClient(anyLong())).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            Thread.sleep(20);
+            return TotalAmountResponse.builder()
+                    .clientId(invocation.getArgument(0))
+                    .totalAmount(new BigDecimal("1500.00"))
+                    .invoiceCount(2)
+                    .build();
+        });
+        CoalescingInvoiceService service = new CoalescingInvoiceService(delegate, Duration.ofSeconds(5));
+
+        int requests = 200;
+        AtomicInteger answered = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+        for (int i = 0; i < requests; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (service.getTotalAmountByClient(100L).totalAmount().equals(new BigDecimal("1500.00"))) {
+                    answered.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(requests, answered.get());
+        assertTrue(queries.get() < requests / 4, "expected coalesced queries but got " + queries.get());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce writes")
+    void testWritesGoStraightThrough() {
+        InvoiceService delegate = mock(InvoiceService.class);
+        CoalescingInvoiceService service = new CoalescingInvoiceService(delegate, Duration.ofSeconds(5));
+
+        service.payInvoice(1L);
+        service.payInvoice(1L);
+
+        verify(delegate, times(2)).payInvoice(1L);
+    }
+}
@@ -0,0 +1,105 @@
+package com.techsolutions.billingservice.service.impl;
+
+import com.techsolutions.billingservice.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should share one execution between concurrent callers")
+    void testConcurrentCallsShareExecution() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(100L, () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "result";
+            })));
+        }
+        waitUntilInFlight(singleFlight);
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("result", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should propagate the failure to waiters and retry on the next call")
+    void testErrorIsSharedThenCleared() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(100L, () -> {
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }));
+        waitUntilInFlight(singleFlight);
+        Future<String> waiter = executor.submit(() -> singleFlight.execute(100L, () -> "unexpected"));
+        Thread.sleep(100);
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception waiterError = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+        assertInstanceOf(IllegalStateException.class, waiterError.getCause());
+        executor.shutdown();
+
+        assertEquals("fresh", singleFlight.execute(100L, () -> "fresh"));
+    }
+
+    @Test
+    @DisplayName("Should stop waiting after the configured bound")
+    void testBoundedWait() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> singleFlight.execute(100L, () -> {
+            await(release);
+            return "slow";
+        }));
+        waitUntilInFlight(singleFlight);
+
+        assertThrows(ServiceOverloadedException.class, () -> singleFlight.execute(100L, () -> "unexpected"));
+        release.countDown();
+        executor.shutdown();
+    }
+
+    private static void waitUntilInFlight(SingleFlight<?, ?> singleFlight) throws InterruptedException {
+        while (singleFlight.inFlightCount() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
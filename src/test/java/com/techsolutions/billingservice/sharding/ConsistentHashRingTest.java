@@ -0,0 +1,48 @@
+package com.techsolutions.billingservice.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConsistentHashRing Unit Tests")
+class ConsistentHashRingTest {
+
+    @Test
+    @DisplayName("Should spread clients evenly over the shards")
+    void testDistribution() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128);
+        int[] counts = new int[4];
+        for (long clientId = 1; clientId <= 40_000; clientId++) {
+            counts[ring.shardFor(clientId)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 8_000 && count < 12_000, "unbalanced shard with " + count + " clients");
+        }
+    }
+
+    @Test
+    @DisplayName("Should only move clients to the new shard when one is added")
+    void testMinimalMovement() {
+        ConsistentHashRing before = new ConsistentHashRing(3, 128);
+        ConsistentHashRing after = new ConsistentHashRing(4, 128);
+        int moved = 0;
+        for (long clientId = 1; clientId <= 30_000; clientId++) {
+            int oldShard = before.shardFor(clientId);
+            int newShard = after.shardFor(clientId);
+            if (oldShard != newShard) {
+                assertEquals(3, newShard);
+                moved++;
+            }
+        }
+        assertTrue(moved > 5_000 && moved < 10_000, "moved " + moved + " clients");
+    }
+
+    @Test
+    @DisplayName("Should encode the shard in the invoice id")
+    void testShardIds() {
+        assertEquals(0, ShardIds.shardOf(42L));
+        assertEquals(3, ShardIds.shardOf(ShardIds.firstId(3) + 1000));
+        assertTrue(ShardIds.firstId(ShardIds.MAX_SHARDS - 1) + Integer.MAX_VALUE < (1L << 53));
+    }
+}
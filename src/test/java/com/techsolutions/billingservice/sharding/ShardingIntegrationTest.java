@@ -0,0 +1,266 @@
+package com.techsolutions.billingservice.sharding;
+
+import com.techsolutions.billingservice.config.ShardingProperties;
+import com.techsolutions.billingservice.controller.ShardAdminController;
+import com.techsolutions.billingservice.enums.InvoiceStatus;
+import com.techsolutions.billingservice.enums.PaymentMethod;
+import com.techsolutions.billingservice.exception.InvalidInvoiceOperationException;
+import com.techsolutions.billingservice.resources.InvoiceLineRequest;
+import com.techsolutions.billingservice.resources.InvoiceRequest;
+import com.techsolutions.billingservice.resources.InvoiceResponse;
+import com.techsolutions.billingservice.resources.PaymentRequest;
+import com.techsolutions.billingservice.service.InvoiceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "billing.grpc.port=0")
+@ActiveProfiles("sharded")
+@DisplayName("Sharding Integration Tests (3 H2 shards)")
+class ShardingIntegrationTest {
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardAdminController shardAdminController;
+
+    @Autowired
+    private ShardingProperties shardingProperties;
+
+    @Test
+    @DisplayName("Should place clients on several shards and route by invoice id")
+    void testRoutingByClientAndInvoiceId() {
+        Set<Integer> usedShards = new HashSet<>();
+        for (long clientId = 1; clientId <= 20; clientId++) {
+            InvoiceResponse created = invoiceService.createInvoice(request(clientId));
+            int shard = ShardIds.shardOf(created.id());
+            assertEquals(shardRouter.shardForClient(clientId), shard);
+            usedShards.add(shard);
+
+            assertEquals(clientId, invoiceService.getInvoice(created.id()).clientId());
+            assertEquals(1, countOnShard(shard, clientId));
+        }
+        assertEquals(3, usedShards.size());
+    }
+
+    @Test
+    @DisplayName("Should move a client online and keep old invoice ids working")
+    void testMoveClient() {
+        long clientId = 500L;
+        InvoiceResponse first = invoiceService.createInvoice(request(clientId));
+        invoiceService.createInvoice(request(clientId));
+        invoiceService.addPayment(first.id(), PaymentRequest.builder()
+                .amount(new BigDecimal("40.00"))
+                .paymentMethod(PaymentMethod.CASH)
+                .build());
+        int source = shardRouter.shardForClient(clientId);
+        int target = (source + 1) % shardRouter.shardCount();
+
+        assertEquals(2, shardRebalancer.moveClient(clientId, target).movedInvoices());
+
+        assertEquals(target, shardRouter.shardForClient(clientId));
+        assertEquals(0, countOnShard(source, clientId));
+        assertEquals(2, countOnShard(target, clientId));
+        assertEquals(2, invoiceService.getInvoicesByClient(clientId).size());
+        assertEquals(1, invoiceService.getPayments(first.id()).size());
+
+        // Old id still resolves through the forwarding row, writes land on the new shard
+        InvoiceResponse paid = invoiceService.payInvoice(first.id());
+        assertEquals(InvoiceStatus.PAID, paid.status());
+        assertEquals(ShardIds.shardOf(first.id()), source);
+        assertEquals(new BigDecimal("200.00"), invoiceService.getTotalAmountByClient(clientId).totalAmount());
+
+        InvoiceResponse created = invoiceService.createInvoice(request(clientId));
+        assertEquals(target, ShardIds.shardOf(created.id()));
+    }
+
+    @Test
+    @DisplayName("Should move invoice lines together with their invoice")
+    void testMoveClientWithLines() {
+        long clientId = 600L;
+        InvoiceResponse created = invoiceService.createInvoice(InvoiceRequest.builder()
+                .clientId(clientId)
+                .description("Itemised invoice")
+                .lines(List.of(
+                        new InvoiceLineRequest("Licence", new BigDecimal("2"), new BigDecimal("50.00"),
+                                new BigDecimal("10"), new BigDecimal("20")),
+                        new InvoiceLineRequest("Support", new BigDecimal("1"), new BigDecimal("30.00"), null, null)))
+                .build());
+        assertEquals(new BigDecimal("138.00"), created.amount());
+        int source = shardRouter.shardForClient(clientId);
+        int target = (source + 1) % shardRouter.shardCount();
+
+        shardRebalancer.moveClient(clientId, target);
+
+        assertEquals(0, countLinesOnShard(source, created.id()));
+        InvoiceResponse moved = invoiceService.getInvoice(created.id());
+        assertEquals(2, moved.lines().size());
+        assertEquals("Licence", moved.lines().get(0).description());
+        assertEquals(new BigDecimal("108.00"), moved.lines().get(0).lineTotal());
+        assertEquals(new BigDecimal("10.00"), moved.discountAmount());
+        assertEquals(new BigDecimal("18.00"), moved.taxAmount());
+    }
+
+    @Test
+    @DisplayName("Should keep payment and reminder ids, allocated from the source shard's range")
+    void testMoveKeepsIds() {
+        long clientId = 700L;
+        InvoiceResponse created = invoiceService.createInvoice(request(clientId));
+        invoiceService.addPayment(created.id(), PaymentRequest.builder()
+                .amount(new BigDecimal("10.00"))
+                .paymentMethod(PaymentMethod.CARD)
+                .build());
+        int source = shardRouter.shardForClient(clientId);
+        int target = (source + 1) % shardRouter.shardCount();
+        List<Long> payments = ids(source, "payments", created.id());
+        List<Long> reminders = ids(source, "invoice_reminders", created.id());
+        assertEquals(1, payments.size());
+        assertEquals(1, reminders.size());
+        assertEquals(source, ShardIds.shardOf(payments.get(0)));
+        assertEquals(source, ShardIds.shardOf(reminders.get(0)));
+
+        shardRebalancer.moveClient(clientId, target);
+
+        assertEquals(payments, ids(target, "payments", created.id()));
+        assertEquals(reminders, ids(target, "invoice_reminders", created.id()));
+    }
+
+    @Test
+    @DisplayName("Should never overwrite the live target when the move is run again after the switch")
+    void testRerunAfterSwitchKeepsTarget() {
+        long clientId = 800L;
+        InvoiceResponse created = invoiceService.createInvoice(request(clientId));
+        int source = shardRouter.shardForClient(clientId);
+        int target = (source + 1) % shardRouter.shardCount();
+        shardRebalancer.moveClient(clientId, target);
+        invoiceService.payInvoice(created.id());
+
+        // Cutover that failed after the switch: a stale copy of the invoice is left on the source
+        Map<String, Object> stale = jdbc(target).queryForMap("select * from invoices where id = ?", created.id());
+        stale.put("status", InvoiceStatus.PENDING.name());
+        stale.put("remaining_balance", stale.get("amount"));
+        SimpleJdbcInsert staleInsert = new SimpleJdbcInsert(shardDataSources.get(source)).withTableName("invoices");
+        staleInsert.execute(stale);
+
+        assertEquals(1, shardRebalancer.moveClient(clientId, target).movedInvoices());
+
+        assertEquals(0, countOnShard(source, clientId));
+        assertEquals(InvoiceStatus.PAID, invoiceService.getInvoice(created.id()).status());
+        assertEquals(1, invoiceService.getPayments(created.id()).size());
+    }
+
+    @Test
+    @DisplayName("Should refuse to move a client elsewhere while another move is unfinished")
+    void testUnfinishedMoveBlocksOtherTargets() {
+        long clientId = 900L;
+        invoiceService.createInvoice(request(clientId));
+        int source = shardRouter.shardForClient(clientId);
+        int target = (source + 1) % shardRouter.shardCount();
+        int other = (source + 2) % shardRouter.shardCount();
+        jdbc(0).update("insert into client_moves (client_id, target_shard, state, updated_at) values (?, ?, 'COPYING', ?)",
+                clientId, target, Timestamp.valueOf(LocalDateTime.now()));
+
+        assertThrows(InvalidInvoiceOperationException.class, () -> shardRebalancer.moveClient(clientId, other));
+
+        shardRebalancer.moveClient(clientId, target);
+        assertEquals(target, shardRouter.shardForClient(clientId));
+        assertEquals("DONE", jdbc(0).queryForObject(
+                "select state from client_moves where client_id = ?", String.class, clientId));
+    }
+
+    @Test
+    @DisplayName("Should follow the client forwarding row while the directory cache is stale")
+    void testStaleDirectoryFollowsClientForwarding() {
+        long clientId = 1000L;
+        InvoiceResponse created = invoiceService.createInvoice(request(clientId));
+        int source = shardRouter.shardForClient(clientId);
+        int target = (source + 1) % shardRouter.shardCount();
+        shardRebalancer.moveClient(clientId, target);
+
+        // Instance that has not reloaded the directory since the cutover
+        jdbc(0).update("delete from client_shard_directory where client_id = ?", clientId);
+        shardRouter.refreshDirectory();
+        assertEquals(source, shardRouter.shardForClient(clientId));
+
+        assertEquals(List.of(created.id()),
+                invoiceService.getInvoicesByClient(clientId).stream().map(InvoiceResponse::id).toList());
+        assertEquals(target, ShardIds.shardOf(invoiceService.createInvoice(request(clientId)).id()));
+        assertEquals(target, shardRouter.shardForClient(clientId));
+    }
+
+    @Test
+    @DisplayName("Should keep existing clients on their shard when a shard is added")
+    void testAddedShardKeepsRing() {
+        List<DataSource> fourShards = List.of(shardDataSources.get(0), shardDataSources.get(1),
+                shardDataSources.get(2), shardDataSources.get(2));
+        ShardRouter grown = new ShardRouter(new ShardDataSources(fourShards, true), shardingProperties);
+
+        for (long clientId = 1; clientId <= 500; clientId++) {
+            assertEquals(shardRouter.shardForClient(clientId), grown.shardForClient(clientId));
+        }
+        assertThrows(IllegalStateException.class, () -> new ShardRouter(
+                new ShardDataSources(fourShards.subList(0, 2), true), shardingProperties));
+    }
+
+    @Test
+    @DisplayName("Should reject a move request without a configured admin key")
+    void testMoveEndpointRequiresAdminKey() {
+        assertEquals(HttpStatus.FORBIDDEN, shardAdminController.moveClient(1L, 0, null).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, shardAdminController.moveClient(1L, 0, "guess").getStatusCode());
+    }
+
+    private List<Long> ids(int shard, String table, long invoiceId) {
+        return jdbc(shard).queryForList("select id from " + table + " where invoice_id = ? order by id", Long.class, invoiceId);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shardDataSources.get(shard));
+    }
+
+    private int countLinesOnShard(int shard, long invoiceId) {
+        Integer count = new JdbcTemplate(shardDataSources.get(shard))
+                .queryForObject("select count(*) from invoice_lines where invoice_id = ?", Integer.class, invoiceId);
+        return count == null ? 0 : count;
+    }
+
+    private int countOnShard(int shard, long clientId) {
+        Integer count = new JdbcTemplate(shardDataSources.get(shard))
+                .queryForObject("select count(*) from invoices where client_id = ?", Integer.class, clientId);
+        return count == null ? 0 : count;
+    }
+
+    private InvoiceRequest request(long clientId) {
+        return InvoiceRequest.builder()
+                .clientId(clientId)
+                .amount(new BigDecimal("100.00"))
+                .description("Sharded invoice")
+                .paymentMethod(PaymentMethod.CARD)
+                .build();
+    }
+}
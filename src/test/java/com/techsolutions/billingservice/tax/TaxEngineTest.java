@@ -0,0 +1,110 @@
+package com.techsolutions.billingservice.tax;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaxEngine Unit Tests")
+class TaxEngineTest {
+
+    @Test
+    @DisplayName("Should round discount and tax half-up per line")
+    void testRoundingPerLine() {
+        // Given
+        LineItems lines = new LineItems(2);
+        lines.add(3333, 3_000, 1_000, 1_960);   // 3 x 33.33, -10 %, TVA 19.6 %
+        lines.add(5, 500, 0, 0);                // 0.5 x 0.05 = 0.025
+
+        // When
+        InvoiceTotals totals = TaxEngine.calculate(lines);
+
+        // Then
+        assertEquals(9999, lines.grossMinor(0));
+        assertEquals(1000, lines.discountMinor(0));
+        assertEquals(1764, lines.taxMinor(0));
+        assertEquals(10763, lines.totalMinor(0));
+        assertEquals(3, lines.totalMinor(1));
+        assertEquals(new InvoiceTotals(10002, 1000, 1764, 10766), totals);
+        assertEquals(9002, totals.netMinor());
+    }
+
+    @Test
+    @DisplayName("Should sum lines with different tax rates")
+    void testMultipleRates() {
+        // Given
+        LineItems lines = new LineItems(3);
+        lines.add(10000, 1_000, 0, 2_000);
+        lines.add(10000, 1_000, 0, 550);
+        lines.add(10000, 1_000, 10_000, 2_000);   // remise totale
+
+        // When
+        InvoiceTotals totals = TaxEngine.calculate(lines);
+
+        // Then
+        assertEquals(0, lines.totalMinor(2));
+        assertEquals(new InvoiceTotals(30000, 10000, 2550, 22550), totals);
+    }
+
+    @Test
+    @DisplayName("Should match a BigDecimal computation on random lines")
+    void testAgainstBigDecimal() {
+        Random random = new Random(42);
+        for (int run = 0; run < 1000; run++) {
+            LineItems lines = new LineItems(20);
+            BigDecimal expectedTotal = BigDecimal.ZERO;
+            for (int i = 0; i < 20; i++) {
+                long unitPrice = random.nextInt(10_000_000);
+                long quantity = 1 + random.nextInt(100_000);
+                int discount = random.nextInt(4) == 0 ? random.nextInt(TaxEngine.BASIS_POINTS + 1) : 0;
+                int tax = random.nextInt(3_000);
+                lines.add(unitPrice, quantity, discount, tax);
+
+                BigDecimal gross = BigDecimal.valueOf(unitPrice, 2).multiply(BigDecimal.valueOf(quantity, 3))
+                        .setScale(2, RoundingMode.HALF_UP);
+                BigDecimal net = gross.subtract(gross.multiply(BigDecimal.valueOf(discount, 4))
+                        .setScale(2, RoundingMode.HALF_UP));
+                expectedTotal = expectedTotal.add(net.add(net.multiply(BigDecimal.valueOf(tax, 4))
+                        .setScale(2, RoundingMode.HALF_UP)));
+            }
+
+            assertEquals(expectedTotal, TaxEngine.fromMinorUnits(TaxEngine.calculate(lines).totalMinor()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw instead of overflowing")
+    void testOverflow() {
+        LineItems lines = new LineItems(1);
+        lines.add(Long.MAX_VALUE / 1_000, 2_000, 0, 0);
+
+        assertThrows(ArithmeticException.class, () -> TaxEngine.calculate(lines));
+    }
+
+    @Test
+    @DisplayName("Should reject out of range line values")
+    void testInvalidLine() {
+        LineItems lines = new LineItems(1);
+
+        assertThrows(IllegalArgumentException.class, () -> lines.add(-1, 1_000, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> lines.add(100, 1_000, 10_001, 0));
+        assertEquals(0, lines.size());
+    }
+
+    @Test
+    @DisplayName("Should convert between decimals and integer units")
+    void testConversions() {
+        assertEquals(150000, TaxEngine.toMinorUnits(new BigDecimal("1500")));
+        assertEquals(2_500, TaxEngine.toMilliUnits(new BigDecimal("2.5")));
+        assertEquals(1_960, TaxEngine.toBasisPoints(new BigDecimal("19.6")));
+        assertEquals(0, TaxEngine.toBasisPoints(null));
+        assertEquals(new BigDecimal("0.05"), TaxEngine.fromMinorUnits(5));
+        assertEquals(100, TaxEngine.toMinorUnits(new BigDecimal("1.0000")));
+        assertThrows(ArithmeticException.class, () -> TaxEngine.toMinorUnits(new BigDecimal("0.001")));
+        assertThrows(ArithmeticException.class, () -> TaxEngine.toBasisPoints(new BigDecimal("19.655")));
+    }
+}